@@ -0,0 +1,38 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.item.summary.BookingBoundaries;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сравнивает способы получить последнее и следующее бронирование для всех вещей владельца одним запросом.
+ * На H2 оба запроса выполняются, но планы отличаются от PostgreSQL, поэтому выводы о DISTINCT ON
+ * стоит перепроверять на реальной базе.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookingBoundariesBenchmark {
+    @Benchmark
+    public List<BookingBoundaries> distinctOn(ShareItState state) {
+        return state.bookingRepository.findBoundariesDistinctOn(state.hotItemIds, LocalDateTime.now());
+    }
+
+    @Benchmark
+    public List<BookingBoundaries> groupBy(ShareItState state) {
+        return state.bookingRepository.findBoundariesGroupBy(state.hotItemIds, LocalDateTime.now(),
+                BookingStatus.APPROVED);
+    }
+}
@@ -0,0 +1,99 @@
+package ru.practicum.shareit.benchmark;
+
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.BookingPhase;
+import ru.practicum.shareit.item.summary.ItemBookingSummaries;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Синтетический набор данных, размер которого задаётся числом бронирований.
+ * Пользователей в сто раз, а вещей в десять раз меньше, чем бронирований, поэтому на одного
+ * владельца приходится одинаковое число вещей и бронирований при любом масштабе:
+ * рост времени ответа с масштабом означает, что запрос зависит от размера таблиц.
+ * ID всех записей задаются явно и идут подряд с единицы,
+ * после чего последовательности переводятся за максимальный ID.
+ * Сводки бронирований строятся для всех вещей, чтобы чтение шло по item_booking_summary, а не по запасному пути.
+ */
+final class Dataset {
+    static final long HOT_USER_ID = 1L;
+
+    private static final int BATCH_SIZE = 10_000;
+    private static final int SUMMARY_BATCH_SIZE = 1_000;
+    private static final String[] STATUSES = {"WAITING", "APPROVED", "REJECTED", "APPROVED"};
+
+    private Dataset() {
+    }
+
+    static void seed(ApplicationContext context, int bookings) {
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        int users = Math.max(100, bookings / 100);
+        int items = Math.max(100, bookings / 10);
+        LocalDateTime now = LocalDateTime.now();
+
+        insert(jdbcTemplate, "INSERT INTO users (id, email, name) VALUES (?, ?, ?)", users,
+                i -> new Object[]{(long) i + 1, "user" + i + "@bench.ru", "User " + i});
+        insert(jdbcTemplate, "INSERT INTO requests (id, description, requestor_id, created) VALUES (?, ?, ?, ?)",
+                users, i -> new Object[]{(long) i + 1, "Request " + i, userId(i, users),
+                        Timestamp.valueOf(now.minusHours(i))});
+        insert(jdbcTemplate, "INSERT INTO items (id, name, description, is_available, owner_id, request_id) " +
+                        "VALUES (?, ?, ?, ?, ?, ?)", items,
+                i -> new Object[]{(long) i + 1, "Item " + i, "Description of item " + i, true, userId(i, users),
+                        i % 4 == 0 ? userId(i / 4, users) : null});
+        insert(jdbcTemplate, "INSERT INTO comments (id, text, item_id, author_id, created) VALUES (?, ?, ?, ?, ?)",
+                items, i -> new Object[]{(long) i + 1, "Comment " + i, (long) i + 1, userId(i + 1, users),
+                        Timestamp.valueOf(now.minusDays(1))});
+        insert(jdbcTemplate, "INSERT INTO bookings (id, start_date, end_date, item_id, booker_id, status, phase) " +
+                        "VALUES (?, ?, ?, ?, ?, ?, ?)", bookings,
+                i -> {
+                    LocalDateTime start = now.plusHours((long) (i / items) * 24 - bookings / items * 12L);
+                    LocalDateTime end = start.plusHours(12);
+                    return new Object[]{(long) i + 1, Timestamp.valueOf(start), Timestamp.valueOf(end),
+                            (long) (i % items) + 1, userId(i * 7 + 1, users), STATUSES[i % STATUSES.length],
+                            BookingPhase.at(start, end, now).name()};
+                });
+        for (String table : new String[]{"users", "requests", "items", "comments", "bookings"}) {
+            jdbcTemplate.execute("ALTER SEQUENCE " + table + "_seq RESTART WITH " +
+                    "(SELECT COALESCE(MAX(id), 0) + 1 FROM " + table + ")");
+        }
+        jdbcTemplate.execute("ANALYZE");
+        summarize(context, jdbcTemplate.queryForList("SELECT id FROM items ORDER BY id", Long.class));
+    }
+
+    private static void summarize(ApplicationContext context, List<Long> itemIds) {
+        ItemBookingSummaries summaries = context.getBean(ItemBookingSummaries.class);
+        TransactionTemplate transactionTemplate = context.getBean(TransactionTemplate.class);
+        for (int from = 0; from < itemIds.size(); from += SUMMARY_BATCH_SIZE) {
+            List<Long> batch = itemIds.subList(from, Math.min(from + SUMMARY_BATCH_SIZE, itemIds.size()));
+            transactionTemplate.executeWithoutResult(status -> batch.forEach(summaries::refresh));
+        }
+    }
+
+    private static long userId(int index, int users) {
+        return index % users + 1;
+    }
+
+    private static void insert(JdbcTemplate jdbcTemplate, String sql, int count, Row row) {
+        List<Object[]> batch = new ArrayList<>(Math.min(count, BATCH_SIZE));
+        for (int i = 0; i < count; i++) {
+            batch.add(row.values(i));
+            if (batch.size() == BATCH_SIZE) {
+                jdbcTemplate.batchUpdate(sql, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, batch);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Row {
+        Object[] values(int index);
+    }
+}
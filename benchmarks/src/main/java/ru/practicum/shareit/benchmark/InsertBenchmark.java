@@ -0,0 +1,92 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.common.BatchRowResult;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Пропускная способность пакетной вставки в строках в секунду.
+ * Шаг 1 воспроизводит прежнее поведение IDENTITY: обращение к базе за ключом на каждую строку
+ * и вставки по одной; шаг 50 — пул ID и пакетные вставки. H2 в памяти почти не тратит времени
+ * на обмен с базой, поэтому на PostgreSQL по сети разница будет больше.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InsertBenchmark {
+    private static final int ROWS = 100;
+
+    @State(Scope.Benchmark)
+    public static class InsertState {
+        @Param({"1", "50"})
+        public int allocationSize;
+
+        UserService userService;
+        ItemService itemService;
+        Long ownerId;
+
+        private ConfigurableApplicationContext context;
+        private int batchNumber;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            context = ShareItContext.start("insert" + allocationSize,
+                    "shareit.id.allocation-size=" + allocationSize,
+                    "spring.jpa.properties.hibernate.jdbc.batch_size=" + allocationSize);
+            userService = context.getBean(UserService.class);
+            itemService = context.getBean(ItemService.class);
+            ownerId = userService.createUsers(List.of(new UserDto(null, "Owner", "owner@bench.ru")))
+                    .getFirst().result().getId();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            context.close();
+        }
+
+        List<UserDto> nextUsers() {
+            int batch = batchNumber++;
+            return IntStream.range(0, ROWS)
+                    .mapToObj(i -> new UserDto(null, "User " + i, "user" + batch + "-" + i + "@bench.ru"))
+                    .toList();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public List<BatchRowResult<UserDto>> createUsers(InsertState state) {
+        return state.userService.createUsers(state.nextUsers());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public List<BatchRowResult<ItemDto>> addItems(InsertState state) {
+        List<ItemDto> itemDtos = IntStream.range(0, ROWS)
+                .mapToObj(i -> new ItemDto(null, "Item " + i, "Description of item " + i, null, true, null))
+                .toList();
+        return state.itemService.addItems(state.ownerId, itemDtos);
+    }
+}
@@ -0,0 +1,94 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Нагрузка на сервер по HTTP из 200 потоков — столько же, сколько потоков у Tomcat по умолчанию.
+ * Сравнивает обработку запросов на потоках платформы и на виртуальных потоках (профиль vthreads,
+ * вместе с его фиксированным пулом соединений Hikari). SampleTime даёт перцентили, в том числе p0.99,
+ * Throughput — число запросов в секунду. H2 в памяти не ждёт ввода-вывода, поэтому выигрыш
+ * виртуальных потоков здесь меньше, чем на PostgreSQL по сети.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(200)
+@Fork(1)
+public class LoadBenchmark {
+    private static final int BOOKINGS = 10_000;
+
+    @State(Scope.Benchmark)
+    public static class ServerState {
+        @Param({"platform", "vthreads"})
+        public String threads;
+
+        HttpClient client;
+        String baseUrl;
+        List<Long> itemIds;
+
+        private ConfigurableApplicationContext context;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            context = threads.equals("vthreads")
+                    ? ShareItContext.startServer("load" + threads, "vthreads")
+                    : ShareItContext.startServer("load" + threads);
+            Dataset.seed(context, BOOKINGS);
+            baseUrl = "http://localhost:" + ShareItContext.port(context);
+            itemIds = context.getBean(JdbcTemplate.class).queryForList("SELECT id FROM items", Long.class);
+            client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .build();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            client.close();
+            context.close();
+        }
+
+        int get(String path) throws IOException, InterruptedException {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .header("X-Sharer-User-Id", String.valueOf(Dataset.HOT_USER_ID))
+                    .GET()
+                    .build();
+            return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        }
+    }
+
+    @Benchmark
+    public int getItem(ServerState state) throws IOException, InterruptedException {
+        Long itemId = state.itemIds.get(ThreadLocalRandom.current().nextInt(state.itemIds.size()));
+        return state.get("/items/" + itemId);
+    }
+
+    @Benchmark
+    public int getBookingsByOwner(ServerState state) throws IOException, InterruptedException {
+        return state.get("/bookings/owner?state=ALL&from=0&size=20");
+    }
+}
@@ -0,0 +1,115 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.mapper.BookingMapperImpl;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemWithDateDto;
+import ru.practicum.shareit.item.mapper.ItemMapperImpl;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.mapper.UserMapperImpl;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Мапперы MapStruct на сущностях в памяти, без обращения к базе.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperBenchmark {
+    @Param({"20", "500"})
+    public int size;
+
+    private AnnotationConfigApplicationContext context;
+    private BookingMapperImpl bookingMapper;
+    private ItemMapperImpl itemMapper;
+    private List<Booking> bookings;
+    private Item item;
+    private List<CommentDto> comments;
+    private LocalDateTime lastBooking;
+    private LocalDateTime nextBooking;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new AnnotationConfigApplicationContext(UserMapperImpl.class, ItemMapperImpl.class,
+                BookingMapperImpl.class);
+        bookingMapper = context.getBean(BookingMapperImpl.class);
+        itemMapper = context.getBean(ItemMapperImpl.class);
+
+        LocalDateTime now = LocalDateTime.now();
+        User owner = user(1L);
+        bookings = new ArrayList<>(size);
+        comments = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Item bookedItem = item(i + 1L, owner);
+            Booking booking = new Booking();
+            booking.setId(i + 1L);
+            booking.setStart(now.plusDays(i));
+            booking.setEnd(now.plusDays(i + 1));
+            booking.setItem(bookedItem);
+            booking.setBooker(user(i + 2L));
+            booking.setStatus(BookingStatus.APPROVED);
+            bookings.add(booking);
+            comments.add(new CommentDto(i + 1L, "Comment " + i, "Author " + i, now));
+        }
+        item = item(1L, owner);
+        lastBooking = now.minusDays(1);
+        nextBooking = now.plusDays(1);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<BookingResponseDto> bookingResponseDtoList() {
+        return bookingMapper.toBookingResponseDtoList(bookings);
+    }
+
+    @Benchmark
+    public ItemWithDateDto itemWithDateDto() {
+        return itemMapper.toItemWithDateDto(item, comments, lastBooking, nextBooking);
+    }
+
+    private static User user(Long id) {
+        User user = new User();
+        user.setId(id);
+        user.setName("User " + id);
+        user.setEmail("user" + id + "@bench.ru");
+        return user;
+    }
+
+    private static Item item(Long id, User owner) {
+        Item item = new Item();
+        item.setId(id);
+        item.setName("Item " + id);
+        item.setDescription("Description of item " + id);
+        item.setAvailable(true);
+        item.setOwner(owner);
+        return item;
+    }
+}
@@ -0,0 +1,42 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.item.dto.ItemWithDateDto;
+import ru.practicum.shareit.request.dto.ItemRequestResponseDto;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServiceBenchmark {
+    @Benchmark
+    public List<ItemWithDateDto> getItems(ShareItState state) {
+        return state.itemService.getItems(Dataset.HOT_USER_ID);
+    }
+
+    @Benchmark
+    public List<BookingResponseDto> getBookingsByOwner(ShareItState state) {
+        return state.bookingService.getBookingsByOwner(Dataset.HOT_USER_ID, "ALL", 0, 20, null);
+    }
+
+    @Benchmark
+    public List<BookingResponseDto> getPastBookingsByOwner(ShareItState state) {
+        return state.bookingService.getBookingsByOwner(Dataset.HOT_USER_ID, "PAST", 0, 20, null);
+    }
+
+    @Benchmark
+    public List<ItemRequestResponseDto> getItemRequests(ShareItState state) {
+        return state.itemRequestService.getItemRequests(Dataset.HOT_USER_ID);
+    }
+}
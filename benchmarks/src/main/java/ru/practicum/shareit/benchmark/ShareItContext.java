@@ -0,0 +1,46 @@
+package ru.practicum.shareit.benchmark;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.ShareItServer;
+
+/**
+ * Поднимает контекст сервера поверх отдельной базы H2 в памяти: без веб-слоя для вызова сервисов
+ * напрямую или с Tomcat на случайном порту для нагрузки по HTTP.
+ */
+final class ShareItContext {
+    private ShareItContext() {
+    }
+
+    static ConfigurableApplicationContext start(String databaseName, String... properties) {
+        return builder(databaseName, properties)
+                .web(WebApplicationType.NONE)
+                .run();
+    }
+
+    static ConfigurableApplicationContext startServer(String databaseName, String... profiles) {
+        return builder(databaseName)
+                .profiles(profiles)
+                .web(WebApplicationType.SERVLET)
+                .properties("server.port=0")
+                .run();
+    }
+
+    static int port(ConfigurableApplicationContext context) {
+        return context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+    }
+
+    private static SpringApplicationBuilder builder(String databaseName, String... properties) {
+        return new SpringApplicationBuilder(ShareItServer.class)
+                .profiles("test")
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:" + databaseName + ";DB_CLOSE_DELAY=-1",
+                        "spring.jpa.show-sql=false",
+                        "spring.jpa.properties.hibernate.generate_statistics=false",
+                        "logging.level.root=WARN",
+                        "logging.level.org.hibernate.SQL=WARN",
+                        "logging.level.ru.practicum.shareit=WARN")
+                .properties(properties);
+    }
+}
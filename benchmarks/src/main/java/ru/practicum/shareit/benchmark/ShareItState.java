@@ -0,0 +1,50 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.request.service.ItemRequestService;
+
+import java.util.List;
+
+/**
+ * Контекст сервера с заполненной базой; масштаб меняется параметром -p bookings=...
+ */
+@State(Scope.Benchmark)
+public class ShareItState {
+    @Param({"1000", "100000"})
+    public int bookings;
+
+    ItemService itemService;
+    BookingService bookingService;
+    ItemRequestService itemRequestService;
+    BookingRepository bookingRepository;
+    List<Long> hotItemIds;
+
+    private ConfigurableApplicationContext context;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = ShareItContext.start("bench" + bookings);
+        Dataset.seed(context, bookings);
+        itemService = context.getBean(ItemService.class);
+        bookingService = context.getBean(BookingService.class);
+        itemRequestService = context.getBean(ItemRequestService.class);
+        bookingRepository = context.getBean(BookingRepository.class);
+        hotItemIds = context.getBean(JdbcTemplate.class)
+                .queryForList("SELECT id FROM items WHERE owner_id = ?", Long.class, Dataset.HOT_USER_ID);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+}
@@ -4,53 +4,83 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import shareit.booking.dto.BookingDto;
 import shareit.booking.dto.BookingState;
 import shareit.client.BaseClient;
 
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @Service
 public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
 
+    private final RestTemplate streamRest;
+
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                         ClientHttpRequestFactory shareitServerStreamRequestFactory) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
                         .build()
         );
+        this.streamRest = builder
+                .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
+                .requestFactory(() -> shareitServerStreamRequestFactory)
+                .build();
     }
 
     public ResponseEntity<Object> addBooking(long userId, BookingDto requestDto) {
         return post("", userId, requestDto);
     }
 
+    public ResponseEntity<Object> addBookings(long userId, List<BookingDto> requestDtos) {
+        return post("/batch", userId, requestDtos);
+    }
+
     public ResponseEntity<Object> finalizeBooking(long userId, long bookingId, boolean approved) {
         Map<String, Object> parameters = Map.of("approved", approved);
         return patch("/" + bookingId + "?approved={approved}", userId, parameters, null);
     }
 
-    public ResponseEntity<Object> getBookingById(long userId, Long bookingId) {
-        return get("/" + bookingId, userId);
+    public ResponseEntity<Object> getBookingById(long userId, Long bookingId, @Nullable String ifNoneMatch) {
+        return getIfNoneMatch("/" + bookingId, userId, ifNoneMatch);
     }
 
-    public ResponseEntity<Object> getBookings(long userId, BookingState state) {
-        Map<String, Object> parameters = Map.of(
-                "state", state.name()
-        );
-        return get("?state={state}", userId, parameters);
+    public ResponseEntity<Object> getBookings(long userId, BookingState state, int from, int size,
+                                              @Nullable String cursor) {
+        return get(pageQuery(cursor), userId, pageParameters(state, from, size, cursor));
     }
 
-    public ResponseEntity<Object> getBookingsByOwner(long userId, BookingState state) {
-        Map<String, Object> parameters = Map.of(
-                "state", state.name()
-        );
-        return get("/owner?state={state}", userId, parameters);
+    public ResponseEntity<Object> getBookingsByOwner(long userId, BookingState state, int from, int size,
+                                                     @Nullable String cursor) {
+        return get("/owner" + pageQuery(cursor), userId, pageParameters(state, from, size, cursor));
+    }
+
+    public ResponseEntity<StreamingResponseBody> streamBookingsByOwner(long userId, @Nullable String lastEventId) {
+        return stream(streamRest, "/owner/stream", userId, lastEventId);
+    }
+
+    private static String pageQuery(@Nullable String cursor) {
+        return "?state={state}&from={from}&size={size}" + (cursor != null ? "&cursor={cursor}" : "");
+    }
+
+    private static Map<String, Object> pageParameters(BookingState state, int from, int size, @Nullable String cursor) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("state", state.name());
+        parameters.put("from", from);
+        parameters.put("size", size);
+        if (cursor != null) {
+            parameters.put("cursor", cursor);
+        }
+        return parameters;
     }
 }
@@ -1,15 +1,24 @@
 package shareit.booking;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import shareit.booking.dto.BookingDto;
 import shareit.booking.dto.BookingState;
 
+import java.util.List;
+
 
 @RestController
 @RequestMapping(path = "/bookings")
@@ -26,6 +35,16 @@ public class BookingController {
         return bookingClient.addBooking(userId, bookingDto);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<Object> addBookings(@RequestHeader("X-Sharer-User-Id") @Positive Long userId,
+                                              @RequestBody
+                                              @NotEmpty(message = "Пакет бронирований не может быть пустым")
+                                              @Size(max = 500, message = "Пакет не может содержать больше 500 строк")
+                                              List<@Valid BookingDto> bookingDtos) {
+        log.info("Creating {} bookings, userId={}", bookingDtos.size(), userId);
+        return bookingClient.addBookings(userId, bookingDtos);
+    }
+
     @PatchMapping("/{bookingId}")
     public ResponseEntity<Object> finalizeBooking(@RequestHeader("X-Sharer-User-Id") @Positive Long userId,
                                                   @PathVariable @Positive Long bookingId,
@@ -36,26 +55,44 @@ public class BookingController {
 
     @GetMapping("/{bookingId}")
     public ResponseEntity<Object> getBookingById(@RequestHeader("X-Sharer-User-Id") @Positive Long userId,
-                                                 @PathVariable @Positive Long bookingId) {
+                                                 @PathVariable @Positive Long bookingId,
+                                                 @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false)
+                                                 String ifNoneMatch) {
         log.info("Get booking {}, userId={}", bookingId, userId);
-        return bookingClient.getBookingById(userId, bookingId);
+        return bookingClient.getBookingById(userId, bookingId, ifNoneMatch);
     }
 
     @GetMapping
     public ResponseEntity<Object> getBookings(@RequestHeader("X-Sharer-User-Id") @Positive Long userId,
-                                              @RequestParam(name = "state", defaultValue = "ALL") String stateParam) {
+                                              @RequestParam(name = "state", defaultValue = "ALL") String stateParam,
+                                              @RequestParam(defaultValue = "0") @PositiveOrZero Integer from,
+                                              @RequestParam(defaultValue = "20") @Positive @Max(100) Integer size,
+                                              @RequestParam(required = false) String cursor) {
         BookingState state = BookingState.from(stateParam)
                 .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
-        log.info("Get booking with state {}, userId={}", stateParam, userId);
-        return bookingClient.getBookings(userId, state);
+        log.info("Get booking with state {}, userId={}, from={}, size={}, cursor={}",
+                stateParam, userId, from, size, cursor);
+        return bookingClient.getBookings(userId, state, from, size, cursor);
     }
 
     @GetMapping("/owner")
     public ResponseEntity<Object> getBookingsByOwner(@RequestHeader("X-Sharer-User-Id") @Positive Long userId,
-                                                     @RequestParam(name = "state", defaultValue = "ALL") String stateParam) {
+                                                     @RequestParam(name = "state", defaultValue = "ALL") String stateParam,
+                                                     @RequestParam(defaultValue = "0") @PositiveOrZero Integer from,
+                                                     @RequestParam(defaultValue = "20") @Positive @Max(100) Integer size,
+                                                     @RequestParam(required = false) String cursor) {
         BookingState state = BookingState.from(stateParam)
                 .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
-        log.info("Get booking by owner with state {}, userId={}", stateParam, userId);
-        return bookingClient.getBookingsByOwner(userId, state);
+        log.info("Get booking by owner with state {}, userId={}, from={}, size={}, cursor={}",
+                stateParam, userId, from, size, cursor);
+        return bookingClient.getBookingsByOwner(userId, state, from, size, cursor);
+    }
+
+    @GetMapping(path = "/owner/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamBookingsByOwner(
+            @RequestHeader("X-Sharer-User-Id") @Positive Long userId,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        log.info("Stream bookings by owner, userId={}, lastEventId={}", userId, lastEventId);
+        return bookingClient.streamBookingsByOwner(userId, lastEventId);
     }
 }
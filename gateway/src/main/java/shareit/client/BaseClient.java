@@ -1,14 +1,27 @@
 package shareit.client;
 
 import org.springframework.http.*;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.lang.Nullable;
+import org.springframework.util.StreamUtils;
 import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
 
 public class BaseClient {
+    private static final Set<String> HOP_BY_HOP_HEADERS = Set.of("connection", "keep-alive", "proxy-authenticate",
+            "proxy-authorization", "te", "trailer", "transfer-encoding", "upgrade", "content-length");
+
     protected final RestTemplate rest;
 
     public BaseClient(RestTemplate rest) {
@@ -27,6 +40,18 @@ public class BaseClient {
         return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
     }
 
+    /**
+     * Условный GET: тег клиента уходит на сервер, и если представление не изменилось,
+     * клиент получает 304 с тем же ETag без тела ответа.
+     */
+    public ResponseEntity<Object> getIfNoneMatch(String path, long userId, @Nullable String ifNoneMatch) {
+        HttpHeaders headers = defaultHeaders(userId);
+        if (ifNoneMatch != null) {
+            headers.set(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return sendRequest(HttpMethod.GET, path, null, new HttpEntity<>(headers));
+    }
+
     public <T> ResponseEntity<Object> post(String path, T body) {
         return post(path, null, null, body);
     }
@@ -75,18 +100,68 @@ public class BaseClient {
         return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null);
     }
 
+    /**
+     * Поток событий сервера передаётся клиенту по мере поступления: каждый прочитанный кусок сразу
+     * сбрасывается в ответ. Ошибка сервера возвращается с его статусом и телом, как в обычных запросах.
+     */
+    protected ResponseEntity<StreamingResponseBody> stream(RestTemplate streamRest, String path, long userId,
+                                                           @Nullable String lastEventId) {
+        URI uri = streamRest.getUriTemplateHandler().expand(path);
+        ClientHttpResponse response;
+        HttpStatusCode status;
+        try {
+            ClientHttpRequest request = streamRest.getRequestFactory().createRequest(uri, HttpMethod.GET);
+            request.getHeaders().setAccept(List.of(MediaType.TEXT_EVENT_STREAM));
+            request.getHeaders().set("X-Sharer-User-Id", String.valueOf(userId));
+            if (lastEventId != null) {
+                request.getHeaders().set("Last-Event-ID", lastEventId);
+            }
+            response = request.execute();
+            status = response.getStatusCode();
+            if (!status.is2xxSuccessful()) {
+                try (response) {
+                    byte[] body = StreamUtils.copyToByteArray(response.getBody());
+                    return ResponseEntity.status(status)
+                            .headers(gatewayHeaders(response.getHeaders()))
+                            .body(out -> out.write(body));
+                }
+            }
+        } catch (IOException e) {
+            throw new ResourceAccessException("Не удалось открыть поток " + uri + ": " + e.getMessage(), e);
+        }
+
+        return ResponseEntity.status(status)
+                .headers(gatewayHeaders(response.getHeaders()))
+                .body(out -> {
+                    try (response; InputStream in = response.getBody()) {
+                        byte[] buffer = new byte[StreamUtils.BUFFER_SIZE];
+                        int read;
+                        while ((read = in.read(buffer)) != -1) {
+                            out.write(buffer, 0, read);
+                            out.flush();
+                        }
+                    }
+                });
+    }
+
     private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
-        HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
+        return sendRequest(method, path, parameters, new HttpEntity<>(body, defaultHeaders(userId)));
+    }
 
-        ResponseEntity<Object> shareitServerResponse;
+    private <T> ResponseEntity<Object> sendRequest(HttpMethod method, String path,
+                                                   @Nullable Map<String, Object> parameters,
+                                                   HttpEntity<T> requestEntity) {
+        ResponseEntity<byte[]> shareitServerResponse;
         try {
             if (parameters != null) {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class, parameters);
+                shareitServerResponse = rest.exchange(path, method, requestEntity, byte[].class, parameters);
             } else {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class);
+                shareitServerResponse = rest.exchange(path, method, requestEntity, byte[].class);
             }
         } catch (HttpStatusCodeException e) {
-            return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
+            return prepareGatewayResponse(ResponseEntity.status(e.getStatusCode())
+                    .headers(e.getResponseHeaders())
+                    .body(e.getResponseBodyAsByteArray()));
         }
         return prepareGatewayResponse(shareitServerResponse);
     }
@@ -101,12 +176,13 @@ public class BaseClient {
         return headers;
     }
 
-    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
-        if (response.getStatusCode().is2xxSuccessful()) {
-            return response;
-        }
-
-        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
+    /**
+     * Тело ответа сервера передаётся клиенту как есть, без разбора JSON, вместе со статусом
+     * и заголовками, кроме тех, что относятся только к соединению шлюза с сервером.
+     */
+    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<byte[]> response) {
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode())
+                .headers(gatewayHeaders(response.getHeaders()));
 
         if (response.hasBody()) {
             return responseBuilder.body(response.getBody());
@@ -114,4 +190,14 @@ public class BaseClient {
 
         return responseBuilder.build();
     }
+
+    private static HttpHeaders gatewayHeaders(HttpHeaders serverHeaders) {
+        HttpHeaders headers = new HttpHeaders();
+        serverHeaders.forEach((name, values) -> {
+            if (!HOP_BY_HOP_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                headers.addAll(name, values);
+            }
+        });
+        return headers;
+    }
 }
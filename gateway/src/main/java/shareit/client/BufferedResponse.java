@@ -0,0 +1,60 @@
+package shareit.client;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.util.StreamUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Ответ сервера, прочитанный в память, чтобы отдать его нескольким вызывающим.
+ */
+record BufferedResponse(HttpStatusCode status, HttpHeaders headers, byte[] body) implements ClientHttpResponse {
+    BufferedResponse {
+        headers = HttpHeaders.readOnlyHttpHeaders(new HttpHeaders(headers));
+    }
+
+    /**
+     * Поток событий не заканчивается, и прочитать его в память нельзя.
+     */
+    static boolean isStream(HttpRequest request) {
+        return request.getHeaders().getAccept().contains(MediaType.TEXT_EVENT_STREAM);
+    }
+
+    static BufferedResponse read(ClientHttpResponse response) throws IOException {
+        try (response) {
+            return new BufferedResponse(response.getStatusCode(), response.getHeaders(),
+                    StreamUtils.copyToByteArray(response.getBody()));
+        }
+    }
+
+    @Override
+    public HttpStatusCode getStatusCode() {
+        return status;
+    }
+
+    @Override
+    public String getStatusText() {
+        return status instanceof HttpStatus httpStatus ? httpStatus.getReasonPhrase() : "";
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        return headers;
+    }
+
+    @Override
+    public InputStream getBody() {
+        return new ByteArrayInputStream(body);
+    }
+
+    @Override
+    public void close() {
+    }
+}
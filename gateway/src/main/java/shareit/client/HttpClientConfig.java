@@ -0,0 +1,128 @@
+package shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.web.client.RestTemplateBuilderConfigurer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+
+import java.time.Duration;
+
+/**
+ * Один пул соединений с сервером на все клиенты шлюза. Запросы обрабатываются на виртуальных потоках
+ * (spring.threads.virtual.enabled), поэтому блокирующий вызов не держит поток платформы,
+ * а число одновременных обращений к серверу ограничивает только размер пула.
+ */
+@Configuration
+@EnableConfigurationProperties(ResponseCacheProperties.class)
+public class HttpClientConfig {
+
+    @Bean
+    public PoolingHttpClientConnectionManager shareitServerConnectionManager(
+            @Value("${shareit-server.client.max-connections}") int maxConnections,
+            @Value("${shareit-server.client.max-connections-per-route}") int maxConnectionsPerRoute,
+            @Value("${shareit-server.client.connect-timeout}") Duration connectTimeout,
+            @Value("${shareit-server.client.response-timeout}") Duration responseTimeout,
+            @Value("${shareit-server.client.keep-alive}") Duration keepAlive) {
+        return PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnectionsPerRoute)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(connectTimeout))
+                        .setSocketTimeout(Timeout.of(responseTimeout))
+                        .setTimeToLive(TimeValue.of(keepAlive))
+                        .build())
+                .build();
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient shareitServerHttpClient(
+            PoolingHttpClientConnectionManager connectionManager,
+            @Value("${shareit-server.client.connection-request-timeout}") Duration connectionRequestTimeout,
+            @Value("${shareit-server.client.response-timeout}") Duration responseTimeout,
+            @Value("${shareit-server.client.keep-alive}") Duration keepAlive) {
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.of(connectionRequestTimeout))
+                        .setResponseTimeout(Timeout.of(responseTimeout))
+                        .build())
+                .setKeepAliveStrategy((response, context) -> TimeValue.of(keepAlive))
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.of(keepAlive))
+                .build();
+    }
+
+    @Bean
+    public ClientHttpRequestFactory shareitServerRequestFactory(CloseableHttpClient shareitServerHttpClient) {
+        return new HttpComponentsClientHttpRequestFactory(shareitServerHttpClient);
+    }
+
+    /**
+     * Отдельный пул для потоков событий: открытый поток держит соединение часами и не должен занимать
+     * место обычных запросов. Таймаут чтения длиннее heartbeat сервера, иначе простаивающий поток оборвётся.
+     */
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient shareitServerStreamHttpClient(
+            @Value("${shareit-server.client.max-streams}") int maxStreams,
+            @Value("${shareit-server.client.connect-timeout}") Duration connectTimeout,
+            @Value("${shareit-server.client.stream-idle-timeout}") Duration idleTimeout) {
+        return HttpClients.custom()
+                .setConnectionManager(PoolingHttpClientConnectionManagerBuilder.create()
+                        .setMaxConnTotal(maxStreams)
+                        .setMaxConnPerRoute(maxStreams)
+                        .setDefaultConnectionConfig(ConnectionConfig.custom()
+                                .setConnectTimeout(Timeout.of(connectTimeout))
+                                .setSocketTimeout(Timeout.of(idleTimeout))
+                                .build())
+                        .build())
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setResponseTimeout(Timeout.of(idleTimeout))
+                        .build())
+                .build();
+    }
+
+    @Bean
+    public ClientHttpRequestFactory shareitServerStreamRequestFactory(
+            CloseableHttpClient shareitServerStreamHttpClient) {
+        return new HttpComponentsClientHttpRequestFactory(shareitServerStreamHttpClient);
+    }
+
+    @Bean
+    public ResponseCacheInterceptor responseCacheInterceptor(ResponseCacheProperties properties,
+                                                             MeterRegistry meterRegistry) {
+        return new ResponseCacheInterceptor(properties, meterRegistry);
+    }
+
+    @Bean
+    public SingleFlightInterceptor singleFlightInterceptor(MeterRegistry meterRegistry) {
+        return new SingleFlightInterceptor(meterRegistry);
+    }
+
+    /**
+     * Порядок: кэш, объединение запросов, метрика реальных обращений к серверу.
+     */
+    @Bean
+    public RestTemplateBuilder restTemplateBuilder(RestTemplateBuilderConfigurer configurer,
+                                                   ClientHttpRequestFactory shareitServerRequestFactory,
+                                                   ResponseCacheInterceptor responseCacheInterceptor,
+                                                   SingleFlightInterceptor singleFlightInterceptor,
+                                                   MeterRegistry meterRegistry) {
+        return configurer.configure(new RestTemplateBuilder())
+                .requestFactory(() -> shareitServerRequestFactory)
+                .additionalInterceptors(responseCacheInterceptor, singleFlightInterceptor,
+                        new UpstreamMetricsInterceptor(meterRegistry));
+    }
+}
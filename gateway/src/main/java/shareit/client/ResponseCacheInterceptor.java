@@ -0,0 +1,129 @@
+package shareit.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Кэш ответов на GET; изменение сбрасывает кэш зависимых семейств сменой поколения в ключе.
+ */
+public class ResponseCacheInterceptor implements ClientHttpRequestInterceptor {
+    public static final String CACHE_NAME = "shareit.gateway.responses";
+
+    private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+    private static final Map<String, Set<String>> AFFECTED_FAMILIES = Map.of(
+            "users", Set.of("users", "items", "bookings", "requests"),
+            "items", Set.of("items", "bookings", "requests"),
+            "bookings", Set.of("bookings", "items"),
+            "requests", Set.of("requests"));
+
+    private final Map<String, Duration> ttl;
+    private final Cache<Key, CachedResponse> cache;
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    public ResponseCacheInterceptor(ResponseCacheProperties properties, MeterRegistry meterRegistry) {
+        this.ttl = Map.copyOf(properties.ttl());
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.maximumSize())
+                .expireAfter(new Expiry<Key, CachedResponse>() {
+                    @Override
+                    public long expireAfterCreate(Key key, CachedResponse response, long currentTime) {
+                        return response.ttl().toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(Key key, CachedResponse response, long currentTime,
+                                                  long currentDuration) {
+                        return response.ttl().toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterRead(Key key, CachedResponse response, long currentTime,
+                                                long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        String family = family(request);
+        if (request.getMethod() != HttpMethod.GET) {
+            try {
+                return execution.execute(request, body);
+            } finally {
+                AFFECTED_FAMILIES.getOrDefault(family, Set.of(family))
+                        .forEach(affected -> generation(affected).incrementAndGet());
+            }
+        }
+
+        Duration familyTtl = ttl.get(family);
+        if (familyTtl == null || !familyTtl.isPositive() || BufferedResponse.isStream(request)) {
+            return execution.execute(request, body);
+        }
+        Key key = new Key(family, generation(family).get(), request.getHeaders().getFirst(USER_ID_HEADER),
+                request.getURI().toString());
+        CachedResponse cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return cached.toResponse(request.getHeaders().getIfNoneMatch());
+        }
+
+        ClientHttpResponse response = execution.execute(request, body);
+        if (response.getStatusCode().value() != HttpStatus.OK.value()) {
+            return response;
+        }
+        CachedResponse fresh = new CachedResponse(BufferedResponse.read(response), familyTtl);
+        cache.put(key, fresh);
+        return fresh.response();
+    }
+
+    private AtomicLong generation(String family) {
+        return generations.computeIfAbsent(family, f -> new AtomicLong());
+    }
+
+    private static String family(HttpRequest request) {
+        String path = request.getURI().getPath();
+        if (path == null) {
+            return "";
+        }
+        int start = path.startsWith("/") ? 1 : 0;
+        int end = path.indexOf('/', start);
+        return end < 0 ? path.substring(start) : path.substring(start, end);
+    }
+
+    private record Key(String family, long generation, String userId, String uri) {
+    }
+
+    private record CachedResponse(BufferedResponse response, Duration ttl) {
+        ClientHttpResponse toResponse(List<String> ifNoneMatch) {
+            String eTag = response.headers().getETag();
+            if (eTag != null && (ifNoneMatch.contains(eTag) || ifNoneMatch.contains("*"))) {
+                HttpHeaders notModifiedHeaders = new HttpHeaders();
+                notModifiedHeaders.setETag(eTag);
+                return new BufferedResponse(HttpStatus.NOT_MODIFIED, notModifiedHeaders, new byte[0]);
+            }
+            return response;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package shareit.client;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Время жизни ответа по семействам ресурсов (первый сегмент пути); семейства без ttl не кэшируются.
+ */
+@ConfigurationProperties("shareit-server.cache")
+public record ResponseCacheProperties(@DefaultValue("10000") long maximumSize,
+                                      @DefaultValue Map<String, Duration> ttl) {
+}
@@ -0,0 +1,98 @@
+package shareit.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Объединяет одновременные одинаковые GET в один запрос к серверу.
+ */
+public class SingleFlightInterceptor implements ClientHttpRequestInterceptor {
+    public static final String COUNTER = "shareit.gateway.coalesced";
+
+    private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+    private static final Set<String> USER_INDEPENDENT_ROUTES = Set.of("/items/search");
+
+    private final Map<Key, CompletableFuture<BufferedResponse>> inFlight = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+
+    public SingleFlightInterceptor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        if (request.getMethod() != HttpMethod.GET) {
+            try {
+                return execution.execute(request, body);
+            } finally {
+                inFlight.clear();
+            }
+        }
+        if (BufferedResponse.isStream(request)) {
+            return execution.execute(request, body);
+        }
+
+        String route = UpstreamMetricsInterceptor.route(request);
+        String userId = USER_INDEPENDENT_ROUTES.contains(route)
+                ? null
+                : request.getHeaders().getFirst(USER_ID_HEADER);
+        Key key = new Key(request.getURI().toString(), userId,
+                request.getHeaders().getOrDefault(HttpHeaders.IF_NONE_MATCH, List.of()));
+        CompletableFuture<BufferedResponse> own = new CompletableFuture<>();
+        CompletableFuture<BufferedResponse> leader = inFlight.putIfAbsent(key, own);
+        if (leader != null) {
+            Counter.builder(COUNTER)
+                    .tag("route", route)
+                    .register(meterRegistry)
+                    .increment();
+            return await(leader);
+        }
+
+        try {
+            BufferedResponse response = BufferedResponse.read(execution.execute(request, body));
+            own.complete(response);
+            return response;
+        } catch (IOException | RuntimeException e) {
+            own.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, own);
+        }
+    }
+
+    private static ClientHttpResponse await(CompletableFuture<BufferedResponse> leader) throws IOException {
+        try {
+            return leader.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Ожидание ответа на одинаковый запрос прервано");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private record Key(String uri, String userId, List<String> ifNoneMatch) {
+    }
+}
@@ -0,0 +1,53 @@
+package shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.util.regex.Pattern;
+
+/**
+ * Время запросов шлюза к серверу с тегами method, route и status. ID в пути заменяются на {id},
+ * чтобы число маршрутов, а значит и временных рядов, не росло с числом вещей и пользователей.
+ */
+public class UpstreamMetricsInterceptor implements ClientHttpRequestInterceptor {
+    public static final String TIMER = "shareit.gateway.upstream";
+
+    private static final Pattern ID_SEGMENT = Pattern.compile("/\\d+(?=/|$)");
+
+    private final MeterRegistry meterRegistry;
+
+    public UpstreamMetricsInterceptor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String status = "IO_ERROR";
+        try {
+            ClientHttpResponse response = execution.execute(request, body);
+            status = String.valueOf(response.getStatusCode().value());
+            return response;
+        } finally {
+            sample.stop(Timer.builder(TIMER)
+                    .tag("method", request.getMethod().name())
+                    .tag("route", route(request))
+                    .tag("status", status)
+                    .register(meterRegistry));
+        }
+    }
+
+    static String route(HttpRequest request) {
+        String path = request.getURI().getPath();
+        if (path == null || path.isEmpty()) {
+            return "/";
+        }
+        return ID_SEGMENT.matcher(path).replaceAll("/{id}");
+    }
+}
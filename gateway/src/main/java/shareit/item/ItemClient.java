@@ -4,13 +4,14 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import shareit.client.BaseClient;
 import shareit.item.dto.CommentDto;
 import shareit.item.dto.ItemDto;
 
+import java.util.List;
 import java.util.Map;
 
 @Service
@@ -22,7 +23,6 @@ public class ItemClient extends BaseClient {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
                         .build()
         );
     }
@@ -31,23 +31,29 @@ public class ItemClient extends BaseClient {
         return post("", userId, requestDto);
     }
 
+    public ResponseEntity<Object> addItems(long userId, List<ItemDto> requestDtos) {
+        return post("/batch", userId, requestDtos);
+    }
+
     public ResponseEntity<Object> updateItem(long userId, long itemId, ItemDto itemDto) {
         return patch("/" + itemId, userId, itemDto);
     }
 
-    public ResponseEntity<Object> getItemWithDateById(long userId, long itemId) {
-        return get("/" + itemId, userId);
+    public ResponseEntity<Object> getItemWithDateById(long userId, long itemId, @Nullable String ifNoneMatch) {
+        return getIfNoneMatch("/" + itemId, userId, ifNoneMatch);
     }
 
     public ResponseEntity<Object> getItems(long userId) {
         return get("", userId);
     }
 
-    public ResponseEntity<Object> searchItem(long userId, String text) {
+    public ResponseEntity<Object> searchItem(long userId, String text, int from, int size) {
         Map<String, Object> parameters = Map.of(
-                "text", text
+                "text", text,
+                "from", from,
+                "size", size
         );
-        return get("/search?text={text}", userId, parameters);
+        return get("/search?text={text}&from={from}&size={size}", userId, parameters);
     }
 
     public ResponseEntity<Object> addComment(long userId, long itemId, CommentDto commentDto) {
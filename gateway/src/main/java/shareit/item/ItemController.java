@@ -1,9 +1,14 @@
 package shareit.item;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
@@ -29,6 +34,16 @@ public class ItemController {
         return itemClient.addItem(userId, itemDto);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<Object> addItems(@RequestHeader("X-Sharer-User-Id") @Positive Long userId,
+                                           @RequestBody
+                                           @NotEmpty(message = "Пакет вещей не может быть пустым")
+                                           @Size(max = 500, message = "Пакет не может содержать больше 500 строк")
+                                           List<@Valid ItemDto> itemDtos) {
+        log.info("Creating {} items, userId={}", itemDtos.size(), userId);
+        return itemClient.addItems(userId, itemDtos);
+    }
+
     @PatchMapping("/{itemId}")
     public ResponseEntity<Object> updateItem(@RequestHeader("X-Sharer-User-Id") @Positive Long userId,
                                              @PathVariable @Positive Long itemId,
@@ -39,9 +54,11 @@ public class ItemController {
 
     @GetMapping("/{itemId}")
     public ResponseEntity<Object> getItemWithDateById(@RequestHeader("X-Sharer-User-Id") @Positive Long userId,
-                                                      @PathVariable @Positive Long itemId) {
+                                                      @PathVariable @Positive Long itemId,
+                                                      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false)
+                                                      String ifNoneMatch) {
         log.info("Getting item with id={}, userId={}", itemId, userId);
-        return itemClient.getItemWithDateById(userId, itemId);
+        return itemClient.getItemWithDateById(userId, itemId, ifNoneMatch);
     }
 
     @GetMapping
@@ -52,12 +69,14 @@ public class ItemController {
 
     @GetMapping("/search")
     public ResponseEntity<Object> searchItems(@RequestHeader("X-Sharer-User-Id") @Positive Long userId,
-                                              @RequestParam String text) {
-        log.info("Searching items with description having '{}', userId={}", text, userId);
+                                              @RequestParam String text,
+                                              @RequestParam(defaultValue = "0") @PositiveOrZero Integer from,
+                                              @RequestParam(defaultValue = "20") @Positive @Max(100) Integer size) {
+        log.info("Searching items with description having '{}', userId={}, from={}, size={}", text, userId, from, size);
         if (text.isBlank()) {
             return ResponseEntity.ok(List.of());
         }
-        return itemClient.searchItem(userId, text);
+        return itemClient.searchItem(userId, text, from, size);
     }
 
     @PostMapping("/{itemId}/comment")
@@ -4,12 +4,15 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import shareit.client.BaseClient;
 import shareit.request.dto.ItemRequestDto;
 
+import java.util.HashMap;
+import java.util.Map;
+
 @Service
 public class ItemRequestClient extends BaseClient {
     private static final String API_PREFIX = "/requests";
@@ -19,7 +22,6 @@ public class ItemRequestClient extends BaseClient {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
                         .build()
         );
     }
@@ -32,11 +34,17 @@ public class ItemRequestClient extends BaseClient {
         return get("", userId);
     }
 
-    public ResponseEntity<Object> getAllItemRequests(long userId) {
-        return get("/all", userId);
+    public ResponseEntity<Object> getAllItemRequests(long userId, int from, int size, @Nullable String cursor) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("from", from);
+        parameters.put("size", size);
+        if (cursor != null) {
+            parameters.put("cursor", cursor);
+        }
+        return get("/all?from={from}&size={size}" + (cursor != null ? "&cursor={cursor}" : ""), userId, parameters);
     }
 
-    public ResponseEntity<Object> getItemRequestById(long userId, long requestId) {
-        return get("/" + requestId, userId);
+    public ResponseEntity<Object> getItemRequestById(long userId, long requestId, @Nullable String ifNoneMatch) {
+        return getIfNoneMatch("/" + requestId, userId, ifNoneMatch);
     }
 }
@@ -1,9 +1,12 @@
 package shareit.request;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
@@ -33,15 +36,20 @@ public class ItemRequestController {
     }
 
     @GetMapping("/all")
-    public ResponseEntity<Object> getAllItemRequests(@RequestHeader("X-Sharer-User-Id") @Positive Long userId) {
-        log.info("Getting all item requests, userId={}", userId);
-        return itemRequestClient.getAllItemRequests(userId);
+    public ResponseEntity<Object> getAllItemRequests(@RequestHeader("X-Sharer-User-Id") @Positive Long userId,
+                                                     @RequestParam(defaultValue = "0") @PositiveOrZero Integer from,
+                                                     @RequestParam(defaultValue = "20") @Positive @Max(100) Integer size,
+                                                     @RequestParam(required = false) String cursor) {
+        log.info("Getting all item requests, userId={}, from={}, size={}, cursor={}", userId, from, size, cursor);
+        return itemRequestClient.getAllItemRequests(userId, from, size, cursor);
     }
 
     @GetMapping("/{requestId}")
     public ResponseEntity<Object> getItemRequestById(@RequestHeader("X-Sharer-User-Id") @Positive Long userId,
-                                                     @PathVariable @Positive Long requestId) {
+                                                     @PathVariable @Positive Long requestId,
+                                                     @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false)
+                                                     String ifNoneMatch) {
         log.info("Getting the item request with id={}, userId={}", requestId, userId);
-        return itemRequestClient.getItemRequestById(userId, requestId);
+        return itemRequestClient.getItemRequestById(userId, requestId, ifNoneMatch);
     }
 }
@@ -0,0 +1,21 @@
+package shareit.tracing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import ru.practicum.shareit.tracing.JsonLinesSpanExporter;
+
+import java.nio.file.Path;
+
+@Configuration
+public class TracingConfig {
+
+    @Bean
+    @ConditionalOnProperty("shareit.tracing.file")
+    public JsonLinesSpanExporter jsonLinesSpanExporter(@Value("${shareit.tracing.file}") Path file,
+                                                       ObjectMapper objectMapper) {
+        return new JsonLinesSpanExporter(file, objectMapper);
+    }
+}
@@ -1,7 +1,9 @@
 package shareit.user;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -11,6 +13,8 @@ import org.springframework.web.bind.annotation.*;
 import shareit.error.ValidationException;
 import shareit.user.dto.UserDto;
 
+import java.util.List;
+
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("/users")
@@ -29,6 +33,21 @@ public class UserController {
         return userClient.createUser(userDto);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<Object> createUsers(@RequestBody
+                                              @NotEmpty(message = "Пакет пользователей не может быть пустым")
+                                              @Size(max = 500, message = "Пакет не может содержать больше 500 строк")
+                                              List<@Valid UserDto> userDtos) {
+        log.info("Creating {} users", userDtos.size());
+        for (int i = 0; i < userDtos.size(); i++) {
+            if (userDtos.get(i).getEmail() == null || userDtos.get(i).getEmail().isBlank()) {
+                throw new ValidationException("Строка " + i
+                        + ": у нового пользователя обязательно должен быть указан email");
+            }
+        }
+        return userClient.createUsers(userDtos);
+    }
+
     @PatchMapping("/{userId}")
     public ResponseEntity<Object> updateUser(@PathVariable @Positive Long userId, @Valid @RequestBody UserDto userDto) {
         log.info("Updating user with id={} to {}", userId, userDto);
@@ -5,8 +5,10 @@ import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.RestTemplate;
@@ -37,30 +39,30 @@ class BaseClientTest {
     @Test
     void getWithoutParametersShouldCallRestTemplate() {
         String path = "/test";
-        ResponseEntity<Object> responseEntity = ResponseEntity.ok("test response");
+        ResponseEntity<byte[]> responseEntity = ResponseEntity.ok("test response".getBytes());
 
-        when(restTemplate.exchange(eq(path), eq(HttpMethod.GET), any(HttpEntity.class), eq(Object.class)))
+        when(restTemplate.exchange(eq(path), eq(HttpMethod.GET), any(HttpEntity.class), eq(byte[].class)))
                 .thenReturn(responseEntity);
 
         ResponseEntity<Object> result = baseClient.get(path);
 
         assertThat(result).isEqualTo(responseEntity);
-        verify(restTemplate).exchange(eq(path), eq(HttpMethod.GET), any(HttpEntity.class), eq(Object.class));
+        verify(restTemplate).exchange(eq(path), eq(HttpMethod.GET), any(HttpEntity.class), eq(byte[].class));
     }
 
     @Test
     void getWithUserIdShouldCallRestTemplate() {
         String path = "/test";
         long userId = 1L;
-        ResponseEntity<Object> responseEntity = ResponseEntity.ok("test response");
+        ResponseEntity<byte[]> responseEntity = ResponseEntity.ok("test response".getBytes());
 
-        when(restTemplate.exchange(eq(path), eq(HttpMethod.GET), any(HttpEntity.class), eq(Object.class)))
+        when(restTemplate.exchange(eq(path), eq(HttpMethod.GET), any(HttpEntity.class), eq(byte[].class)))
                 .thenReturn(responseEntity);
 
         ResponseEntity<Object> result = baseClient.get(path, userId);
 
         assertThat(result).isEqualTo(responseEntity);
-        verify(restTemplate).exchange(eq(path), eq(HttpMethod.GET), any(HttpEntity.class), eq(Object.class));
+        verify(restTemplate).exchange(eq(path), eq(HttpMethod.GET), any(HttpEntity.class), eq(byte[].class));
     }
 
     @Test
@@ -68,30 +70,30 @@ class BaseClientTest {
         String path = "/test";
         long userId = 1L;
         Map<String, Object> parameters = Map.of("param1", "value1", "param2", "value2");
-        ResponseEntity<Object> responseEntity = ResponseEntity.ok("test response");
+        ResponseEntity<byte[]> responseEntity = ResponseEntity.ok("test response".getBytes());
 
-        when(restTemplate.exchange(eq(path), eq(HttpMethod.GET), any(HttpEntity.class), eq(Object.class), eq(parameters)))
+        when(restTemplate.exchange(eq(path), eq(HttpMethod.GET), any(HttpEntity.class), eq(byte[].class), eq(parameters)))
                 .thenReturn(responseEntity);
 
         ResponseEntity<Object> result = baseClient.get(path, userId, parameters);
 
         assertThat(result).isEqualTo(responseEntity);
-        verify(restTemplate).exchange(eq(path), eq(HttpMethod.GET), any(HttpEntity.class), eq(Object.class), eq(parameters));
+        verify(restTemplate).exchange(eq(path), eq(HttpMethod.GET), any(HttpEntity.class), eq(byte[].class), eq(parameters));
     }
 
     @Test
     void postWithBodyShouldCallRestTemplate() {
         String path = "/test";
         Object requestBody = new Object();
-        ResponseEntity<Object> responseEntity = ResponseEntity.ok("test response");
+        ResponseEntity<byte[]> responseEntity = ResponseEntity.ok("test response".getBytes());
 
-        when(restTemplate.exchange(eq(path), eq(HttpMethod.POST), any(HttpEntity.class), eq(Object.class)))
+        when(restTemplate.exchange(eq(path), eq(HttpMethod.POST), any(HttpEntity.class), eq(byte[].class)))
                 .thenReturn(responseEntity);
 
         ResponseEntity<Object> result = baseClient.post(path, requestBody);
 
         assertThat(result).isEqualTo(responseEntity);
-        verify(restTemplate).exchange(eq(path), eq(HttpMethod.POST), any(HttpEntity.class), eq(Object.class));
+        verify(restTemplate).exchange(eq(path), eq(HttpMethod.POST), any(HttpEntity.class), eq(byte[].class));
     }
 
     @Test
@@ -99,15 +101,15 @@ class BaseClientTest {
         String path = "/test";
         long userId = 1L;
         Object requestBody = new Object();
-        ResponseEntity<Object> responseEntity = ResponseEntity.ok("test response");
+        ResponseEntity<byte[]> responseEntity = ResponseEntity.ok("test response".getBytes());
 
-        when(restTemplate.exchange(eq(path), eq(HttpMethod.POST), any(HttpEntity.class), eq(Object.class)))
+        when(restTemplate.exchange(eq(path), eq(HttpMethod.POST), any(HttpEntity.class), eq(byte[].class)))
                 .thenReturn(responseEntity);
 
         ResponseEntity<Object> result = baseClient.post(path, userId, requestBody);
 
         assertThat(result).isEqualTo(responseEntity);
-        verify(restTemplate).exchange(eq(path), eq(HttpMethod.POST), any(HttpEntity.class), eq(Object.class));
+        verify(restTemplate).exchange(eq(path), eq(HttpMethod.POST), any(HttpEntity.class), eq(byte[].class));
     }
 
     @Test
@@ -116,15 +118,15 @@ class BaseClientTest {
         long userId = 1L;
         Map<String, Object> parameters = Map.of("param1", "value1");
         Object requestBody = new Object();
-        ResponseEntity<Object> responseEntity = ResponseEntity.ok("test response");
+        ResponseEntity<byte[]> responseEntity = ResponseEntity.ok("test response".getBytes());
 
-        when(restTemplate.exchange(eq(path), eq(HttpMethod.POST), any(HttpEntity.class), eq(Object.class), eq(parameters)))
+        when(restTemplate.exchange(eq(path), eq(HttpMethod.POST), any(HttpEntity.class), eq(byte[].class), eq(parameters)))
                 .thenReturn(responseEntity);
 
         ResponseEntity<Object> result = baseClient.post(path, userId, parameters, requestBody);
 
         assertThat(result).isEqualTo(responseEntity);
-        verify(restTemplate).exchange(eq(path), eq(HttpMethod.POST), any(HttpEntity.class), eq(Object.class), eq(parameters));
+        verify(restTemplate).exchange(eq(path), eq(HttpMethod.POST), any(HttpEntity.class), eq(byte[].class), eq(parameters));
     }
 
     @Test
@@ -132,45 +134,45 @@ class BaseClientTest {
         String path = "/test";
         long userId = 1L;
         Object requestBody = new Object();
-        ResponseEntity<Object> responseEntity = ResponseEntity.ok("test response");
+        ResponseEntity<byte[]> responseEntity = ResponseEntity.ok("test response".getBytes());
 
-        when(restTemplate.exchange(eq(path), eq(HttpMethod.PUT), any(HttpEntity.class), eq(Object.class)))
+        when(restTemplate.exchange(eq(path), eq(HttpMethod.PUT), any(HttpEntity.class), eq(byte[].class)))
                 .thenReturn(responseEntity);
 
         ResponseEntity<Object> result = baseClient.put(path, userId, requestBody);
 
         assertThat(result).isEqualTo(responseEntity);
-        verify(restTemplate).exchange(eq(path), eq(HttpMethod.PUT), any(HttpEntity.class), eq(Object.class));
+        verify(restTemplate).exchange(eq(path), eq(HttpMethod.PUT), any(HttpEntity.class), eq(byte[].class));
     }
 
     @Test
     void patchWithBodyShouldCallRestTemplate() {
         String path = "/test";
         Object requestBody = new Object();
-        ResponseEntity<Object> responseEntity = ResponseEntity.ok("test response");
+        ResponseEntity<byte[]> responseEntity = ResponseEntity.ok("test response".getBytes());
 
-        when(restTemplate.exchange(eq(path), eq(HttpMethod.PATCH), any(HttpEntity.class), eq(Object.class)))
+        when(restTemplate.exchange(eq(path), eq(HttpMethod.PATCH), any(HttpEntity.class), eq(byte[].class)))
                 .thenReturn(responseEntity);
 
         ResponseEntity<Object> result = baseClient.patch(path, requestBody);
 
         assertThat(result).isEqualTo(responseEntity);
-        verify(restTemplate).exchange(eq(path), eq(HttpMethod.PATCH), any(HttpEntity.class), eq(Object.class));
+        verify(restTemplate).exchange(eq(path), eq(HttpMethod.PATCH), any(HttpEntity.class), eq(byte[].class));
     }
 
     @Test
     void patchWithUserIdShouldCallRestTemplate() {
         String path = "/test";
         long userId = 1L;
-        ResponseEntity<Object> responseEntity = ResponseEntity.ok("test response");
+        ResponseEntity<byte[]> responseEntity = ResponseEntity.ok("test response".getBytes());
 
-        when(restTemplate.exchange(eq(path), eq(HttpMethod.PATCH), any(HttpEntity.class), eq(Object.class)))
+        when(restTemplate.exchange(eq(path), eq(HttpMethod.PATCH), any(HttpEntity.class), eq(byte[].class)))
                 .thenReturn(responseEntity);
 
         ResponseEntity<Object> result = baseClient.patch(path, userId);
 
         assertThat(result).isEqualTo(responseEntity);
-        verify(restTemplate).exchange(eq(path), eq(HttpMethod.PATCH), any(HttpEntity.class), eq(Object.class));
+        verify(restTemplate).exchange(eq(path), eq(HttpMethod.PATCH), any(HttpEntity.class), eq(byte[].class));
     }
 
     @Test
@@ -178,44 +180,44 @@ class BaseClientTest {
         String path = "/test";
         long userId = 1L;
         Object requestBody = new Object();
-        ResponseEntity<Object> responseEntity = ResponseEntity.ok("test response");
+        ResponseEntity<byte[]> responseEntity = ResponseEntity.ok("test response".getBytes());
 
-        when(restTemplate.exchange(eq(path), eq(HttpMethod.PATCH), any(HttpEntity.class), eq(Object.class)))
+        when(restTemplate.exchange(eq(path), eq(HttpMethod.PATCH), any(HttpEntity.class), eq(byte[].class)))
                 .thenReturn(responseEntity);
 
         ResponseEntity<Object> result = baseClient.patch(path, userId, requestBody);
 
         assertThat(result).isEqualTo(responseEntity);
-        verify(restTemplate).exchange(eq(path), eq(HttpMethod.PATCH), any(HttpEntity.class), eq(Object.class));
+        verify(restTemplate).exchange(eq(path), eq(HttpMethod.PATCH), any(HttpEntity.class), eq(byte[].class));
     }
 
     @Test
     void deleteWithoutParametersShouldCallRestTemplate() {
         String path = "/test";
-        ResponseEntity<Object> responseEntity = ResponseEntity.noContent().build();
+        ResponseEntity<byte[]> responseEntity = ResponseEntity.noContent().build();
 
-        when(restTemplate.exchange(eq(path), eq(HttpMethod.DELETE), any(HttpEntity.class), eq(Object.class)))
+        when(restTemplate.exchange(eq(path), eq(HttpMethod.DELETE), any(HttpEntity.class), eq(byte[].class)))
                 .thenReturn(responseEntity);
 
         ResponseEntity<Object> result = baseClient.delete(path);
 
         assertThat(result).isEqualTo(responseEntity);
-        verify(restTemplate).exchange(eq(path), eq(HttpMethod.DELETE), any(HttpEntity.class), eq(Object.class));
+        verify(restTemplate).exchange(eq(path), eq(HttpMethod.DELETE), any(HttpEntity.class), eq(byte[].class));
     }
 
     @Test
     void deleteWithUserIdShouldCallRestTemplate() {
         String path = "/test";
         long userId = 1L;
-        ResponseEntity<Object> responseEntity = ResponseEntity.noContent().build();
+        ResponseEntity<byte[]> responseEntity = ResponseEntity.noContent().build();
 
-        when(restTemplate.exchange(eq(path), eq(HttpMethod.DELETE), any(HttpEntity.class), eq(Object.class)))
+        when(restTemplate.exchange(eq(path), eq(HttpMethod.DELETE), any(HttpEntity.class), eq(byte[].class)))
                 .thenReturn(responseEntity);
 
         ResponseEntity<Object> result = baseClient.delete(path, userId);
 
         assertThat(result).isEqualTo(responseEntity);
-        verify(restTemplate).exchange(eq(path), eq(HttpMethod.DELETE), any(HttpEntity.class), eq(Object.class));
+        verify(restTemplate).exchange(eq(path), eq(HttpMethod.DELETE), any(HttpEntity.class), eq(byte[].class));
     }
 
     @Test
@@ -228,18 +230,18 @@ class BaseClientTest {
         when(exception.getStatusCode()).thenReturn(HttpStatus.BAD_REQUEST);
         when(exception.getResponseBodyAsByteArray()).thenReturn("Error message".getBytes());
 
-        when(restTemplate.exchange(eq(path), eq(method), any(HttpEntity.class), eq(Object.class)))
+        when(restTemplate.exchange(eq(path), eq(method), any(HttpEntity.class), eq(byte[].class)))
                 .thenThrow(exception);
 
         ResponseEntity<Object> result = baseClient.get(path, userId);
 
         assertThat(result.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
-        verify(restTemplate).exchange(eq(path), eq(method), any(HttpEntity.class), eq(Object.class));
+        verify(restTemplate).exchange(eq(path), eq(method), any(HttpEntity.class), eq(byte[].class));
     }
 
     @Test
     void prepareGatewayResponseWith2xxResponseShouldReturnSameResponse() {
-        ResponseEntity<Object> originalResponse = ResponseEntity.ok("Success");
+        ResponseEntity<byte[]> originalResponse = ResponseEntity.ok("Success".getBytes());
 
         ResponseEntity<Object> result = invokePrepareGatewayResponse(originalResponse);
 
@@ -248,17 +250,17 @@ class BaseClientTest {
 
     @Test
     void prepareGatewayResponseWith4xxResponseAndBodyShouldReturnResponseWithBody() {
-        ResponseEntity<Object> originalResponse = ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Error body");
+        ResponseEntity<byte[]> originalResponse = ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Error body".getBytes());
 
         ResponseEntity<Object> result = invokePrepareGatewayResponse(originalResponse);
 
         assertThat(result.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
-        assertThat(result.getBody()).isEqualTo("Error body");
+        assertThat(result.getBody()).isEqualTo("Error body".getBytes());
     }
 
     @Test
     void prepareGatewayResponseWith4xxResponseWithoutBodyShouldReturnResponseWithoutBody() {
-        ResponseEntity<Object> originalResponse = ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        ResponseEntity<byte[]> originalResponse = ResponseEntity.status(HttpStatus.NOT_FOUND).build();
 
         ResponseEntity<Object> result = invokePrepareGatewayResponse(originalResponse);
 
@@ -266,7 +268,26 @@ class BaseClientTest {
         assertThat(result.getBody()).isNull();
     }
 
-    private ResponseEntity<Object> invokePrepareGatewayResponse(ResponseEntity<Object> response) {
+    @Test
+    void prepareGatewayResponseShouldForwardContentTypeAndDropHopByHopHeaders() {
+        ResponseEntity<byte[]> originalResponse = ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_TYPE, "application/json")
+                .header(HttpHeaders.TRANSFER_ENCODING, "chunked")
+                .header(HttpHeaders.CONNECTION, "keep-alive")
+                .header(HttpHeaders.CONTENT_LENGTH, "7")
+                .header("X-Next-Cursor", "abc")
+                .body("{\"id\":1}".getBytes());
+
+        ResponseEntity<Object> result = invokePrepareGatewayResponse(originalResponse);
+
+        assertThat(result.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(result.getHeaders().getFirst("X-Next-Cursor")).isEqualTo("abc");
+        assertThat(result.getHeaders()).doesNotContainKeys(HttpHeaders.TRANSFER_ENCODING, HttpHeaders.CONNECTION,
+                HttpHeaders.CONTENT_LENGTH);
+        assertThat(result.getBody()).isSameAs(originalResponse.getBody());
+    }
+
+    private ResponseEntity<Object> invokePrepareGatewayResponse(ResponseEntity<byte[]> response) {
         try {
             Method method = BaseClient.class.getDeclaredMethod("prepareGatewayResponse", ResponseEntity.class);
             method.setAccessible(true);
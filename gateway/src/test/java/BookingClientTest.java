@@ -5,17 +5,31 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import shareit.booking.BookingClient;
 import shareit.booking.dto.BookingDto;
 import shareit.booking.dto.BookingState;
 import shareit.client.BaseClient;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Map;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.verify;
 
@@ -27,9 +41,20 @@ class BookingClientTest {
 
     private BookingClient bookingClient;
 
+    private MockClientHttpRequest streamRequest;
+
+    private MockClientHttpResponse streamResponse;
+
     @BeforeEach
     void setUp() {
-        bookingClient = new BookingClient("http://localhost:8080", new RestTemplateBuilder());
+        bookingClient = new BookingClient("http://localhost:8080", new RestTemplateBuilder(), (uri, method) -> {
+            if (streamResponse == null) {
+                throw new IOException("Connection refused");
+            }
+            streamRequest = new MockClientHttpRequest(method, uri);
+            streamRequest.setResponse(streamResponse);
+            return streamRequest;
+        });
         setRestTemplateField(bookingClient, restTemplate);
     }
 
@@ -52,7 +77,30 @@ class BookingClientTest {
                                 httpEntity.getHeaders().containsKey("X-Sharer-User-Id") &&
                                 httpEntity.getBody() == bookingDto
                 ),
-                eq(Object.class)
+                eq(byte[].class)
+        );
+    }
+
+    @Test
+    void addBookingsShouldCallBatchEndpoint() {
+        long userId = 1L;
+        List<BookingDto> bookingDtos = List.of(createBookingDto(), createBookingDto());
+
+        try {
+            bookingClient.addBookings(userId, bookingDtos);
+        } catch (Exception ignored) {
+
+        }
+
+        verify(restTemplate).exchange(
+                eq("/batch"),
+                eq(HttpMethod.POST),
+                argThat(httpEntity ->
+                        httpEntity != null &&
+                                httpEntity.getHeaders().containsKey("X-Sharer-User-Id") &&
+                                httpEntity.getBody() == bookingDtos
+                ),
+                eq(byte[].class)
         );
     }
 
@@ -76,7 +124,7 @@ class BookingClientTest {
                                 httpEntity.getHeaders().containsKey("X-Sharer-User-Id") &&
                                 httpEntity.getBody() == null
                 ),
-                eq(Object.class),
+                eq(byte[].class),
                 eq(Map.of("approved", true))
         );
     }
@@ -87,7 +135,7 @@ class BookingClientTest {
         long bookingId = 1L;
 
         try {
-            bookingClient.getBookingById(userId, bookingId);
+            bookingClient.getBookingById(userId, bookingId, null);
         } catch (Exception ignored) {
 
         }
@@ -99,7 +147,7 @@ class BookingClientTest {
                         httpEntity != null &&
                                 httpEntity.getHeaders().containsKey("X-Sharer-User-Id")
                 ),
-                eq(Object.class)
+                eq(byte[].class)
         );
     }
 
@@ -109,20 +157,20 @@ class BookingClientTest {
         BookingState state = BookingState.ALL;
 
         try {
-            bookingClient.getBookings(userId, state);
+            bookingClient.getBookings(userId, state, 0, 20, null);
         } catch (Exception ignored) {
 
         }
 
         verify(restTemplate).exchange(
-                eq("?state={state}"),
+                eq("?state={state}&from={from}&size={size}"),
                 eq(HttpMethod.GET),
                 argThat(httpEntity ->
                         httpEntity != null &&
                                 httpEntity.getHeaders().containsKey("X-Sharer-User-Id")
                 ),
-                eq(Object.class),
-                eq(Map.of("state", "ALL"))
+                eq(byte[].class),
+                eq(Map.of("state", "ALL", "from", 0, "size", 20))
         );
     }
 
@@ -132,20 +180,39 @@ class BookingClientTest {
         BookingState state = BookingState.ALL;
 
         try {
-            bookingClient.getBookingsByOwner(userId, state);
+            bookingClient.getBookingsByOwner(userId, state, 0, 20, null);
         } catch (Exception ignored) {
 
         }
 
         verify(restTemplate).exchange(
-                eq("/owner?state={state}"),
+                eq("/owner?state={state}&from={from}&size={size}"),
                 eq(HttpMethod.GET),
                 argThat(httpEntity ->
                         httpEntity != null &&
                                 httpEntity.getHeaders().containsKey("X-Sharer-User-Id")
                 ),
-                eq(Object.class),
-                eq(Map.of("state", "ALL"))
+                eq(byte[].class),
+                eq(Map.of("state", "ALL", "from", 0, "size", 20))
+        );
+    }
+
+    @Test
+    void getBookingsWithCursorShouldPassCursorParameter() {
+        long userId = 1L;
+
+        try {
+            bookingClient.getBookings(userId, BookingState.ALL, 0, 5, "cursor");
+        } catch (Exception ignored) {
+
+        }
+
+        verify(restTemplate).exchange(
+                eq("?state={state}&from={from}&size={size}&cursor={cursor}"),
+                eq(HttpMethod.GET),
+                any(HttpEntity.class),
+                eq(byte[].class),
+                eq(Map.of("state", "ALL", "from", 0, "size", 5, "cursor", "cursor"))
         );
     }
 
@@ -155,17 +222,17 @@ class BookingClientTest {
         BookingState state = BookingState.CURRENT;
 
         try {
-            bookingClient.getBookings(userId, state);
+            bookingClient.getBookings(userId, state, 0, 20, null);
         } catch (Exception ignored) {
 
         }
 
         verify(restTemplate).exchange(
-                eq("?state={state}"),
+                eq("?state={state}&from={from}&size={size}"),
                 eq(HttpMethod.GET),
                 any(HttpEntity.class),
-                eq(Object.class),
-                eq(Map.of("state", "CURRENT"))
+                eq(byte[].class),
+                eq(Map.of("state", "CURRENT", "from", 0, "size", 20))
         );
     }
 
@@ -175,17 +242,17 @@ class BookingClientTest {
         BookingState state = BookingState.FUTURE;
 
         try {
-            bookingClient.getBookingsByOwner(userId, state);
+            bookingClient.getBookingsByOwner(userId, state, 0, 20, null);
         } catch (Exception ignored) {
 
         }
 
         verify(restTemplate).exchange(
-                eq("/owner?state={state}"),
+                eq("/owner?state={state}&from={from}&size={size}"),
                 eq(HttpMethod.GET),
                 any(HttpEntity.class),
-                eq(Object.class),
-                eq(Map.of("state", "FUTURE"))
+                eq(byte[].class),
+                eq(Map.of("state", "FUTURE", "from", 0, "size", 20))
         );
     }
 
@@ -205,7 +272,7 @@ class BookingClientTest {
                 eq("/2?approved={approved}"),
                 eq(HttpMethod.PATCH),
                 any(HttpEntity.class),
-                eq(Object.class),
+                eq(byte[].class),
                 eq(Map.of("approved", false))
         );
     }
@@ -221,6 +288,52 @@ class BookingClientTest {
         );
     }
 
+    @Test
+    void streamBookingsByOwnerShouldRelayEventsAndForwardLastEventId() throws IOException {
+        String events = "id:8\nevent:BOOKING_CREATED\ndata:{\"id\":3}\n\n";
+        streamResponse = new MockClientHttpResponse(events.getBytes(StandardCharsets.UTF_8), HttpStatus.OK);
+        streamResponse.getHeaders().setContentType(MediaType.TEXT_EVENT_STREAM);
+        streamResponse.getHeaders().set(HttpHeaders.TRANSFER_ENCODING, "chunked");
+
+        ResponseEntity<StreamingResponseBody> result = bookingClient.streamBookingsByOwner(2L, "7");
+
+        assertThat(result.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(result.getHeaders().getContentType()).isEqualTo(MediaType.TEXT_EVENT_STREAM);
+        assertThat(result.getHeaders()).doesNotContainKey(HttpHeaders.TRANSFER_ENCODING);
+        assertThat(written(result)).isEqualTo(events);
+        assertThat(streamRequest.getURI().toString()).isEqualTo("http://localhost:8080/bookings/owner/stream");
+        assertThat(streamRequest.getHeaders().getFirst("X-Sharer-User-Id")).isEqualTo("2");
+        assertThat(streamRequest.getHeaders().getFirst("Last-Event-ID")).isEqualTo("7");
+        assertThat(streamRequest.getHeaders().getAccept()).containsExactly(MediaType.TEXT_EVENT_STREAM);
+    }
+
+    @Test
+    void streamBookingsByOwnerShouldPassServerErrorThrough() throws IOException {
+        String error = "{\"error\":\"not found\"}";
+        streamResponse = new MockClientHttpResponse(error.getBytes(StandardCharsets.UTF_8), HttpStatus.NOT_FOUND);
+        streamResponse.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+
+        ResponseEntity<StreamingResponseBody> result = bookingClient.streamBookingsByOwner(9L, null);
+
+        assertThat(result.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(result.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(written(result)).isEqualTo(error);
+        assertThat(streamRequest.getHeaders()).doesNotContainKey("Last-Event-ID");
+    }
+
+    @Test
+    void streamBookingsByOwnerShouldReportUnreachableServer() {
+        assertThatThrownBy(() -> bookingClient.streamBookingsByOwner(2L, null))
+                .isInstanceOf(ResourceAccessException.class)
+                .hasMessageContaining("Connection refused");
+    }
+
+    private static String written(ResponseEntity<StreamingResponseBody> response) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
     private void setRestTemplateField(BaseClient client, RestTemplate restTemplate) {
         try {
             Field restTemplateField = BaseClient.class.getDeclaredField("rest");
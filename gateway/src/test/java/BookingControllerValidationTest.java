@@ -8,6 +8,8 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import shareit.ShareItGateway;
 import shareit.booking.BookingClient;
 import shareit.booking.BookingController;
@@ -15,14 +17,18 @@ import shareit.booking.dto.BookingDto;
 import shareit.booking.dto.BookingState;
 import shareit.booking.dto.BookingStatus;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.hamcrest.Matchers.containsString;
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(BookingController.class)
@@ -38,6 +44,20 @@ class BookingControllerValidationTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Test
+    void addBookingsWhenRowStartsInThePast() throws Exception {
+        List<BookingDto> bookingDtos = List.of(new BookingDto(null, LocalDateTime.now().minusDays(1),
+                LocalDateTime.now().plusDays(1), 1L, null, null));
+
+        mockMvc.perform(post("/bookings/batch")
+                        .header("X-Sharer-User-Id", 1)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(bookingDtos)))
+                .andExpect(status().isBadRequest());
+
+        Mockito.verify(bookingClient, never()).addBookings(anyLong(), anyList());
+    }
+
     @Test
     void createBookingWhenStartIsNull() throws Exception {
         BookingDto invalidDto = new BookingDto(
@@ -119,6 +139,34 @@ class BookingControllerValidationTest {
         Mockito.verify(bookingClient, times(1)).addBooking(eq(1L), any(BookingDto.class));
     }
 
+    @Test
+    void streamBookingsByOwnerRelaysClientStream() throws Exception {
+        StreamingResponseBody events = out -> out.write(":heartbeat\n\n".getBytes(StandardCharsets.UTF_8));
+        Mockito.when(bookingClient.streamBookingsByOwner(anyLong(), any()))
+                .thenReturn(ResponseEntity.ok().contentType(MediaType.TEXT_EVENT_STREAM).body(events));
+
+        MvcResult result = mockMvc.perform(get("/bookings/owner/stream")
+                        .header("X-Sharer-User-Id", 2)
+                        .header("Last-Event-ID", "15")
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().string(":heartbeat\n\n"));
+        Mockito.verify(bookingClient, times(1)).streamBookingsByOwner(2L, "15");
+    }
+
+    @Test
+    void streamBookingsByOwnerWhenUserIdIsNegative() throws Exception {
+        mockMvc.perform(get("/bookings/owner/stream")
+                        .header("X-Sharer-User-Id", -1))
+                .andExpect(status().isBadRequest());
+
+        Mockito.verify(bookingClient, never()).streamBookingsByOwner(anyLong(), any());
+    }
+
     @Test
     void finalizeBookingWithValidData() throws Exception {
         Mockito.when(bookingClient.finalizeBooking(anyLong(), anyLong(), anyBoolean()))
@@ -209,7 +257,7 @@ class BookingControllerValidationTest {
                 1L, LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(2),
                 1L, 1L, BookingStatus.WAITING);
 
-        Mockito.when(bookingClient.getBookingById(anyLong(), anyLong()))
+        Mockito.when(bookingClient.getBookingById(anyLong(), anyLong(), any()))
                 .thenReturn(ResponseEntity.ok(responseDto));
 
         mockMvc.perform(get("/bookings/1")
@@ -218,7 +266,7 @@ class BookingControllerValidationTest {
                 .andExpect(jsonPath("$.id").value(1L))
                 .andExpect(jsonPath("$.status").value("WAITING"));
 
-        Mockito.verify(bookingClient, times(1)).getBookingById(1L, 1L);
+        Mockito.verify(bookingClient, times(1)).getBookingById(1L, 1L, null);
     }
 
     @Test
@@ -230,7 +278,7 @@ class BookingControllerValidationTest {
                         2L, 1L, BookingStatus.APPROVED)
         );
 
-        Mockito.when(bookingClient.getBookings(anyLong(), any(BookingState.class)))
+        Mockito.when(bookingClient.getBookings(anyLong(), any(BookingState.class), anyInt(), anyInt(), any()))
                 .thenReturn(ResponseEntity.ok(responseList));
 
         mockMvc.perform(get("/bookings")
@@ -242,19 +290,19 @@ class BookingControllerValidationTest {
                 .andExpect(jsonPath("$[0].id").value(1L))
                 .andExpect(jsonPath("$[1].id").value(2L));
 
-        Mockito.verify(bookingClient, times(1)).getBookings(1L, BookingState.ALL);
+        Mockito.verify(bookingClient, times(1)).getBookings(1L, BookingState.ALL, 0, 20, null);
     }
 
     @Test
     void getBookingsWithDefaultState() throws Exception {
-        Mockito.when(bookingClient.getBookings(anyLong(), any(BookingState.class)))
+        Mockito.when(bookingClient.getBookings(anyLong(), any(BookingState.class), anyInt(), anyInt(), any()))
                 .thenReturn(ResponseEntity.ok(List.of()));
 
         mockMvc.perform(get("/bookings")
                         .header("X-Sharer-User-Id", 1L))
                 .andExpect(status().isOk());
 
-        Mockito.verify(bookingClient, times(1)).getBookings(1L, BookingState.ALL);
+        Mockito.verify(bookingClient, times(1)).getBookings(1L, BookingState.ALL, 0, 20, null);
     }
 
     @Test
@@ -264,7 +312,7 @@ class BookingControllerValidationTest {
                         1L, 2L, BookingStatus.WAITING)
         );
 
-        Mockito.when(bookingClient.getBookingsByOwner(anyLong(), any(BookingState.class)))
+        Mockito.when(bookingClient.getBookingsByOwner(anyLong(), any(BookingState.class), anyInt(), anyInt(), any()))
                 .thenReturn(ResponseEntity.ok(responseList));
 
         mockMvc.perform(get("/bookings/owner")
@@ -275,19 +323,19 @@ class BookingControllerValidationTest {
                 .andExpect(jsonPath("$.length()").value(1))
                 .andExpect(jsonPath("$[0].status").value("WAITING"));
 
-        Mockito.verify(bookingClient, times(1)).getBookingsByOwner(1L, BookingState.WAITING);
+        Mockito.verify(bookingClient, times(1)).getBookingsByOwner(1L, BookingState.WAITING, 0, 20, null);
     }
 
     @Test
     void getBookingsByOwnerWithDefaultState() throws Exception {
-        Mockito.when(bookingClient.getBookingsByOwner(anyLong(), any(BookingState.class)))
+        Mockito.when(bookingClient.getBookingsByOwner(anyLong(), any(BookingState.class), anyInt(), anyInt(), any()))
                 .thenReturn(ResponseEntity.ok(List.of()));
 
         mockMvc.perform(get("/bookings/owner")
                         .header("X-Sharer-User-Id", 1L))
                 .andExpect(status().isOk());
 
-        Mockito.verify(bookingClient, times(1)).getBookingsByOwner(1L, BookingState.ALL);
+        Mockito.verify(bookingClient, times(1)).getBookingsByOwner(1L, BookingState.ALL, 0, 20, null);
     }
 
     @Test
@@ -396,7 +444,7 @@ class BookingControllerValidationTest {
         BookingDto responseDto = new BookingDto(1L, LocalDateTime.now().plusDays(1),
                 LocalDateTime.now().plusDays(2), 1L, 1L, BookingStatus.APPROVED);
 
-        Mockito.when(bookingClient.getBookingById(anyLong(), anyLong()))
+        Mockito.when(bookingClient.getBookingById(anyLong(), anyLong(), any()))
                 .thenReturn(ResponseEntity.ok(responseDto));
 
         mockMvc.perform(get("/bookings/1")
@@ -407,7 +455,7 @@ class BookingControllerValidationTest {
                 .andExpect(jsonPath("$.itemId").value(1L))
                 .andExpect(jsonPath("$.bookerId").value(1L));
 
-        Mockito.verify(bookingClient, times(1)).getBookingById(1L, 1L);
+        Mockito.verify(bookingClient, times(1)).getBookingById(1L, 1L, null);
     }
 
     @Test
@@ -416,7 +464,7 @@ class BookingControllerValidationTest {
                 LocalDateTime.now().plusDays(2), 1L, 1L, BookingStatus.WAITING);
         List<BookingDto> responseList = List.of(bookingDto);
 
-        Mockito.when(bookingClient.getBookings(anyLong(), any(BookingState.class)))
+        Mockito.when(bookingClient.getBookings(anyLong(), any(BookingState.class), anyInt(), anyInt(), any()))
                 .thenReturn(ResponseEntity.ok(responseList));
 
         mockMvc.perform(get("/bookings")
@@ -426,14 +474,14 @@ class BookingControllerValidationTest {
                 .andExpect(jsonPath("$[0].id").value(1L))
                 .andExpect(jsonPath("$[0].status").value("WAITING"));
 
-        Mockito.verify(bookingClient, times(1)).getBookings(1L, BookingState.ALL);
+        Mockito.verify(bookingClient, times(1)).getBookings(1L, BookingState.ALL, 0, 20, null);
     }
 
     @Test
     void getBookingsWithDefaultStateShouldCallClient() throws Exception {
         List<BookingDto> responseList = List.of();
 
-        Mockito.when(bookingClient.getBookings(anyLong(), any(BookingState.class)))
+        Mockito.when(bookingClient.getBookings(anyLong(), any(BookingState.class), anyInt(), anyInt(), any()))
                 .thenReturn(ResponseEntity.ok(responseList));
 
         mockMvc.perform(get("/bookings")
@@ -442,7 +490,7 @@ class BookingControllerValidationTest {
                 .andExpect(jsonPath("$").isArray())
                 .andExpect(jsonPath("$.length()").value(0));
 
-        Mockito.verify(bookingClient, times(1)).getBookings(1L, BookingState.ALL);
+        Mockito.verify(bookingClient, times(1)).getBookings(1L, BookingState.ALL, 0, 20, null);
     }
 
     @Test
@@ -452,7 +500,7 @@ class BookingControllerValidationTest {
         List<BookingDto> responseList = List.of(bookingDto);
 
         for (BookingState state : BookingState.values()) {
-            Mockito.when(bookingClient.getBookings(anyLong(), eq(state)))
+            Mockito.when(bookingClient.getBookings(anyLong(), eq(state), anyInt(), anyInt(), any()))
                     .thenReturn(ResponseEntity.ok(responseList));
 
             mockMvc.perform(get("/bookings")
@@ -460,7 +508,7 @@ class BookingControllerValidationTest {
                             .param("state", state.toString()))
                     .andExpect(status().isOk());
 
-            Mockito.verify(bookingClient, times(1)).getBookings(1L, state);
+            Mockito.verify(bookingClient, times(1)).getBookings(1L, state, 0, 20, null);
             Mockito.reset(bookingClient);
         }
     }
@@ -471,7 +519,7 @@ class BookingControllerValidationTest {
                 LocalDateTime.now().plusDays(2), 1L, 2L, BookingStatus.WAITING);
         List<BookingDto> responseList = List.of(bookingDto);
 
-        Mockito.when(bookingClient.getBookingsByOwner(anyLong(), any(BookingState.class)))
+        Mockito.when(bookingClient.getBookingsByOwner(anyLong(), any(BookingState.class), anyInt(), anyInt(), any()))
                 .thenReturn(ResponseEntity.ok(responseList));
 
         mockMvc.perform(get("/bookings/owner")
@@ -482,14 +530,14 @@ class BookingControllerValidationTest {
                 .andExpect(jsonPath("$[0].status").value("WAITING"))
                 .andExpect(jsonPath("$[0].bookerId").value(2L));
 
-        Mockito.verify(bookingClient, times(1)).getBookingsByOwner(1L, BookingState.WAITING);
+        Mockito.verify(bookingClient, times(1)).getBookingsByOwner(1L, BookingState.WAITING, 0, 20, null);
     }
 
     @Test
     void getBookingsByOwnerWithDefaultStateShouldCallClient() throws Exception {
         List<BookingDto> responseList = List.of();
 
-        Mockito.when(bookingClient.getBookingsByOwner(anyLong(), any(BookingState.class)))
+        Mockito.when(bookingClient.getBookingsByOwner(anyLong(), any(BookingState.class), anyInt(), anyInt(), any()))
                 .thenReturn(ResponseEntity.ok(responseList));
 
         mockMvc.perform(get("/bookings/owner")
@@ -498,7 +546,7 @@ class BookingControllerValidationTest {
                 .andExpect(jsonPath("$").isArray())
                 .andExpect(jsonPath("$.length()").value(0));
 
-        Mockito.verify(bookingClient, times(1)).getBookingsByOwner(1L, BookingState.ALL);
+        Mockito.verify(bookingClient, times(1)).getBookingsByOwner(1L, BookingState.ALL, 0, 20, null);
     }
 
     @Test
@@ -508,7 +556,7 @@ class BookingControllerValidationTest {
         List<BookingDto> responseList = List.of(bookingDto);
 
         for (BookingState state : BookingState.values()) {
-            Mockito.when(bookingClient.getBookingsByOwner(anyLong(), eq(state)))
+            Mockito.when(bookingClient.getBookingsByOwner(anyLong(), eq(state), anyInt(), anyInt(), any()))
                     .thenReturn(ResponseEntity.ok(responseList));
 
             mockMvc.perform(get("/bookings/owner")
@@ -516,7 +564,7 @@ class BookingControllerValidationTest {
                             .param("state", state.toString()))
                     .andExpect(status().isOk());
 
-            Mockito.verify(bookingClient, times(1)).getBookingsByOwner(1L, state);
+            Mockito.verify(bookingClient, times(1)).getBookingsByOwner(1L, state, 0, 20, null);
             Mockito.reset(bookingClient);
         }
     }
@@ -527,7 +575,7 @@ class BookingControllerValidationTest {
                 LocalDateTime.now().plusDays(2), 1L, 1L, BookingStatus.WAITING);
         List<BookingDto> responseList = List.of(bookingDto);
 
-        Mockito.when(bookingClient.getBookings(anyLong(), any(BookingState.class)))
+        Mockito.when(bookingClient.getBookings(anyLong(), any(BookingState.class), anyInt(), anyInt(), any()))
                 .thenReturn(ResponseEntity.ok(responseList));
 
         mockMvc.perform(get("/bookings")
@@ -538,7 +586,7 @@ class BookingControllerValidationTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].id").value(1L));
 
-        Mockito.verify(bookingClient, times(1)).getBookings(1L, BookingState.ALL);
+        Mockito.verify(bookingClient, times(1)).getBookings(1L, BookingState.ALL, 0, 10, null);
     }
 
     @Test
@@ -547,7 +595,7 @@ class BookingControllerValidationTest {
                 LocalDateTime.now().plusDays(2), 1L, 1L, BookingStatus.APPROVED);
         List<BookingDto> responseList = List.of(bookingDto);
 
-        Mockito.when(bookingClient.getBookingsByOwner(anyLong(), any(BookingState.class)))
+        Mockito.when(bookingClient.getBookingsByOwner(anyLong(), any(BookingState.class), anyInt(), anyInt(), any()))
                 .thenReturn(ResponseEntity.ok(responseList));
 
         mockMvc.perform(get("/bookings/owner")
@@ -558,14 +606,14 @@ class BookingControllerValidationTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].id").value(1L));
 
-        Mockito.verify(bookingClient, times(1)).getBookingsByOwner(1L, BookingState.CURRENT);
+        Mockito.verify(bookingClient, times(1)).getBookingsByOwner(1L, BookingState.CURRENT, 5, 20, null);
     }
 
     @Test
     void getBookingsEmptyResultShouldReturnEmptyList() throws Exception {
         List<BookingDto> responseList = List.of();
 
-        Mockito.when(bookingClient.getBookings(anyLong(), any(BookingState.class)))
+        Mockito.when(bookingClient.getBookings(anyLong(), any(BookingState.class), anyInt(), anyInt(), any()))
                 .thenReturn(ResponseEntity.ok(responseList));
 
         mockMvc.perform(get("/bookings")
@@ -575,14 +623,14 @@ class BookingControllerValidationTest {
                 .andExpect(jsonPath("$").isArray())
                 .andExpect(jsonPath("$.length()").value(0));
 
-        Mockito.verify(bookingClient, times(1)).getBookings(1L, BookingState.FUTURE);
+        Mockito.verify(bookingClient, times(1)).getBookings(1L, BookingState.FUTURE, 0, 20, null);
     }
 
     @Test
     void getBookingsByOwnerEmptyResultShouldReturnEmptyList() throws Exception {
         List<BookingDto> responseList = List.of();
 
-        Mockito.when(bookingClient.getBookingsByOwner(anyLong(), any(BookingState.class)))
+        Mockito.when(bookingClient.getBookingsByOwner(anyLong(), any(BookingState.class), anyInt(), anyInt(), any()))
                 .thenReturn(ResponseEntity.ok(responseList));
 
         mockMvc.perform(get("/bookings/owner")
@@ -592,6 +640,6 @@ class BookingControllerValidationTest {
                 .andExpect(jsonPath("$").isArray())
                 .andExpect(jsonPath("$.length()").value(0));
 
-        Mockito.verify(bookingClient, times(1)).getBookingsByOwner(1L, BookingState.PAST);
+        Mockito.verify(bookingClient, times(1)).getBookingsByOwner(1L, BookingState.PAST, 0, 20, null);
     }
 }
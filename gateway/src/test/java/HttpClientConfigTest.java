@@ -0,0 +1,108 @@
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.support.HttpAccessor;
+import org.springframework.web.client.RestTemplate;
+import shareit.ShareItGateway;
+import shareit.booking.BookingClient;
+import shareit.client.BaseClient;
+import shareit.client.ResponseCacheInterceptor;
+import shareit.client.SingleFlightInterceptor;
+import shareit.client.UpstreamMetricsInterceptor;
+import shareit.item.ItemClient;
+import shareit.request.ItemRequestClient;
+import shareit.user.UserClient;
+
+import java.lang.reflect.Field;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        classes = ShareItGateway.class,
+        properties = {
+                "shareit-server.client.max-connections=64",
+                "shareit-server.client.max-connections-per-route=32"
+        })
+class HttpClientConfigTest {
+    @Autowired
+    private ItemClient itemClient;
+
+    @Autowired
+    private BookingClient bookingClient;
+
+    @Autowired
+    private UserClient userClient;
+
+    @Autowired
+    private ItemRequestClient itemRequestClient;
+
+    @Autowired
+    private ClientHttpRequestFactory shareitServerRequestFactory;
+
+    @Autowired
+    private PoolingHttpClientConnectionManager connectionManager;
+
+    @Autowired
+    private ResponseCacheInterceptor responseCacheInterceptor;
+
+    @Autowired
+    private SingleFlightInterceptor singleFlightInterceptor;
+
+    @Test
+    void allClientsShareOnePooledRequestFactory() {
+        Stream.of(itemClient, bookingClient, userClient, itemRequestClient)
+                .map(HttpClientConfigTest::restTemplate)
+                .forEach(rest -> assertThat(requestFactory(rest)).isSameAs(shareitServerRequestFactory));
+    }
+
+    @Test
+    void allClientsRecordUpstreamMetrics() {
+        Stream.of(itemClient, bookingClient, userClient, itemRequestClient)
+                .map(HttpClientConfigTest::restTemplate)
+                .forEach(rest -> assertThat(rest.getInterceptors())
+                        .hasAtLeastOneElementOfType(UpstreamMetricsInterceptor.class));
+    }
+
+    @Test
+    void allClientsShareResponseCacheAndSingleFlightInFrontOfUpstreamMetrics() {
+        Stream.of(itemClient, bookingClient, userClient, itemRequestClient)
+                .map(HttpClientConfigTest::restTemplate)
+                .forEach(rest -> {
+                    assertThat(rest.getInterceptors().getFirst()).isSameAs(responseCacheInterceptor);
+                    assertThat(rest.getInterceptors().get(1)).isSameAs(singleFlightInterceptor);
+                    assertThat(rest.getInterceptors().get(2)).isInstanceOf(UpstreamMetricsInterceptor.class);
+                });
+    }
+
+    @Test
+    void poolLimitsComeFromProperties() {
+        assertThat(connectionManager.getMaxTotal()).isEqualTo(64);
+        assertThat(connectionManager.getDefaultMaxPerRoute()).isEqualTo(32);
+    }
+
+    /**
+     * Фабрика, на которую RestTemplate оборачивает перехватчики: getRequestFactory() вернул бы обёртку.
+     */
+    private static ClientHttpRequestFactory requestFactory(RestTemplate rest) {
+        try {
+            Field field = HttpAccessor.class.getDeclaredField("requestFactory");
+            field.setAccessible(true);
+            return (ClientHttpRequestFactory) field.get(rest);
+        } catch (NoSuchFieldException | IllegalAccessException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static RestTemplate restTemplate(BaseClient client) {
+        try {
+            Field field = BaseClient.class.getDeclaredField("rest");
+            field.setAccessible(true);
+            return (RestTemplate) field.get(client);
+        } catch (NoSuchFieldException | IllegalAccessException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
@@ -6,6 +6,7 @@ import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -17,6 +18,7 @@ import shareit.item.dto.CommentDto;
 import shareit.item.dto.ItemDto;
 
 import java.lang.reflect.Field;
+import java.util.List;
 import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -57,7 +59,29 @@ class ItemClientTest {
                                 httpEntity.getHeaders().containsKey("X-Sharer-User-Id") &&
                                 httpEntity.getBody() == itemDto
                 ),
-                eq(Object.class)
+                eq(byte[].class)
+        );
+    }
+
+    @Test
+    void addItemsShouldCallBatchEndpoint() {
+        List<ItemDto> itemDtos = List.of(createItemDto());
+
+        try {
+            itemClient.addItems(1L, itemDtos);
+        } catch (Exception ignored) {
+
+        }
+
+        verify(restTemplate).exchange(
+                eq("/batch"),
+                eq(HttpMethod.POST),
+                argThat(httpEntity ->
+                        httpEntity != null &&
+                                httpEntity.getHeaders().containsKey("X-Sharer-User-Id") &&
+                                httpEntity.getBody() == itemDtos
+                ),
+                eq(byte[].class)
         );
     }
 
@@ -81,7 +105,7 @@ class ItemClientTest {
                                 httpEntity.getHeaders().containsKey("X-Sharer-User-Id") &&
                                 httpEntity.getBody() == itemDto
                 ),
-                eq(Object.class)
+                eq(byte[].class)
         );
     }
 
@@ -91,7 +115,7 @@ class ItemClientTest {
         long itemId = 1L;
 
         try {
-            itemClient.getItemWithDateById(userId, itemId);
+            itemClient.getItemWithDateById(userId, itemId, null);
         } catch (Exception ignored) {
 
         }
@@ -103,7 +127,7 @@ class ItemClientTest {
                         httpEntity != null &&
                                 httpEntity.getHeaders().containsKey("X-Sharer-User-Id")
                 ),
-                eq(Object.class)
+                eq(byte[].class)
         );
     }
 
@@ -124,7 +148,7 @@ class ItemClientTest {
                         httpEntity != null &&
                                 httpEntity.getHeaders().containsKey("X-Sharer-User-Id")
                 ),
-                eq(Object.class)
+                eq(byte[].class)
         );
     }
 
@@ -134,20 +158,20 @@ class ItemClientTest {
         String text = "test";
 
         try {
-            itemClient.searchItem(userId, text);
+            itemClient.searchItem(userId, text, 0, 20);
         } catch (Exception ignored) {
 
         }
 
         verify(restTemplate).exchange(
-                eq("/search?text={text}"),
+                eq("/search?text={text}&from={from}&size={size}"),
                 eq(HttpMethod.GET),
                 argThat(httpEntity ->
                         httpEntity != null &&
                                 httpEntity.getHeaders().containsKey("X-Sharer-User-Id")
                 ),
-                eq(Object.class),
-                eq(Map.of("text", "test"))
+                eq(byte[].class),
+                eq(Map.of("text", "test", "from", 0, "size", 20))
         );
     }
 
@@ -157,17 +181,17 @@ class ItemClientTest {
         String text = "";
 
         try {
-            itemClient.searchItem(userId, text);
+            itemClient.searchItem(userId, text, 0, 20);
         } catch (Exception ignored) {
 
         }
 
         verify(restTemplate).exchange(
-                eq("/search?text={text}"),
+                eq("/search?text={text}&from={from}&size={size}"),
                 eq(HttpMethod.GET),
                 any(HttpEntity.class),
-                eq(Object.class),
-                eq(Map.of("text", ""))
+                eq(byte[].class),
+                eq(Map.of("text", "", "from", 0, "size", 20))
         );
     }
 
@@ -191,7 +215,7 @@ class ItemClientTest {
                                 httpEntity.getHeaders().containsKey("X-Sharer-User-Id") &&
                                 httpEntity.getBody() == commentDto
                 ),
-                eq(Object.class)
+                eq(byte[].class)
         );
     }
 
@@ -214,13 +238,13 @@ class ItemClientTest {
         when(exception.getStatusCode()).thenReturn(HttpStatus.BAD_REQUEST);
         when(exception.getResponseBodyAsByteArray()).thenReturn("Error message".getBytes());
 
-        when(restTemplate.exchange(anyString(), eq(HttpMethod.POST), any(HttpEntity.class), eq(Object.class)))
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.POST), any(HttpEntity.class), eq(byte[].class)))
                 .thenThrow(exception);
 
         ResponseEntity<Object> result = itemClient.addItem(userId, itemDto);
 
         assertThat(result.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
-        verify(restTemplate).exchange(eq(""), eq(HttpMethod.POST), any(HttpEntity.class), eq(Object.class));
+        verify(restTemplate).exchange(eq(""), eq(HttpMethod.POST), any(HttpEntity.class), eq(byte[].class));
     }
 
     @Test
@@ -233,13 +257,32 @@ class ItemClientTest {
         when(exception.getStatusCode()).thenReturn(HttpStatus.NOT_FOUND);
         when(exception.getResponseBodyAsByteArray()).thenReturn("Not found".getBytes());
 
-        when(restTemplate.exchange(anyString(), eq(HttpMethod.PATCH), any(HttpEntity.class), eq(Object.class)))
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.PATCH), any(HttpEntity.class), eq(byte[].class)))
                 .thenThrow(exception);
 
         ResponseEntity<Object> result = itemClient.updateItem(userId, itemId, itemDto);
 
         assertThat(result.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
-        verify(restTemplate).exchange(eq("/1"), eq(HttpMethod.PATCH), any(HttpEntity.class), eq(Object.class));
+        verify(restTemplate).exchange(eq("/1"), eq(HttpMethod.PATCH), any(HttpEntity.class), eq(byte[].class));
+    }
+
+    @Test
+    void getItemWithDateByIdShouldForwardIfNoneMatchAndReturnNotModified() {
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class), eq(byte[].class)))
+                .thenReturn(ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag("\"v1\"").build());
+
+        ResponseEntity<Object> result = itemClient.getItemWithDateById(1L, 1L, "\"v1\"");
+
+        assertThat(result.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(result.getHeaders().getETag()).isEqualTo("\"v1\"");
+        assertThat(result.hasBody()).isFalse();
+        verify(restTemplate).exchange(
+                eq("/1"),
+                eq(HttpMethod.GET),
+                argThat(httpEntity -> httpEntity != null
+                        && "\"v1\"".equals(httpEntity.getHeaders().getFirst(HttpHeaders.IF_NONE_MATCH))),
+                eq(byte[].class)
+        );
     }
 
     @Test
@@ -251,13 +294,13 @@ class ItemClientTest {
         when(exception.getStatusCode()).thenReturn(HttpStatus.NOT_FOUND);
         when(exception.getResponseBodyAsByteArray()).thenReturn("Not found".getBytes());
 
-        when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class), eq(Object.class)))
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class), eq(byte[].class)))
                 .thenThrow(exception);
 
-        ResponseEntity<Object> result = itemClient.getItemWithDateById(userId, itemId);
+        ResponseEntity<Object> result = itemClient.getItemWithDateById(userId, itemId, null);
 
         assertThat(result.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
-        verify(restTemplate).exchange(eq("/1"), eq(HttpMethod.GET), any(HttpEntity.class), eq(Object.class));
+        verify(restTemplate).exchange(eq("/1"), eq(HttpMethod.GET), any(HttpEntity.class), eq(byte[].class));
     }
 
     @Test
@@ -268,13 +311,13 @@ class ItemClientTest {
         when(exception.getStatusCode()).thenReturn(HttpStatus.INTERNAL_SERVER_ERROR);
         when(exception.getResponseBodyAsByteArray()).thenReturn("Server error".getBytes());
 
-        when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class), eq(Object.class)))
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class), eq(byte[].class)))
                 .thenThrow(exception);
 
         ResponseEntity<Object> result = itemClient.getItems(userId);
 
         assertThat(result.getStatusCode()).isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR);
-        verify(restTemplate).exchange(eq(""), eq(HttpMethod.GET), any(HttpEntity.class), eq(Object.class));
+        verify(restTemplate).exchange(eq(""), eq(HttpMethod.GET), any(HttpEntity.class), eq(byte[].class));
     }
 
     @Test
@@ -286,13 +329,13 @@ class ItemClientTest {
         when(exception.getStatusCode()).thenReturn(HttpStatus.BAD_REQUEST);
         when(exception.getResponseBodyAsByteArray()).thenReturn("Bad request".getBytes());
 
-        when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class), eq(Object.class), anyMap()))
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class), eq(byte[].class), anyMap()))
                 .thenThrow(exception);
 
-        ResponseEntity<Object> result = itemClient.searchItem(userId, text);
+        ResponseEntity<Object> result = itemClient.searchItem(userId, text, 0, 20);
 
         assertThat(result.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
-        verify(restTemplate).exchange(eq("/search?text={text}"), eq(HttpMethod.GET), any(HttpEntity.class), eq(Object.class), eq(Map.of("text", "test")));
+        verify(restTemplate).exchange(eq("/search?text={text}&from={from}&size={size}"), eq(HttpMethod.GET), any(HttpEntity.class), eq(byte[].class), eq(Map.of("text", "test", "from", 0, "size", 20)));
     }
 
     @Test
@@ -305,13 +348,13 @@ class ItemClientTest {
         when(exception.getStatusCode()).thenReturn(HttpStatus.BAD_REQUEST);
         when(exception.getResponseBodyAsByteArray()).thenReturn("Invalid comment".getBytes());
 
-        when(restTemplate.exchange(anyString(), eq(HttpMethod.POST), any(HttpEntity.class), eq(Object.class)))
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.POST), any(HttpEntity.class), eq(byte[].class)))
                 .thenThrow(exception);
 
         ResponseEntity<Object> result = itemClient.addComment(userId, itemId, commentDto);
 
         assertThat(result.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
-        verify(restTemplate).exchange(eq("/1/comment"), eq(HttpMethod.POST), any(HttpEntity.class), eq(Object.class));
+        verify(restTemplate).exchange(eq("/1/comment"), eq(HttpMethod.POST), any(HttpEntity.class), eq(byte[].class));
     }
 
     @Test
@@ -320,17 +363,17 @@ class ItemClientTest {
         String text = "test&search";
 
         try {
-            itemClient.searchItem(userId, text);
+            itemClient.searchItem(userId, text, 0, 20);
         } catch (Exception ignored) {
 
         }
 
         verify(restTemplate).exchange(
-                eq("/search?text={text}"),
+                eq("/search?text={text}&from={from}&size={size}"),
                 eq(HttpMethod.GET),
                 any(HttpEntity.class),
-                eq(Object.class),
-                eq(Map.of("text", "test&search"))
+                eq(byte[].class),
+                eq(Map.of("text", "test&search", "from", 0, "size", 20))
         );
     }
 
@@ -353,7 +396,7 @@ class ItemClientTest {
                         httpEntity != null &&
                                 httpEntity.getHeaders().containsKey("X-Sharer-User-Id")
                 ),
-                eq(Object.class)
+                eq(byte[].class)
         );
     }
 
@@ -376,7 +419,7 @@ class ItemClientTest {
                         httpEntity != null &&
                                 httpEntity.getHeaders().containsKey("X-Sharer-User-Id")
                 ),
-                eq(Object.class)
+                eq(byte[].class)
         );
     }
 
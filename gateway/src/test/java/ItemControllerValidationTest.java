@@ -4,6 +4,7 @@ import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -23,6 +24,8 @@ import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -39,6 +42,46 @@ class ItemControllerValidationTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Test
+    void addItemsWhenOneRowIsInvalid() throws Exception {
+        List<ItemDto> itemDtos = List.of(
+                new ItemDto(null, "Drill", "Powerful drill", null, true, null),
+                new ItemDto(null, "Saw", "Sharp saw", null, null, null));
+
+        mockMvc.perform(post("/items/batch")
+                        .header("X-Sharer-User-Id", 1)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(itemDtos)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value(containsString("Статус доступности вещи не может быть пустым")));
+
+        Mockito.verify(itemClient, never()).addItems(anyLong(), anyList());
+    }
+
+    @Test
+    void addItemsWhenBatchIsEmpty() throws Exception {
+        mockMvc.perform(post("/items/batch")
+                        .header("X-Sharer-User-Id", 1)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value(containsString("Пакет вещей не может быть пустым")));
+    }
+
+    @Test
+    void addItemsWhenBatchIsValid() throws Exception {
+        List<ItemDto> itemDtos = List.of(new ItemDto(null, "Drill", "Powerful drill", null, true, null));
+        Mockito.when(itemClient.addItems(anyLong(), anyList())).thenReturn(ResponseEntity.ok().build());
+
+        mockMvc.perform(post("/items/batch")
+                        .header("X-Sharer-User-Id", 1)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(itemDtos)))
+                .andExpect(status().isOk());
+
+        Mockito.verify(itemClient, times(1)).addItems(1L, itemDtos);
+    }
+
     @Test
     void createItemWhenNameIsBlank() throws Exception {
         ItemDto invalidDto = new ItemDto(null, "   ", "Description", null, true, null);
@@ -173,6 +216,28 @@ class ItemControllerValidationTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    void searchItemsWithNegativeFrom() throws Exception {
+        mockMvc.perform(get("/items/search")
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("text", "drill")
+                        .param("from", "-1"))
+                .andExpect(status().isBadRequest());
+
+        Mockito.verify(itemClient, never()).searchItem(anyLong(), anyString(), anyInt(), anyInt());
+    }
+
+    @Test
+    void searchItemsWithTooLargeSize() throws Exception {
+        mockMvc.perform(get("/items/search")
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("text", "drill")
+                        .param("size", "101"))
+                .andExpect(status().isBadRequest());
+
+        Mockito.verify(itemClient, never()).searchItem(anyLong(), anyString(), anyInt(), anyInt());
+    }
+
     @Test
     void addCommentWhenUserIdIsNegative() throws Exception {
         CommentDto validDto = new CommentDto(null, "Comment", "Author", LocalDateTime.now());
@@ -239,7 +304,7 @@ class ItemControllerValidationTest {
     void getItemWithDateByIdWithValidIds() throws Exception {
         ItemDto responseDto = new ItemDto(1L, "Drill", "Powerful drill", null, true, null);
 
-        Mockito.when(itemClient.getItemWithDateById(anyLong(), anyLong()))
+        Mockito.when(itemClient.getItemWithDateById(anyLong(), anyLong(), any()))
                 .thenReturn(ResponseEntity.ok(responseDto));
 
         mockMvc.perform(get("/items/1")
@@ -248,7 +313,22 @@ class ItemControllerValidationTest {
                 .andExpect(jsonPath("$.id").value(1L))
                 .andExpect(jsonPath("$.name").value("Drill"));
 
-        Mockito.verify(itemClient, times(1)).getItemWithDateById(1L, 1L);
+        Mockito.verify(itemClient, times(1)).getItemWithDateById(1L, 1L, null);
+    }
+
+    @Test
+    void getItemWithDateByIdShouldPassNotModifiedThrough() throws Exception {
+        Mockito.when(itemClient.getItemWithDateById(anyLong(), anyLong(), any()))
+                .thenReturn(ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag("\"v1\"").build());
+
+        mockMvc.perform(get("/items/1")
+                        .header("X-Sharer-User-Id", 1L)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"v1\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"v1\""))
+                .andExpect(content().string(""));
+
+        Mockito.verify(itemClient, times(1)).getItemWithDateById(1L, 1L, "\"v1\"");
     }
 
     @Test
@@ -278,7 +358,7 @@ class ItemControllerValidationTest {
                 new ItemDto(1L, "Power Drill", "Very powerful", null, true, null)
         );
 
-        Mockito.when(itemClient.searchItem(anyLong(), anyString()))
+        Mockito.when(itemClient.searchItem(anyLong(), anyString(), anyInt(), anyInt()))
                 .thenReturn(ResponseEntity.ok(responseList));
 
         mockMvc.perform(get("/items/search")
@@ -289,7 +369,7 @@ class ItemControllerValidationTest {
                 .andExpect(jsonPath("$.length()").value(1))
                 .andExpect(jsonPath("$[0].name").value("Power Drill"));
 
-        Mockito.verify(itemClient, times(1)).searchItem(1L, "drill");
+        Mockito.verify(itemClient, times(1)).searchItem(1L, "drill", 0, 20);
     }
 
     @Test
@@ -301,7 +381,7 @@ class ItemControllerValidationTest {
                 .andExpect(jsonPath("$").isArray())
                 .andExpect(jsonPath("$.length()").value(0));
 
-        Mockito.verify(itemClient, never()).searchItem(anyLong(), anyString());
+        Mockito.verify(itemClient, never()).searchItem(anyLong(), anyString(), anyInt(), anyInt());
     }
 
     @Test
@@ -313,7 +393,7 @@ class ItemControllerValidationTest {
                 .andExpect(jsonPath("$").isArray())
                 .andExpect(jsonPath("$.length()").value(0));
 
-        Mockito.verify(itemClient, never()).searchItem(anyLong(), anyString());
+        Mockito.verify(itemClient, never()).searchItem(anyLong(), anyString(), anyInt(), anyInt());
     }
 
     @Test
@@ -454,7 +534,7 @@ class ItemControllerValidationTest {
     void getItemWithDateByIdShouldCallClient() throws Exception {
         ItemDto responseDto = new ItemDto(1L, "Drill", "Powerful drill", null, true, null);
 
-        Mockito.when(itemClient.getItemWithDateById(anyLong(), anyLong()))
+        Mockito.when(itemClient.getItemWithDateById(anyLong(), anyLong(), any()))
                 .thenReturn(ResponseEntity.ok(responseDto));
 
         mockMvc.perform(get("/items/1")
@@ -464,7 +544,7 @@ class ItemControllerValidationTest {
                 .andExpect(jsonPath("$.name").value("Drill"))
                 .andExpect(jsonPath("$.available").value(true));
 
-        Mockito.verify(itemClient, times(1)).getItemWithDateById(1L, 1L);
+        Mockito.verify(itemClient, times(1)).getItemWithDateById(1L, 1L, null);
     }
 
     @Test
@@ -510,7 +590,7 @@ class ItemControllerValidationTest {
         ItemDto item1 = new ItemDto(1L, "Power Drill", "Very powerful", null, true, null);
         List<ItemDto> responseList = List.of(item1);
 
-        Mockito.when(itemClient.searchItem(anyLong(), anyString()))
+        Mockito.when(itemClient.searchItem(anyLong(), anyString(), anyInt(), anyInt()))
                 .thenReturn(ResponseEntity.ok(responseList));
 
         mockMvc.perform(get("/items/search")
@@ -522,14 +602,14 @@ class ItemControllerValidationTest {
                 .andExpect(jsonPath("$[0].id").value(1L))
                 .andExpect(jsonPath("$[0].name").value("Power Drill"));
 
-        Mockito.verify(itemClient, times(1)).searchItem(1L, "drill");
+        Mockito.verify(itemClient, times(1)).searchItem(1L, "drill", 0, 20);
     }
 
     @Test
     void searchItemsEmptyResultShouldReturnEmptyList() throws Exception {
         List<ItemDto> responseList = List.of();
 
-        Mockito.when(itemClient.searchItem(anyLong(), anyString()))
+        Mockito.when(itemClient.searchItem(anyLong(), anyString(), anyInt(), anyInt()))
                 .thenReturn(ResponseEntity.ok(responseList));
 
         mockMvc.perform(get("/items/search")
@@ -539,7 +619,7 @@ class ItemControllerValidationTest {
                 .andExpect(jsonPath("$").isArray())
                 .andExpect(jsonPath("$.length()").value(0));
 
-        Mockito.verify(itemClient, times(1)).searchItem(1L, "nonexistent");
+        Mockito.verify(itemClient, times(1)).searchItem(1L, "nonexistent", 0, 20);
     }
 
     @Test
@@ -605,7 +685,7 @@ class ItemControllerValidationTest {
         ItemDto item1 = new ItemDto(1L, "Power Drill", "Very powerful", null, true, null);
         List<ItemDto> responseList = List.of(item1);
 
-        Mockito.when(itemClient.searchItem(anyLong(), anyString()))
+        Mockito.when(itemClient.searchItem(anyLong(), anyString(), anyInt(), anyInt()))
                 .thenReturn(ResponseEntity.ok(responseList));
 
         mockMvc.perform(get("/items/search")
@@ -616,7 +696,7 @@ class ItemControllerValidationTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.length()").value(1));
 
-        Mockito.verify(itemClient, times(1)).searchItem(1L, "drill");
+        Mockito.verify(itemClient, times(1)).searchItem(1L, "drill", 5, 10);
     }
 
     @Test
@@ -641,7 +721,7 @@ class ItemControllerValidationTest {
     void getItemWithDateByIdForDifferentUserShouldCallClient() throws Exception {
         ItemDto responseDto = new ItemDto(1L, "Drill", "Powerful drill", null, true, null);
 
-        Mockito.when(itemClient.getItemWithDateById(anyLong(), anyLong()))
+        Mockito.when(itemClient.getItemWithDateById(anyLong(), anyLong(), any()))
                 .thenReturn(ResponseEntity.ok(responseDto));
 
         mockMvc.perform(get("/items/1")
@@ -649,7 +729,7 @@ class ItemControllerValidationTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.id").value(1L));
 
-        Mockito.verify(itemClient, times(1)).getItemWithDateById(999L, 1L);
+        Mockito.verify(itemClient, times(1)).getItemWithDateById(999L, 1L, null);
     }
 
     @Test
@@ -16,6 +16,7 @@ import shareit.request.ItemRequestClient;
 import shareit.request.dto.ItemRequestDto;
 
 import java.lang.reflect.Field;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.*;
@@ -55,7 +56,7 @@ class ItemRequestClientTest {
                                 httpEntity.getHeaders().containsKey("X-Sharer-User-Id") &&
                                 httpEntity.getBody() == itemRequestDto
                 ),
-                eq(Object.class)
+                eq(byte[].class)
         );
     }
 
@@ -76,7 +77,7 @@ class ItemRequestClientTest {
                         httpEntity != null &&
                                 httpEntity.getHeaders().containsKey("X-Sharer-User-Id")
                 ),
-                eq(Object.class)
+                eq(byte[].class)
         );
     }
 
@@ -85,19 +86,37 @@ class ItemRequestClientTest {
         long userId = 1L;
 
         try {
-            itemRequestClient.getAllItemRequests(userId);
+            itemRequestClient.getAllItemRequests(userId, 0, 20, null);
         } catch (Exception ignored) {
 
         }
 
         verify(restTemplate).exchange(
-                eq("/all"),
+                eq("/all?from={from}&size={size}"),
                 eq(HttpMethod.GET),
                 argThat(httpEntity ->
                         httpEntity != null &&
                                 httpEntity.getHeaders().containsKey("X-Sharer-User-Id")
                 ),
-                eq(Object.class)
+                eq(byte[].class),
+                eq(Map.of("from", 0, "size", 20))
+        );
+    }
+
+    @Test
+    void getAllItemRequestsWithCursorShouldPassCursor() {
+        try {
+            itemRequestClient.getAllItemRequests(1L, 0, 5, "cursor");
+        } catch (Exception ignored) {
+
+        }
+
+        verify(restTemplate).exchange(
+                eq("/all?from={from}&size={size}&cursor={cursor}"),
+                eq(HttpMethod.GET),
+                any(HttpEntity.class),
+                eq(byte[].class),
+                eq(Map.of("from", 0, "size", 5, "cursor", "cursor"))
         );
     }
 
@@ -107,7 +126,7 @@ class ItemRequestClientTest {
         long requestId = 1L;
 
         try {
-            itemRequestClient.getItemRequestById(userId, requestId);
+            itemRequestClient.getItemRequestById(userId, requestId, null);
         } catch (Exception ignored) {
 
         }
@@ -119,7 +138,7 @@ class ItemRequestClientTest {
                         httpEntity != null &&
                                 httpEntity.getHeaders().containsKey("X-Sharer-User-Id")
                 ),
-                eq(Object.class)
+                eq(byte[].class)
         );
     }
 
@@ -132,7 +151,7 @@ class ItemRequestClientTest {
         when(exception.getStatusCode()).thenReturn(HttpStatus.BAD_REQUEST);
         when(exception.getResponseBodyAsByteArray()).thenReturn("Invalid request".getBytes());
 
-        when(restTemplate.exchange(anyString(), eq(HttpMethod.POST), any(HttpEntity.class), eq(Object.class)))
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.POST), any(HttpEntity.class), eq(byte[].class)))
                 .thenThrow(exception);
 
         ResponseEntity<Object> result = itemRequestClient.addItemRequest(userId, itemRequestDto);
@@ -149,10 +168,10 @@ class ItemRequestClientTest {
         when(exception.getStatusCode()).thenReturn(HttpStatus.NOT_FOUND);
         when(exception.getResponseBodyAsByteArray()).thenReturn("Request not found".getBytes());
 
-        when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class), eq(Object.class)))
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class), eq(byte[].class)))
                 .thenThrow(exception);
 
-        ResponseEntity<Object> result = itemRequestClient.getItemRequestById(userId, requestId);
+        ResponseEntity<Object> result = itemRequestClient.getItemRequestById(userId, requestId, null);
 
         assertThat(result.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
     }
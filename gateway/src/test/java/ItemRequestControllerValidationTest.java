@@ -198,7 +198,7 @@ class ItemRequestControllerValidationTest {
                 new ItemRequestDto(3L, "Need a ladder", requestor1, LocalDateTime.now().minusHours(3))
         );
 
-        Mockito.when(itemRequestClient.getAllItemRequests(anyLong()))
+        Mockito.when(itemRequestClient.getAllItemRequests(anyLong(), anyInt(), anyInt(), any()))
                 .thenReturn(ResponseEntity.ok(responseList));
 
         mockMvc.perform(get("/requests/all")
@@ -210,7 +210,7 @@ class ItemRequestControllerValidationTest {
                 .andExpect(jsonPath("$[1].id").value(2L))
                 .andExpect(jsonPath("$[2].id").value(3L));
 
-        Mockito.verify(itemRequestClient, times(1)).getAllItemRequests(1L);
+        Mockito.verify(itemRequestClient, times(1)).getAllItemRequests(1L, 0, 20, null);
     }
 
     @Test
@@ -218,7 +218,7 @@ class ItemRequestControllerValidationTest {
         UserDto requestor = new UserDto(1L, "John Doe", "john@example.com");
         ItemRequestDto responseDto = new ItemRequestDto(1L, "Need a power drill", requestor, LocalDateTime.now().minusDays(1));
 
-        Mockito.when(itemRequestClient.getItemRequestById(anyLong(), anyLong()))
+        Mockito.when(itemRequestClient.getItemRequestById(anyLong(), anyLong(), any()))
                 .thenReturn(ResponseEntity.ok(responseDto));
 
         mockMvc.perform(get("/requests/1")
@@ -229,7 +229,7 @@ class ItemRequestControllerValidationTest {
                 .andExpect(jsonPath("$.requestor.id").value(1L))
                 .andExpect(jsonPath("$.requestor.name").value("John Doe"));
 
-        Mockito.verify(itemRequestClient, times(1)).getItemRequestById(1L, 1L);
+        Mockito.verify(itemRequestClient, times(1)).getItemRequestById(1L, 1L, null);
     }
 
     @Test
@@ -248,7 +248,7 @@ class ItemRequestControllerValidationTest {
 
     @Test
     void getAllItemRequestsWhenNoRequests() throws Exception {
-        Mockito.when(itemRequestClient.getAllItemRequests(anyLong()))
+        Mockito.when(itemRequestClient.getAllItemRequests(anyLong(), anyInt(), anyInt(), any()))
                 .thenReturn(ResponseEntity.ok(List.of()));
 
         mockMvc.perform(get("/requests/all")
@@ -257,7 +257,7 @@ class ItemRequestControllerValidationTest {
                 .andExpect(jsonPath("$").isArray())
                 .andExpect(jsonPath("$.length()").value(0));
 
-        Mockito.verify(itemRequestClient, times(1)).getAllItemRequests(1L);
+        Mockito.verify(itemRequestClient, times(1)).getAllItemRequests(1L, 0, 20, null);
     }
 
     @Test
@@ -489,7 +489,7 @@ class ItemRequestControllerValidationTest {
         ItemRequestDto request2 = new ItemRequestDto(2L, "Need a hammer", requestor2, LocalDateTime.now());
         List<ItemRequestDto> responseList = List.of(request1, request2);
 
-        Mockito.when(itemRequestClient.getAllItemRequests(anyLong()))
+        Mockito.when(itemRequestClient.getAllItemRequests(anyLong(), anyInt(), anyInt(), any()))
                 .thenReturn(ResponseEntity.ok(responseList));
 
         mockMvc.perform(get("/requests/all")
@@ -503,14 +503,14 @@ class ItemRequestControllerValidationTest {
                 .andExpect(jsonPath("$[1].id").value(2L))
                 .andExpect(jsonPath("$[1].requestor.id").value(2L));
 
-        Mockito.verify(itemRequestClient, times(1)).getAllItemRequests(1L);
+        Mockito.verify(itemRequestClient, times(1)).getAllItemRequests(1L, 0, 20, null);
     }
 
     @Test
     void getAllItemRequestsEmptyResultShouldReturnEmptyList() throws Exception {
         List<ItemRequestDto> responseList = List.of();
 
-        Mockito.when(itemRequestClient.getAllItemRequests(anyLong()))
+        Mockito.when(itemRequestClient.getAllItemRequests(anyLong(), anyInt(), anyInt(), any()))
                 .thenReturn(ResponseEntity.ok(responseList));
 
         mockMvc.perform(get("/requests/all")
@@ -519,7 +519,7 @@ class ItemRequestControllerValidationTest {
                 .andExpect(jsonPath("$").isArray())
                 .andExpect(jsonPath("$.length()").value(0));
 
-        Mockito.verify(itemRequestClient, times(1)).getAllItemRequests(1L);
+        Mockito.verify(itemRequestClient, times(1)).getAllItemRequests(1L, 0, 20, null);
     }
 
     @Test
@@ -528,7 +528,35 @@ class ItemRequestControllerValidationTest {
                         .header("X-Sharer-User-Id", 0L))
                 .andExpect(status().isBadRequest());
 
-        Mockito.verify(itemRequestClient, never()).getAllItemRequests(anyLong());
+        Mockito.verify(itemRequestClient, never()).getAllItemRequests(anyLong(), anyInt(), anyInt(), any());
+    }
+
+    @Test
+    void getAllItemRequestsShouldPassPageAndCursor() throws Exception {
+        Mockito.when(itemRequestClient.getAllItemRequests(anyLong(), anyInt(), anyInt(), any()))
+                .thenReturn(ResponseEntity.ok(List.of()));
+
+        mockMvc.perform(get("/requests/all")
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("size", "5")
+                        .param("cursor", "abc"))
+                .andExpect(status().isOk());
+
+        Mockito.verify(itemRequestClient, times(1)).getAllItemRequests(1L, 0, 5, "abc");
+    }
+
+    @Test
+    void getAllItemRequestsWithInvalidPageShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/requests/all")
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("from", "-1"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/requests/all")
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("size", "101"))
+                .andExpect(status().isBadRequest());
+
+        Mockito.verify(itemRequestClient, never()).getAllItemRequests(anyLong(), anyInt(), anyInt(), any());
     }
 
     @Test
@@ -536,7 +564,7 @@ class ItemRequestControllerValidationTest {
         UserDto requestor = new UserDto(1L, "John Doe", "john@example.com");
         ItemRequestDto responseDto = new ItemRequestDto(1L, "Need a power drill", requestor, LocalDateTime.now());
 
-        Mockito.when(itemRequestClient.getItemRequestById(anyLong(), anyLong()))
+        Mockito.when(itemRequestClient.getItemRequestById(anyLong(), anyLong(), any()))
                 .thenReturn(ResponseEntity.ok(responseDto));
 
         mockMvc.perform(get("/requests/1")
@@ -547,7 +575,7 @@ class ItemRequestControllerValidationTest {
                 .andExpect(jsonPath("$.requestor.id").value(1L))
                 .andExpect(jsonPath("$.requestor.name").value("John Doe"));
 
-        Mockito.verify(itemRequestClient, times(1)).getItemRequestById(1L, 1L);
+        Mockito.verify(itemRequestClient, times(1)).getItemRequestById(1L, 1L, null);
     }
 
     @Test
@@ -556,7 +584,7 @@ class ItemRequestControllerValidationTest {
                         .header("X-Sharer-User-Id", 0L))
                 .andExpect(status().isBadRequest());
 
-        Mockito.verify(itemRequestClient, never()).getItemRequestById(anyLong(), anyLong());
+        Mockito.verify(itemRequestClient, never()).getItemRequestById(anyLong(), anyLong(), any());
     }
 
     @Test
@@ -565,7 +593,7 @@ class ItemRequestControllerValidationTest {
                         .header("X-Sharer-User-Id", 1L))
                 .andExpect(status().isBadRequest());
 
-        Mockito.verify(itemRequestClient, never()).getItemRequestById(anyLong(), anyLong());
+        Mockito.verify(itemRequestClient, never()).getItemRequestById(anyLong(), anyLong(), any());
     }
 
     @Test
@@ -574,19 +602,19 @@ class ItemRequestControllerValidationTest {
                         .header("X-Sharer-User-Id", 1L))
                 .andExpect(status().isBadRequest());
 
-        Mockito.verify(itemRequestClient, never()).getItemRequestById(anyLong(), anyLong());
+        Mockito.verify(itemRequestClient, never()).getItemRequestById(anyLong(), anyLong(), any());
     }
 
     @Test
     void getItemRequestByIdNotFoundShouldReturnClientResponse() throws Exception {
-        Mockito.when(itemRequestClient.getItemRequestById(anyLong(), anyLong()))
+        Mockito.when(itemRequestClient.getItemRequestById(anyLong(), anyLong(), any()))
                 .thenReturn(ResponseEntity.status(HttpStatus.NOT_FOUND).build());
 
         mockMvc.perform(get("/requests/999")
                         .header("X-Sharer-User-Id", 1L))
                 .andExpect(status().isNotFound());
 
-        Mockito.verify(itemRequestClient, times(1)).getItemRequestById(1L, 999L);
+        Mockito.verify(itemRequestClient, times(1)).getItemRequestById(1L, 999L, null);
     }
 
     @Test
@@ -626,14 +654,14 @@ class ItemRequestControllerValidationTest {
     void getAllItemRequestsWithDifferentUserShouldCallClient() throws Exception {
         List<ItemRequestDto> responseList = List.of();
 
-        Mockito.when(itemRequestClient.getAllItemRequests(anyLong()))
+        Mockito.when(itemRequestClient.getAllItemRequests(anyLong(), anyInt(), anyInt(), any()))
                 .thenReturn(ResponseEntity.ok(responseList));
 
         mockMvc.perform(get("/requests/all")
                         .header("X-Sharer-User-Id", 999L))
                 .andExpect(status().isOk());
 
-        Mockito.verify(itemRequestClient, times(1)).getAllItemRequests(999L);
+        Mockito.verify(itemRequestClient, times(1)).getAllItemRequests(999L, 0, 20, null);
     }
 
     @Test
@@ -641,7 +669,7 @@ class ItemRequestControllerValidationTest {
         UserDto requestor = new UserDto(1L, "John Doe", "john@example.com");
         ItemRequestDto responseDto = new ItemRequestDto(5L, "Test request", requestor, LocalDateTime.now());
 
-        Mockito.when(itemRequestClient.getItemRequestById(anyLong(), anyLong()))
+        Mockito.when(itemRequestClient.getItemRequestById(anyLong(), anyLong(), any()))
                 .thenReturn(ResponseEntity.ok(responseDto));
 
         mockMvc.perform(get("/requests/5")
@@ -649,6 +677,6 @@ class ItemRequestControllerValidationTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.id").value(5L));
 
-        Mockito.verify(itemRequestClient, times(1)).getItemRequestById(10L, 5L);
+        Mockito.verify(itemRequestClient, times(1)).getItemRequestById(10L, 5L, null);
     }
 }
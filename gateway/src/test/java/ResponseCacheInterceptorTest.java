@@ -0,0 +1,158 @@
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+import shareit.client.ResponseCacheInterceptor;
+import shareit.client.ResponseCacheProperties;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.client.ExpectedCount.times;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+public class ResponseCacheInterceptorTest {
+    private SimpleMeterRegistry meterRegistry;
+    private RestTemplate restTemplate;
+    private MockRestServiceServer server;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        ResponseCacheProperties properties = new ResponseCacheProperties(100, Map.of(
+                "users", Duration.ofMinutes(1),
+                "items", Duration.ofMinutes(1),
+                "requests", Duration.ofMinutes(1)));
+        restTemplate = new RestTemplateBuilder()
+                .rootUri("http://localhost:9090")
+                .additionalInterceptors(new ResponseCacheInterceptor(properties, meterRegistry))
+                .build();
+        server = MockRestServiceServer.bindTo(restTemplate).ignoreExpectOrder(true).build();
+    }
+
+    @Test
+    void repeatedReadIsServedFromCache() {
+        server.expect(requestTo("http://localhost:9090/users/1"))
+                .andRespond(withSuccess("{\"id\":1}", MediaType.APPLICATION_JSON));
+
+        ResponseEntity<String> first = restTemplate.getForEntity("/users/1", String.class);
+        ResponseEntity<String> second = restTemplate.getForEntity("/users/1", String.class);
+
+        server.verify();
+        assertThat(second.getBody()).isEqualTo(first.getBody()).isEqualTo("{\"id\":1}");
+        assertThat(second.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(gets("hit")).isEqualTo(1);
+        assertThat(gets("miss")).isEqualTo(1);
+    }
+
+    @Test
+    void keyIncludesUserAndQuery() {
+        server.expect(times(3), requestTo(startsWith("http://localhost:9090/items")))
+                .andRespond(withSuccess("[]", MediaType.APPLICATION_JSON));
+
+        get("/items/search?text=drill", 1L);
+        get("/items/search?text=drill", 2L);
+        get("/items/search?text=saw", 1L);
+        get("/items/search?text=drill", 1L);
+
+        server.verify();
+    }
+
+    @Test
+    void mutationInvalidatesDependentFamiliesOnly() {
+        server.expect(times(2), requestTo("http://localhost:9090/requests/5")).andRespond(withSuccess());
+        server.expect(times(1), requestTo("http://localhost:9090/users/1")).andRespond(withSuccess());
+        server.expect(requestTo("http://localhost:9090/items")).andExpect(method(HttpMethod.POST))
+                .andRespond(withSuccess());
+
+        get("/requests/5", 1L);
+        restTemplate.getForEntity("/users/1", String.class);
+        restTemplate.postForEntity("/items", "{}", String.class);
+        get("/requests/5", 1L);
+        restTemplate.getForEntity("/users/1", String.class);
+
+        server.verify();
+    }
+
+    @Test
+    void failedMutationStillInvalidates() {
+        server.expect(times(2), requestTo("http://localhost:9090/users/1")).andExpect(method(HttpMethod.GET))
+                .andRespond(withSuccess());
+        server.expect(requestTo("http://localhost:9090/users/1")).andExpect(method(HttpMethod.PATCH))
+                .andRespond(withStatus(HttpStatus.CONFLICT));
+
+        restTemplate.getForEntity("/users/1", String.class);
+        assertThatThrownBy(() -> restTemplate.patchForObject("/users/1", "{}", String.class))
+                .isInstanceOf(HttpClientErrorException.Conflict.class);
+        restTemplate.getForEntity("/users/1", String.class);
+
+        server.verify();
+    }
+
+    @Test
+    void familiesWithoutTtlAndErrorsAreNotCached() {
+        server.expect(times(2), requestTo("http://localhost:9090/bookings/1")).andRespond(withSuccess());
+        server.expect(times(2), requestTo("http://localhost:9090/users/404"))
+                .andRespond(withStatus(HttpStatus.NOT_FOUND));
+
+        get("/bookings/1", 1L);
+        get("/bookings/1", 1L);
+        assertThatThrownBy(() -> restTemplate.getForEntity("/users/404", String.class))
+                .isInstanceOf(HttpClientErrorException.NotFound.class);
+        assertThatThrownBy(() -> restTemplate.getForEntity("/users/404", String.class))
+                .isInstanceOf(HttpClientErrorException.NotFound.class);
+
+        server.verify();
+    }
+
+    @Test
+    void matchingIfNoneMatchIsAnsweredFromCache() {
+        HttpHeaders eTagHeaders = new HttpHeaders();
+        eTagHeaders.setETag("\"v1\"");
+        server.expect(requestTo("http://localhost:9090/items/1"))
+                .andExpect(header("X-Sharer-User-Id", "1"))
+                .andRespond(withSuccess("{\"id\":1}", MediaType.APPLICATION_JSON).headers(eTagHeaders));
+
+        get("/items/1", 1L);
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Sharer-User-Id", "1");
+        headers.setIfNoneMatch("\"v1\"");
+        ResponseEntity<String> response = restTemplate.exchange("/items/1", HttpMethod.GET,
+                new HttpEntity<>(headers), String.class);
+
+        server.verify();
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(response.getHeaders().getETag()).isEqualTo("\"v1\"");
+        assertThat(response.hasBody()).isFalse();
+    }
+
+    private void get(String path, long userId) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Sharer-User-Id", String.valueOf(userId));
+        restTemplate.exchange(path, HttpMethod.GET, new HttpEntity<>(headers), String.class);
+    }
+
+    private double gets(String result) {
+        return meterRegistry.get("cache.gets")
+                .tag("cache", ResponseCacheInterceptor.CACHE_NAME)
+                .tag("result", result)
+                .functionCounter()
+                .count();
+    }
+}
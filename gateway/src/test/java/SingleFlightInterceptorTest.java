@@ -0,0 +1,185 @@
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.util.StreamUtils;
+import shareit.client.SingleFlightInterceptor;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+public class SingleFlightInterceptorTest {
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private SimpleMeterRegistry meterRegistry;
+    private SingleFlightInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        interceptor = new SingleFlightInterceptor(meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void concurrentIdenticalReadsShareOneUpstreamCall() throws Exception {
+        Future<String> leader = executor.submit(() -> get("/items/search?text=drill", 1L, blockingOk()));
+        await().until(() -> upstreamCalls.get() == 1);
+        List<Future<String>> followers = IntStream.range(0, 5)
+                .mapToObj(i -> executor.submit(() -> get("/items/search?text=drill", 1L, blockingOk())))
+                .toList();
+        await().until(() -> coalesced() == 5);
+
+        release.countDown();
+
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("body 1");
+        for (Future<String> follower : followers) {
+            assertThat(follower.get(5, TimeUnit.SECONDS)).isEqualTo("body 1");
+        }
+        assertThat(upstreamCalls).hasValue(1);
+    }
+
+    @Test
+    void readsOfOtherUsersOrQueriesAreNotCoalesced() throws Exception {
+        List<Future<String>> reads = List.of(
+                executor.submit(() -> get("/items/1", 1L, blockingOk())),
+                executor.submit(() -> get("/items/1", 2L, blockingOk())),
+                executor.submit(() -> get("/items/2", 1L, blockingOk())));
+        await().until(() -> upstreamCalls.get() == 3);
+
+        release.countDown();
+
+        for (Future<String> read : reads) {
+            assertThat(read.get(5, TimeUnit.SECONDS)).startsWith("body ");
+        }
+        assertThat(coalesced()).isZero();
+    }
+
+    @Test
+    void searchesOfDifferentUsersShareOneUpstreamCall() throws Exception {
+        Future<String> leader = executor.submit(() -> get("/items/search?text=drill", 1L, blockingOk()));
+        await().until(() -> upstreamCalls.get() == 1);
+        Future<String> follower = executor.submit(() -> get("/items/search?text=drill", 2L, blockingOk()));
+        await().until(() -> coalesced() == 1);
+
+        release.countDown();
+
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("body 1");
+        assertThat(follower.get(5, TimeUnit.SECONDS)).isEqualTo("body 1");
+        assertThat(upstreamCalls).hasValue(1);
+    }
+
+    @Test
+    void completedReadIsNotReused() throws Exception {
+        release.countDown();
+
+        get("/users/1", 1L, blockingOk());
+        get("/users/1", 1L, blockingOk());
+
+        assertThat(upstreamCalls).hasValue(2);
+    }
+
+    @Test
+    void leaderFailureIsSharedWithFollowers() {
+        ClientHttpRequestExecution failing = (request, body) -> {
+            upstreamCalls.incrementAndGet();
+            awaitRelease();
+            throw new IOException("Connection reset");
+        };
+        Future<String> leader = executor.submit(() -> get("/items/1", 1L, failing));
+        await().until(() -> upstreamCalls.get() == 1);
+        Future<String> follower = executor.submit(() -> get("/items/1", 1L, failing));
+        await().until(() -> coalesced() == 1);
+
+        release.countDown();
+
+        assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasRootCauseMessage("Connection reset");
+        assertThatThrownBy(() -> follower.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasRootCauseMessage("Connection reset");
+        assertThat(upstreamCalls).hasValue(1);
+    }
+
+    @Test
+    void mutationDetachesReadsInFlight() throws Exception {
+        Future<String> before = executor.submit(() -> get("/items/1", 1L, blockingOk()));
+        await().until(() -> upstreamCalls.get() == 1);
+
+        interceptor.intercept(request(HttpMethod.PATCH, "/items/1", 1L), new byte[0],
+                (request, body) -> new MockClientHttpResponse(new byte[0], HttpStatus.OK));
+        Future<String> after = executor.submit(() -> get("/items/1", 1L, blockingOk()));
+        await().until(() -> upstreamCalls.get() == 2);
+
+        release.countDown();
+
+        assertThat(before.get(5, TimeUnit.SECONDS)).isEqualTo("body 1");
+        assertThat(after.get(5, TimeUnit.SECONDS)).isEqualTo("body 2");
+        assertThat(coalesced()).isZero();
+    }
+
+    private String get(String path, long userId, ClientHttpRequestExecution execution) throws IOException {
+        try (ClientHttpResponse response = interceptor.intercept(request(HttpMethod.GET, path, userId),
+                new byte[0], execution)) {
+            return StreamUtils.copyToString(response.getBody(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private ClientHttpRequestExecution blockingOk() {
+        return (request, body) -> {
+            int call = upstreamCalls.incrementAndGet();
+            awaitRelease();
+            return new MockClientHttpResponse(("body " + call).getBytes(StandardCharsets.UTF_8), HttpStatus.OK);
+        };
+    }
+
+    private void awaitRelease() throws IOException {
+        try {
+            if (!release.await(5, TimeUnit.SECONDS)) {
+                throw new IOException("Тест не отпустил запрос");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        }
+    }
+
+    private static MockClientHttpRequest request(HttpMethod method, String path, long userId) {
+        MockClientHttpRequest request = new MockClientHttpRequest(method, URI.create("http://localhost:9090" + path));
+        request.getHeaders().set("X-Sharer-User-Id", String.valueOf(userId));
+        return request;
+    }
+
+    private double coalesced() {
+        return meterRegistry.find(SingleFlightInterceptor.COUNTER).counters().stream()
+                .mapToDouble(counter -> counter.count())
+                .sum();
+    }
+}
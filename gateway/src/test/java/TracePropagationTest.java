@@ -0,0 +1,47 @@
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+import shareit.ShareItGateway;
+
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, classes = ShareItGateway.class)
+@AutoConfigureObservability(metrics = false)
+class TracePropagationTest {
+    @Autowired
+    private RestTemplateBuilder restTemplateBuilder;
+
+    @Autowired
+    private Tracer tracer;
+
+    @Test
+    void requestToServerCarriesCurrentTrace() {
+        RestTemplate restTemplate = restTemplateBuilder.rootUri("http://localhost:9090").build();
+        MockRestServiceServer server = MockRestServiceServer.bindTo(restTemplate).build();
+
+        Span span = tracer.nextSpan().name("gateway request").start();
+        try (Tracer.SpanInScope ignored = tracer.withSpan(span)) {
+            server.expect(requestTo("http://localhost:9090/items/1"))
+                    .andExpect(header("traceparent", allOf(
+                            containsString(span.context().traceId()),
+                            containsString("-01"))))
+                    .andRespond(withSuccess());
+
+            restTemplate.getForEntity("/items/1", byte[].class);
+        } finally {
+            span.end();
+        }
+
+        server.verify();
+    }
+}
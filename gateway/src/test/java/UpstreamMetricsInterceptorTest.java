@@ -0,0 +1,79 @@
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+import shareit.client.UpstreamMetricsInterceptor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+public class UpstreamMetricsInterceptorTest {
+    private SimpleMeterRegistry meterRegistry;
+    private RestTemplate restTemplate;
+    private MockRestServiceServer server;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        restTemplate = new RestTemplateBuilder()
+                .rootUri("http://localhost:9090")
+                .additionalInterceptors(new UpstreamMetricsInterceptor(meterRegistry))
+                .build();
+        server = MockRestServiceServer.bindTo(restTemplate).build();
+    }
+
+    @Test
+    void recordsRouteWithIdsReplaced() {
+        server.expect(requestTo("http://localhost:9090/items/42/comment")).andExpect(method(HttpMethod.POST))
+                .andRespond(withSuccess());
+        server.expect(requestTo("http://localhost:9090/items/7/comment")).andExpect(method(HttpMethod.POST))
+                .andRespond(withSuccess());
+
+        restTemplate.postForEntity("/items/42/comment", "{}", byte[].class);
+        restTemplate.postForEntity("/items/7/comment", "{}", byte[].class);
+
+        Timer timer = meterRegistry.get(UpstreamMetricsInterceptor.TIMER)
+                .tag("method", "POST")
+                .tag("route", "/items/{id}/comment")
+                .tag("status", "200")
+                .timer();
+        assertThat(timer.count()).isEqualTo(2);
+    }
+
+    @Test
+    void recordsErrorStatusAndDropsQueryString() {
+        server.expect(requestTo("http://localhost:9090/bookings/5?approved=true"))
+                .andRespond(withStatus(HttpStatus.NOT_FOUND));
+
+        assertThatThrownBy(() -> restTemplate.patchForObject("/bookings/5?approved=true", null, byte[].class))
+                .isInstanceOf(HttpClientErrorException.NotFound.class);
+
+        assertThat(meterRegistry.get(UpstreamMetricsInterceptor.TIMER)
+                .tag("route", "/bookings/{id}")
+                .tag("status", "404")
+                .timer()
+                .count()).isEqualTo(1);
+    }
+
+    @Test
+    void keepsNamedSegments() {
+        server.expect(requestTo("http://localhost:9090/bookings/owner")).andRespond(withSuccess());
+
+        restTemplate.getForEntity("/bookings/owner", byte[].class);
+
+        assertThat(meterRegistry.get(UpstreamMetricsInterceptor.TIMER)
+                .tag("route", "/bookings/owner")
+                .timer()
+                .count()).isEqualTo(1);
+    }
+}
@@ -16,6 +16,7 @@ import shareit.user.UserClient;
 import shareit.user.dto.UserDto;
 
 import java.lang.reflect.Field;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.*;
@@ -53,7 +54,28 @@ class UserClientTest {
                         httpEntity != null &&
                                 httpEntity.getBody() == userDto
                 ),
-                eq(Object.class)
+                eq(byte[].class)
+        );
+    }
+
+    @Test
+    void createUsersShouldCallBatchEndpoint() {
+        List<UserDto> userDtos = List.of(createUserDto(), createUserDto());
+
+        try {
+            userClient.createUsers(userDtos);
+        } catch (Exception ignored) {
+
+        }
+
+        verify(restTemplate).exchange(
+                eq("/batch"),
+                eq(HttpMethod.POST),
+                argThat(httpEntity ->
+                        httpEntity != null &&
+                                httpEntity.getBody() == userDtos
+                ),
+                eq(byte[].class)
         );
     }
 
@@ -75,7 +97,7 @@ class UserClientTest {
                         httpEntity != null &&
                                 httpEntity.getBody() == userDto
                 ),
-                eq(Object.class)
+                eq(byte[].class)
         );
     }
 
@@ -91,7 +113,7 @@ class UserClientTest {
                 eq(""),
                 eq(HttpMethod.GET),
                 any(HttpEntity.class),
-                eq(Object.class)
+                eq(byte[].class)
         );
     }
 
@@ -109,7 +131,7 @@ class UserClientTest {
                 eq("/1"),
                 eq(HttpMethod.GET),
                 any(HttpEntity.class),
-                eq(Object.class)
+                eq(byte[].class)
         );
     }
 
@@ -127,7 +149,7 @@ class UserClientTest {
                 eq("/1"),
                 eq(HttpMethod.DELETE),
                 any(HttpEntity.class),
-                eq(Object.class)
+                eq(byte[].class)
         );
     }
 
@@ -139,7 +161,7 @@ class UserClientTest {
         when(exception.getStatusCode()).thenReturn(HttpStatus.BAD_REQUEST);
         when(exception.getResponseBodyAsByteArray()).thenReturn("Invalid user".getBytes());
 
-        when(restTemplate.exchange(anyString(), eq(HttpMethod.POST), any(HttpEntity.class), eq(Object.class)))
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.POST), any(HttpEntity.class), eq(byte[].class)))
                 .thenThrow(exception);
 
         ResponseEntity<Object> result = userClient.createUser(userDto);
@@ -156,7 +178,7 @@ class UserClientTest {
         when(exception.getStatusCode()).thenReturn(HttpStatus.NOT_FOUND);
         when(exception.getResponseBodyAsByteArray()).thenReturn("User not found".getBytes());
 
-        when(restTemplate.exchange(anyString(), eq(HttpMethod.PATCH), any(HttpEntity.class), eq(Object.class)))
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.PATCH), any(HttpEntity.class), eq(byte[].class)))
                 .thenThrow(exception);
 
         ResponseEntity<Object> result = userClient.updateUser(userId, userDto);
@@ -172,7 +194,7 @@ class UserClientTest {
         when(exception.getStatusCode()).thenReturn(HttpStatus.NOT_FOUND);
         when(exception.getResponseBodyAsByteArray()).thenReturn("User not found".getBytes());
 
-        when(restTemplate.exchange(anyString(), eq(HttpMethod.DELETE), any(HttpEntity.class), eq(Object.class)))
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.DELETE), any(HttpEntity.class), eq(byte[].class)))
                 .thenThrow(exception);
 
         ResponseEntity<Object> result = userClient.deleteUserById(userId);
@@ -37,6 +37,21 @@ class UserControllerValidationTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Test
+    void createUsersWhenRowHasNoEmail() throws Exception {
+        List<UserDto> userDtos = List.of(
+                new UserDto(null, "John Doe", "john@example.com"),
+                new UserDto(null, "Jane Doe", null));
+
+        mockMvc.perform(post("/users/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(userDtos)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value(containsString("Строка 1: у нового пользователя")));
+
+        Mockito.verify(userClient, never()).createUsers(anyList());
+    }
+
     @Test
     void createUserWhenEmailIsInvalid() throws Exception {
         UserDto invalidDto = new UserDto(null, "John Doe", "invalid-email");
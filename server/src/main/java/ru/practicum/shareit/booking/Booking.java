@@ -16,9 +16,13 @@ import java.time.LocalDateTime;
 @ToString
 public class Booking {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bookings_seq")
+    @SequenceGenerator(name = "bookings_seq", sequenceName = "bookings_seq", allocationSize = 50)
     private Long id;
 
+    @Version
+    private long version;
+
     @Column(name = "start_date")
     private LocalDateTime start;
 
@@ -35,4 +39,19 @@ public class Booking {
 
     @Enumerated(EnumType.STRING)
     private BookingStatus status;
+
+    /**
+     * Задаётся при вставке, дальше меняется только массовыми UPDATE планировщика фаз,
+     * поэтому не входит в UPDATE сущности и не сбрасывается параллельным сохранением брони.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(updatable = false)
+    private BookingPhase phase;
+
+    @PrePersist
+    void initPhase() {
+        if (phase == null) {
+            phase = BookingPhase.at(start, end, LocalDateTime.now());
+        }
+    }
 }
@@ -2,18 +2,28 @@ package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.event.BookingEventStreams;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.common.BatchRowResult;
+import ru.practicum.shareit.common.CursorPages;
+import ru.practicum.shareit.common.PageCursor;
 
 import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequiredArgsConstructor
 @RequestMapping(path = "/bookings")
 public class BookingController {
     private final BookingService bookingService;
+    private final BookingEventStreams bookingEventStreams;
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
@@ -22,6 +32,12 @@ public class BookingController {
         return bookingService.addBooking(userId, bookingDto);
     }
 
+    @PostMapping("/batch")
+    public List<BatchRowResult<BookingResponseDto>> addBookings(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                                @RequestBody List<BookingDto> bookingDtos) {
+        return bookingService.addBookings(userId, bookingDtos);
+    }
+
     @PatchMapping("/{bookingId}")
     public BookingResponseDto finalizeBooking(@RequestHeader("X-Sharer-User-Id") Long userId,
                                               @PathVariable Long bookingId,
@@ -31,19 +47,49 @@ public class BookingController {
 
     @GetMapping("/{bookingId}")
     public BookingResponseDto getBookingById(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                             @PathVariable Long bookingId) {
+                                             @PathVariable Long bookingId,
+                                             WebRequest webRequest) {
+        Optional<String> eTag = bookingService.getBookingETag(userId, bookingId);
+        if (eTag.isPresent() && webRequest.checkNotModified(eTag.get())) {
+            return null;
+        }
         return bookingService.getBookingById(userId, bookingId);
     }
 
     @GetMapping
-    public List<BookingResponseDto> getBookingsByUser(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                                      @RequestParam(defaultValue = "ALL") String state) {
-        return bookingService.getBookingsByUser(userId, state);
+    public ResponseEntity<List<BookingResponseDto>> getBookingsByUser(
+            @RequestHeader("X-Sharer-User-Id") Long userId,
+            @RequestParam(defaultValue = "ALL") String state,
+            @RequestParam(defaultValue = "0") Integer from,
+            @RequestParam(defaultValue = "20") Integer size,
+            @RequestParam(required = false) String cursor) {
+        return CursorPages.withNextCursor(bookingService.getBookingsByUser(userId, state, from, size, cursor),
+                PageCursor.limit(size), BookingController::cursorOf);
     }
 
     @GetMapping("/owner")
-    public List<BookingResponseDto> getBookingsByOwner(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                                       @RequestParam(defaultValue = "ALL") String state) {
-        return bookingService.getBookingsByOwner(userId, state);
+    public ResponseEntity<List<BookingResponseDto>> getBookingsByOwner(
+            @RequestHeader("X-Sharer-User-Id") Long userId,
+            @RequestParam(defaultValue = "ALL") String state,
+            @RequestParam(defaultValue = "0") Integer from,
+            @RequestParam(defaultValue = "20") Integer size,
+            @RequestParam(required = false) String cursor) {
+        return CursorPages.withNextCursor(bookingService.getBookingsByOwner(userId, state, from, size, cursor),
+                PageCursor.limit(size), BookingController::cursorOf);
+    }
+
+    /**
+     * События BOOKING_CREATED, BOOKING_FINALIZED и BOOKING_CANCELED по вещам владельца
+     * вместо опроса GET /bookings/owner?state=WAITING.
+     */
+    @GetMapping(path = "/owner/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamBookingsByOwner(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                            @RequestHeader(value = "Last-Event-ID", required = false)
+                                            Long lastEventId) {
+        return bookingEventStreams.subscribe(userId, lastEventId);
+    }
+
+    private static PageCursor cursorOf(BookingResponseDto booking) {
+        return new PageCursor(booking.getStart(), booking.getId());
     }
 }
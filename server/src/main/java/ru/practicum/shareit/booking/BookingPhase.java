@@ -0,0 +1,24 @@
+package ru.practicum.shareit.booking;
+
+import java.time.LocalDateTime;
+
+/**
+ * Положение бронирования относительно текущего момента. Хранится в bookings.phase, чтобы выборки
+ * CURRENT, PAST и FUTURE шли по индексу; при наступлении начала и окончания брони фазу переводит
+ * BookingPhaseScheduler.
+ */
+public enum BookingPhase {
+    FUTURE,
+    CURRENT,
+    PAST;
+
+    public static BookingPhase at(LocalDateTime start, LocalDateTime end, LocalDateTime now) {
+        if (end != null && end.isBefore(now)) {
+            return PAST;
+        }
+        if (start != null && start.isAfter(now)) {
+            return FUTURE;
+        }
+        return CURRENT;
+    }
+}
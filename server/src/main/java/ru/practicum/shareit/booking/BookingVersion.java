@@ -0,0 +1,18 @@
+package ru.practicum.shareit.booking;
+
+import ru.practicum.shareit.common.ETags;
+
+/**
+ * Версии бронирования, вещи и автора брони — всего, из чего собирается ответ GET /bookings/{id}.
+ */
+public record BookingVersion(Long bookingId,
+                             long version,
+                             Long itemId,
+                             long itemVersion,
+                             Long bookerId,
+                             long bookerVersion,
+                             Long ownerId) {
+    public String eTag() {
+        return ETags.of(bookingId, version, itemId, itemVersion, bookerId, bookerVersion);
+    }
+}
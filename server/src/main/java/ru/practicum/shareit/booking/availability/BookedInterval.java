@@ -0,0 +1,9 @@
+package ru.practicum.shareit.booking.availability;
+
+import java.time.LocalDateTime;
+
+public record BookedInterval(Long itemId, Long bookingId, LocalDateTime start, LocalDateTime end) {
+    public boolean overlaps(LocalDateTime otherStart, LocalDateTime otherEnd) {
+        return start.isBefore(otherEnd) && end.isAfter(otherStart);
+    }
+}
@@ -0,0 +1,70 @@
+package ru.practicum.shareit.booking.availability;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.common.TransactionCallbacks;
+import ru.practicum.shareit.exception.IncorrectDataException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Component
+@Slf4j
+public class BookingAvailabilityIndex {
+    public static final List<BookingStatus> BLOCKING_STATUSES = List.of(BookingStatus.WAITING, BookingStatus.APPROVED);
+
+    private final BookingRepository bookingRepository;
+    private final Cache<Long, ItemTimeline> timelines;
+
+    public BookingAvailabilityIndex(BookingRepository bookingRepository,
+                                    @Value("${shareit.availability.maximum-items}") long maximumItems,
+                                    @Value("${shareit.availability.ttl}") Duration ttl) {
+        this.bookingRepository = bookingRepository;
+        this.timelines = Caffeine.newBuilder()
+                .maximumSize(maximumItems)
+                .expireAfterAccess(ttl)
+                .build();
+    }
+
+    public void reserve(Long itemId, Long bookingId, LocalDateTime start, LocalDateTime end) {
+        log.debug("reserve(itemId={}, bookingId={}, start={}, end={})", itemId, bookingId, start, end);
+
+        BookedInterval interval = new BookedInterval(itemId, bookingId, start, end);
+        timeline(itemId).reserve(interval, LocalDateTime.now()).ifPresent(conflict -> {
+            throw new IncorrectDataException("Вещь с ID = '" + itemId + "' уже забронирована на период с "
+                    + conflict.start() + " по " + conflict.end());
+        });
+        TransactionCallbacks.afterRollback(() -> timeline(itemId).release(bookingId));
+    }
+
+    /**
+     * После отката блокировка вещи уже снята, и период могла занять другая бронь,
+     * поэтому освобождённый интервал не возвращается, а интервалы вещи загружаются из базы заново.
+     */
+    public void release(Long itemId, Long bookingId) {
+        log.debug("release(itemId={}, bookingId={})", itemId, bookingId);
+
+        if (timeline(itemId).release(bookingId)) {
+            TransactionCallbacks.afterRollback(() -> timelines.invalidate(itemId));
+        }
+    }
+
+    private ItemTimeline timeline(Long itemId) {
+        ItemTimeline timeline = timelines.getIfPresent(itemId);
+        if (timeline != null) {
+            return timeline;
+        }
+        List<BookedInterval> loaded = bookingRepository.findActiveIntervalsByItemId(itemId, LocalDateTime.now(),
+                BLOCKING_STATUSES);
+        log.debug("Загружено {} активных бронирований вещи с ID = '{}'", loaded.size(), itemId);
+        ItemTimeline loadedTimeline = new ItemTimeline(loaded);
+        ItemTimeline existing = timelines.asMap().putIfAbsent(itemId, loadedTimeline);
+        return existing != null ? existing : loadedTimeline;
+    }
+}
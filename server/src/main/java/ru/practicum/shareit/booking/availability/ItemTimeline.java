@@ -0,0 +1,84 @@
+package ru.practicum.shareit.booking.availability;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Отсортированные по началу интервалы активных (WAITING/APPROVED) бронирований одной вещи.
+ * Интервалы не пересекаются, поэтому вместе с началами отсортированы и окончания,
+ * и для проверки конфликта достаточно одного соседа слева от окончания нового интервала.
+ */
+class ItemTimeline {
+    private static final Comparator<BookedInterval> ORDER = Comparator
+            .comparing(BookedInterval::start)
+            .thenComparing(BookedInterval::bookingId);
+
+    private final NavigableSet<BookedInterval> intervals = new TreeSet<>(ORDER);
+    private final Map<Long, BookedInterval> byBookingId = new HashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+
+    ItemTimeline(Collection<BookedInterval> loaded) {
+        loaded.forEach(this::put);
+    }
+
+    Optional<BookedInterval> reserve(BookedInterval interval, LocalDateTime now) {
+        lock.lock();
+        try {
+            pruneEndedBefore(now);
+            removeBooking(interval.bookingId());
+            Optional<BookedInterval> conflict = findConflict(interval.start(), interval.end());
+            if (conflict.isEmpty()) {
+                put(interval);
+            }
+            return conflict;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    boolean release(Long bookingId) {
+        lock.lock();
+        try {
+            return removeBooking(bookingId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void put(BookedInterval interval) {
+        removeBooking(interval.bookingId());
+        intervals.add(interval);
+        byBookingId.put(interval.bookingId(), interval);
+    }
+
+    private boolean removeBooking(Long bookingId) {
+        BookedInterval removed = byBookingId.remove(bookingId);
+        return removed != null && intervals.remove(removed);
+    }
+
+    private Optional<BookedInterval> findConflict(LocalDateTime start, LocalDateTime end) {
+        BookedInterval probe = new BookedInterval(null, Long.MIN_VALUE, end, end);
+        return Optional.ofNullable(intervals.lower(probe))
+                .filter(candidate -> candidate.overlaps(start, end));
+    }
+
+    private void pruneEndedBefore(LocalDateTime now) {
+        Iterator<BookedInterval> iterator = intervals.iterator();
+        while (iterator.hasNext()) {
+            BookedInterval interval = iterator.next();
+            if (interval.end().isAfter(now)) {
+                return;
+            }
+            iterator.remove();
+            byBookingId.remove(interval.bookingId());
+        }
+    }
+}
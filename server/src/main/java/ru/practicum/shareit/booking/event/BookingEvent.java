@@ -0,0 +1,48 @@
+package ru.practicum.shareit.booking.event;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+/**
+ * Событие для владельца вещи; seq присваивает {@link BookingEventRelay} после фиксации.
+ */
+@Entity
+@Table(name = "booking_events")
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+public class BookingEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private Long seq;
+
+    @Column(name = "owner_id")
+    private Long ownerId;
+
+    @Column(name = "booking_id")
+    private Long bookingId;
+
+    @Enumerated(EnumType.STRING)
+    private BookingEventType type;
+
+    @ToString.Exclude
+    private String payload;
+
+    private LocalDateTime created;
+
+    public BookingEvent(Long ownerId, Long bookingId, BookingEventType type, String payload) {
+        this.ownerId = ownerId;
+        this.bookingId = bookingId;
+        this.type = type;
+        this.payload = payload;
+        this.created = LocalDateTime.now();
+    }
+}
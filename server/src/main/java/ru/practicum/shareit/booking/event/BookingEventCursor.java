@@ -0,0 +1,29 @@
+package ru.practicum.shareit.booking.event;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * Единственная строка с последним выданным seq; её блокировка выстраивает реле экземпляров в очередь.
+ */
+@Entity
+@Table(name = "booking_event_cursor")
+@Getter
+@Setter
+@NoArgsConstructor
+@ToString
+public class BookingEventCursor {
+    public static final int ID = 1;
+
+    @Id
+    private Integer id;
+
+    @Column(name = "last_seq")
+    private long lastSeq;
+}
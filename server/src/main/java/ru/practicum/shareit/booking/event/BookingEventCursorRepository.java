@@ -0,0 +1,12 @@
+package ru.practicum.shareit.booking.event;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+
+public interface BookingEventCursorRepository extends JpaRepository<BookingEventCursor, Integer> {
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM BookingEventCursor c WHERE c.id = " + BookingEventCursor.ID)
+    BookingEventCursor findForUpdate();
+}
@@ -0,0 +1,59 @@
+package ru.practicum.shareit.booking.event;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Записывает события бронирований в транзакции бронирования и удаляет события старше retention.
+ */
+@Component
+@Slf4j
+public class BookingEventOutbox {
+    private final BookingEventRepository repository;
+    private final BookingEventRelay relay;
+    private final ObjectMapper objectMapper;
+    private final Duration retention;
+
+    public BookingEventOutbox(BookingEventRepository repository,
+                              BookingEventRelay relay,
+                              ObjectMapper objectMapper,
+                              @Value("${shareit.booking-events.retention}") Duration retention) {
+        this.repository = repository;
+        this.relay = relay;
+        this.objectMapper = objectMapper;
+        this.retention = retention;
+    }
+
+    public void publish(BookingEventType type, BookingResponseDto booking) {
+        log.debug("publish(type={}, bookingId={})", type, booking.getId());
+
+        repository.save(new BookingEvent(booking.getItem().getOwner().getId(), booking.getId(), type,
+                toJson(booking)));
+        relay.wakeUpAfterCommit();
+    }
+
+    @Scheduled(initialDelayString = "${shareit.booking-events.cleanup-interval}",
+            fixedDelayString = "${shareit.booking-events.cleanup-interval}")
+    public void deleteExpired() {
+        int deleted = repository.deleteCreatedBefore(LocalDateTime.now().minus(retention));
+        if (deleted > 0) {
+            log.debug("Удалено {} устаревших событий бронирований", deleted);
+        }
+    }
+
+    private String toJson(BookingResponseDto booking) {
+        try {
+            return objectMapper.writeValueAsString(booking);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Не удалось сериализовать бронирование с ID = '" + booking.getId() + "'", e);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package ru.practicum.shareit.booking.event;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.common.TransactionCallbacks;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Нумерует зафиксированные события (seq) в порядке фиксации и раздаёт их открытым потокам.
+ */
+@Component
+@Slf4j
+public class BookingEventRelay {
+    private final BookingEventRepository repository;
+    private final BookingEventCursorRepository cursorRepository;
+    private final BookingEventStreams streams;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskScheduler taskScheduler;
+    private final boolean wakeOnCommit;
+    private final int batchSize;
+
+    private final Lock lock = new ReentrantLock();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    public BookingEventRelay(BookingEventRepository repository,
+                             BookingEventCursorRepository cursorRepository,
+                             BookingEventStreams streams,
+                             TransactionTemplate transactionTemplate,
+                             TaskScheduler taskScheduler,
+                             @Value("${shareit.booking-events.wake-on-commit}") boolean wakeOnCommit,
+                             @Value("${shareit.booking-events.relay-batch-size}") int batchSize) {
+        this.repository = repository;
+        this.cursorRepository = cursorRepository;
+        this.streams = streams;
+        this.transactionTemplate = transactionTemplate;
+        this.taskScheduler = taskScheduler;
+        this.wakeOnCommit = wakeOnCommit;
+        this.batchSize = batchSize;
+    }
+
+    public void wakeUpAfterCommit() {
+        if (!wakeOnCommit) {
+            return;
+        }
+        TransactionCallbacks.afterCommit(() -> {
+            if (scheduled.compareAndSet(false, true)) {
+                taskScheduler.schedule(this::relay, Instant.now());
+            }
+        });
+    }
+
+    @Scheduled(initialDelayString = "${shareit.booking-events.relay-interval}",
+            fixedDelayString = "${shareit.booking-events.relay-interval}")
+    public void relay() {
+        scheduled.set(false);
+        lock.lock();
+        try {
+            List<BookingEvent> stamped;
+            do {
+                stamped = transactionTemplate.execute(status -> stamp());
+                stamped.forEach(streams::dispatch);
+            } while (stamped.size() == batchSize);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private List<BookingEvent> stamp() {
+        BookingEventCursor cursor = cursorRepository.findForUpdate();
+        List<BookingEvent> events = repository.findBySeqIsNullOrderById(Limit.of(batchSize));
+        long seq = cursor.getLastSeq();
+        for (BookingEvent event : events) {
+            event.setSeq(++seq);
+        }
+        cursor.setLastSeq(seq);
+        if (!events.isEmpty()) {
+            log.debug("Событиям бронирований присвоены номера до {}", seq);
+        }
+        return events;
+    }
+}
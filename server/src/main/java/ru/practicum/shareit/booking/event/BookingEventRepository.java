@@ -0,0 +1,25 @@
+package ru.practicum.shareit.booking.event;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface BookingEventRepository extends JpaRepository<BookingEvent, Long> {
+    /**
+     * Read-write транзакция: дочитывание потока всегда идёт с основной базы.
+     */
+    @Transactional
+    List<BookingEvent> findByOwnerIdAndSeqGreaterThanOrderBySeq(Long ownerId, Long seq, Limit limit);
+
+    List<BookingEvent> findBySeqIsNullOrderById(Limit limit);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM BookingEvent e WHERE e.created < ?1")
+    int deleteCreatedBefore(LocalDateTime created);
+}
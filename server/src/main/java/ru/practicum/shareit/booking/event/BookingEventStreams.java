@@ -0,0 +1,78 @@
+package ru.practicum.shareit.booking.event;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.practicum.shareit.common.EntityLookup;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Открытые SSE-потоки владельцев; переполненный поток закрывается, и клиент переподключается с Last-Event-ID.
+ */
+@Component
+@Slf4j
+public class BookingEventStreams {
+    private final BookingEventRepository repository;
+    private final UserRepository userRepository;
+    private final EntityLookup entityLookup;
+    private final int bufferSize;
+    private final Duration heartbeat;
+    private final Duration timeout;
+    private final Map<Long, Set<OwnerStream>> streams = new ConcurrentHashMap<>();
+
+    public BookingEventStreams(BookingEventRepository repository,
+                               UserRepository userRepository,
+                               EntityLookup entityLookup,
+                               @Value("${shareit.booking-events.buffer-size}") int bufferSize,
+                               @Value("${shareit.booking-events.heartbeat}") Duration heartbeat,
+                               @Value("${shareit.booking-events.timeout}") Duration timeout) {
+        this.repository = repository;
+        this.userRepository = userRepository;
+        this.entityLookup = entityLookup;
+        this.bufferSize = bufferSize;
+        this.heartbeat = heartbeat;
+        this.timeout = timeout;
+    }
+
+    public SseEmitter subscribe(Long ownerId, @Nullable Long lastEventId) {
+        log.debug("subscribe(ownerId={}, lastEventId={})", ownerId, lastEventId);
+
+        entityLookup.requireExists(userRepository, User.class, ownerId);
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        OwnerStream stream = new OwnerStream(emitter, bufferSize, heartbeat, lastEventId,
+                after -> repository.findByOwnerIdAndSeqGreaterThanOrderBySeq(ownerId, after, Limit.of(bufferSize)));
+        streams.computeIfAbsent(ownerId, id -> ConcurrentHashMap.newKeySet()).add(stream);
+        Runnable unsubscribe = () -> streams.computeIfPresent(ownerId, (id, owned) -> {
+            owned.remove(stream);
+            return owned.isEmpty() ? null : owned;
+        });
+        emitter.onCompletion(() -> {
+            stream.close();
+            unsubscribe.run();
+        });
+        emitter.onTimeout(stream::close);
+        emitter.onError(error -> stream.close());
+        stream.start("booking-events-" + ownerId, unsubscribe);
+        return emitter;
+    }
+
+    public void dispatch(BookingEvent event) {
+        Set<OwnerStream> owned = streams.getOrDefault(event.getOwnerId(), Set.of());
+        for (OwnerStream stream : List.copyOf(owned)) {
+            if (!stream.offer(event)) {
+                log.debug("Буфер потока владельца с ID = '{}' переполнен, поток закрывается", event.getOwnerId());
+                stream.close();
+            }
+        }
+    }
+}
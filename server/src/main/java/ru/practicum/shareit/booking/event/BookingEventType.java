@@ -0,0 +1,7 @@
+package ru.practicum.shareit.booking.event;
+
+public enum BookingEventType {
+    BOOKING_CREATED,
+    BOOKING_FINALIZED,
+    BOOKING_CANCELED
+}
@@ -0,0 +1,103 @@
+package ru.practicum.shareit.booking.event;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.lang.Nullable;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Один SSE-поток: дочитывание после Last-Event-ID, затем события из буфера и heartbeat в паузах.
+ */
+@Slf4j
+class OwnerStream {
+    private final SseEmitter emitter;
+    private final BlockingQueue<BookingEvent> buffer;
+    private final Duration heartbeat;
+    private final Long lastEventId;
+    private final Function<Long, List<BookingEvent>> replay;
+    private final int limit;
+    private long lastSent;
+    private volatile boolean closed;
+    private volatile Thread sender;
+
+    OwnerStream(SseEmitter emitter, int bufferSize, Duration heartbeat, @Nullable Long lastEventId,
+                Function<Long, List<BookingEvent>> replay) {
+        this.emitter = emitter;
+        this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        this.limit = bufferSize;
+        this.heartbeat = heartbeat;
+        this.lastEventId = lastEventId;
+        this.replay = replay;
+    }
+
+    void start(String name, Runnable onExit) {
+        sender = Thread.ofVirtual().name(name).start(() -> {
+            try {
+                send();
+            } finally {
+                onExit.run();
+            }
+        });
+    }
+
+    boolean offer(BookingEvent event) {
+        return !closed && buffer.offer(event);
+    }
+
+    void close() {
+        closed = true;
+        if (sender != null) {
+            sender.interrupt();
+        }
+    }
+
+    private void send() {
+        try {
+            if (lastEventId != null) {
+                replayAfter(lastEventId);
+            }
+            while (!closed) {
+                BookingEvent event = buffer.poll(heartbeat.toMillis(), TimeUnit.MILLISECONDS);
+                if (event == null) {
+                    emitter.send(SseEmitter.event().comment("heartbeat"));
+                } else if (event.getSeq() > lastSent) {
+                    send(event);
+                }
+            }
+            emitter.complete();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            emitter.complete();
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Поток событий бронирований закрыт клиентом: {}", e.getMessage());
+            emitter.completeWithError(e);
+        }
+    }
+
+    private void replayAfter(Long after) throws IOException {
+        List<BookingEvent> page;
+        lastSent = after;
+        do {
+            page = replay.apply(lastSent);
+            for (BookingEvent event : page) {
+                send(event);
+            }
+        } while (page.size() == limit && !closed);
+    }
+
+    private void send(BookingEvent event) throws IOException {
+        lastSent = event.getSeq();
+        emitter.send(SseEmitter.event()
+                .id(String.valueOf(event.getSeq()))
+                .name(event.getType().name())
+                .data(event.getPayload(), MediaType.APPLICATION_JSON));
+    }
+}
@@ -20,6 +20,8 @@ public interface BookingMapper {
     BookingResponseDto toBookingResponseDto(Booking booking);
 
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "phase", ignore = true)
     @Mapping(target = "item", source = "item")
     @Mapping(target = "booker", source = "user")
     Booking toBooking(BookingDto bookingDto, User user, Item item);
@@ -0,0 +1,209 @@
+package ru.practicum.shareit.booking.phase;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingPhase;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.availability.BookingAvailabilityIndex;
+import ru.practicum.shareit.booking.event.BookingEventOutbox;
+import ru.practicum.shareit.booking.event.BookingEventType;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.common.TransactionCallbacks;
+import ru.practicum.shareit.item.cache.ItemCache;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.summary.ItemBookingSummaries;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Переводит фазы бронирований и отменяет неподтверждённые брони, чьё начало уже наступило;
+ * об отмене владелец узнаёт из потока событий BOOKING_CANCELED.
+ * <p>
+ * Следующий запуск назначается на ближайшую границу — самое раннее начало среди FUTURE
+ * или самое раннее окончание среди CURRENT, — и переназначается раньше, если новая бронь начинается
+ * до него. Каждый запуск обрабатывает все наступившие границы массовыми UPDATE, поэтому точность
+ * таймера на результат не влияет. Периодический обход подбирает брони, вставленные другими
+ * экземплярами сервера или в обход приложения; без wake-on-boundary остаётся только он.
+ */
+@Component
+@Slf4j
+public class BookingPhaseScheduler {
+    /**
+     * CURRENT сменяется на PAST, когда окончание строго раньше текущего момента,
+     * поэтому запуск назначается чуть позже границы.
+     */
+    private static final Duration BOUNDARY_SLACK = Duration.ofMillis(1);
+
+    private final BookingRepository repository;
+    private final ItemRepository itemRepository;
+    private final BookingAvailabilityIndex availabilityIndex;
+    private final ItemBookingSummaries bookingSummaries;
+    private final ItemCache itemCache;
+    private final BookingMapper bookingMapper;
+    private final BookingEventOutbox eventOutbox;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskScheduler taskScheduler;
+    private final boolean expireWaiting;
+    private final boolean wakeOnBoundary;
+    private final int batchSize;
+
+    private final Lock lock = new ReentrantLock();
+    private ScheduledFuture<?> next;
+    private LocalDateTime nextAt;
+
+    public BookingPhaseScheduler(BookingRepository repository,
+                                 ItemRepository itemRepository,
+                                 BookingAvailabilityIndex availabilityIndex,
+                                 ItemBookingSummaries bookingSummaries,
+                                 ItemCache itemCache,
+                                 BookingMapper bookingMapper,
+                                 BookingEventOutbox eventOutbox,
+                                 TransactionTemplate transactionTemplate,
+                                 TaskScheduler taskScheduler,
+                                 @Value("${shareit.booking-phase.expire-waiting}") boolean expireWaiting,
+                                 @Value("${shareit.booking-phase.wake-on-boundary}") boolean wakeOnBoundary,
+                                 @Value("${shareit.booking-phase.batch-size}") int batchSize) {
+        this.repository = repository;
+        this.itemRepository = itemRepository;
+        this.availabilityIndex = availabilityIndex;
+        this.bookingSummaries = bookingSummaries;
+        this.itemCache = itemCache;
+        this.bookingMapper = bookingMapper;
+        this.eventOutbox = eventOutbox;
+        this.transactionTemplate = transactionTemplate;
+        this.taskScheduler = taskScheduler;
+        this.expireWaiting = expireWaiting;
+        this.wakeOnBoundary = wakeOnBoundary;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Назначает запуск на ближайшую границу новой брони после фиксации текущей транзакции.
+     */
+    public void track(LocalDateTime start, LocalDateTime end) {
+        if (!wakeOnBoundary) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime boundary = start.isAfter(now) ? start : expireWaiting ? now : end;
+        TransactionCallbacks.afterCommit(() -> wakeUpAt(boundary));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (wakeOnBoundary) {
+            wakeUpAt(LocalDateTime.now());
+        }
+    }
+
+    @Scheduled(initialDelayString = "${shareit.booking-phase.sweep-interval}",
+            fixedDelayString = "${shareit.booking-phase.sweep-interval}")
+    public void advance() {
+        LocalDateTime now = LocalDateTime.now();
+        if (expireWaiting) {
+            int expired;
+            do {
+                expired = transactionTemplate.execute(status -> expireWaiting(now));
+            } while (expired == batchSize);
+        }
+        transactionTemplate.executeWithoutResult(status -> movePhases(now));
+        if (!wakeOnBoundary) {
+            return;
+        }
+
+        LocalDateTime boundary = transactionTemplate.execute(status -> nextBoundary());
+        if (boundary != null) {
+            wakeUpAt(boundary);
+        }
+    }
+
+    /**
+     * Вещи блокируются раньше броней, в том же порядке, что и при создании и подтверждении брони.
+     * Брони вещей, появившихся в выборке уже после блокировки, остаются до следующего запуска.
+     */
+    private int expireWaiting(LocalDateTime now) {
+        Set<Long> lockedItemIds = itemRepository.findByIdInOrderById(
+                        repository.findItemIdsByStatusAndStartLessThanEqual(BookingStatus.WAITING, now,
+                                Limit.of(batchSize))).stream()
+                .map(Item::getId)
+                .collect(Collectors.toSet());
+        List<Booking> stale = repository.findByStatusAndStartLessThanEqualOrderByStart(BookingStatus.WAITING, now,
+                        Limit.of(batchSize)).stream()
+                .filter(booking -> lockedItemIds.contains(booking.getItem().getId()))
+                .toList();
+        stale.forEach(booking -> {
+            booking.setStatus(BookingStatus.CANCELED);
+            availabilityIndex.release(booking.getItem().getId(), booking.getId());
+            eventOutbox.publish(BookingEventType.BOOKING_CANCELED, bookingMapper.toBookingResponseDto(booking));
+        });
+        repository.flush();
+
+        Set<Long> itemIds = stale.stream()
+                .map(booking -> booking.getItem().getId())
+                .collect(Collectors.toSet());
+        itemIds.forEach(itemId -> {
+            bookingSummaries.refresh(itemId);
+            itemCache.evictBookingDates(itemId);
+        });
+        if (!stale.isEmpty()) {
+            log.debug("Отменено {} неподтверждённых бронирований, чьё начало наступило", stale.size());
+        }
+        return stale.size();
+    }
+
+    private void movePhases(LocalDateTime now) {
+        int past = repository.updatePhaseWhereEndBefore(EnumSet.of(BookingPhase.FUTURE, BookingPhase.CURRENT),
+                BookingPhase.PAST, now);
+        int current = repository.updatePhaseWhereStartNotAfter(BookingPhase.FUTURE, BookingPhase.CURRENT, now);
+        if (past + current > 0) {
+            log.debug("Фаза PAST у {} бронирований, CURRENT — у {}", past, current);
+        }
+    }
+
+    private LocalDateTime nextBoundary() {
+        return Stream.of(repository.findEarliestStartByPhase(BookingPhase.FUTURE),
+                        repository.findEarliestEndByPhase(BookingPhase.CURRENT))
+                .flatMap(Optional::stream)
+                .min(LocalDateTime::compareTo)
+                .orElse(null);
+    }
+
+    private void wakeUpAt(LocalDateTime boundary) {
+        lock.lock();
+        try {
+            if (next != null && !next.isDone() && !boundary.isBefore(nextAt) && nextAt.isAfter(LocalDateTime.now())) {
+                return;
+            }
+            if (next != null) {
+                next.cancel(false);
+            }
+            nextAt = boundary;
+            next = taskScheduler.schedule(this::advance,
+                    boundary.plus(BOUNDARY_SLACK).atZone(ZoneId.systemDefault()).toInstant());
+            log.debug("Следующий перевод фаз бронирований в {}", boundary);
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -1,17 +1,34 @@
 package ru.practicum.shareit.booking.repository;
 
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.querydsl.QuerydslPredicateExecutor;
+import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingPhase;
 import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.BookingVersion;
+import ru.practicum.shareit.booking.availability.BookedInterval;
+import ru.practicum.shareit.item.summary.BookingBoundaries;
+import ru.practicum.shareit.item.summary.BookingStatusCount;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
-public interface BookingRepository extends JpaRepository<Booking, Long>, QuerydslPredicateExecutor<Booking> {
+public interface BookingRepository extends JpaRepository<Booking, Long>, QuerydslPredicateExecutor<Booking>,
+        BookingRepositoryCustom {
+    @Override
+    @EntityGraph(attributePaths = {"item", "item.owner", "booker"})
+    Optional<Booking> findById(Long id);
+
     Booking findByItemId(Long itemId);
 
     List<Booking> findByBookerIdAndEndIsBefore(Long bookerId, LocalDateTime end, Sort sort);
@@ -19,24 +36,65 @@ public interface BookingRepository extends JpaRepository<Booking, Long>, Queryds
     Optional<Booking> findByBookerIdAndItemIdAndEndIsBeforeAndStatus(Long bookerId, Long itemId, LocalDateTime end,
                                                                      BookingStatus status);
 
-    Optional<Booking> findFirstByItemIdAndEndBeforeAndStatusOrderByEndDesc(Long itemId, LocalDateTime end,
-                                                                           BookingStatus status);
-
-    Optional<Booking> findFirstByItemIdAndStartAfterOrderByStartAsc(Long itemId, LocalDateTime from);
-
-    @Query("SELECT b FROM Booking b WHERE b.item.id IN ?1 " +
-            "AND b.status = ?3 " +
-            "AND b.end = (SELECT MAX(b2.end) FROM Booking b2 " +
-            "            WHERE b2.item.id = b.item.id " +
-            "            AND b2.end < ?2 AND b2.status = ?3)")
-    List<Booking> findLastBookingsForItems(List<Long> itemIds,
-                                           LocalDateTime now,
-                                           BookingStatus status);
-
-    @Query("SELECT b FROM Booking b WHERE b.item.id IN ?1 " +
-            "AND b.start = (SELECT MIN(b2.start) FROM Booking b2 " +
-            "            WHERE b2.item.id = b.item.id " +
-            "            AND b2.start > ?2)")
-    List<Booking> findNextBookingsForItems(List<Long> itemIds,
-                                           LocalDateTime now);
+    @Query(value = "SELECT i.id AS itemId, l.end_date AS lastBookingEnd, n.start_date AS nextBookingStart, " +
+            "c.end_date AS currentBookingEnd " +
+            "FROM items i " +
+            "LEFT JOIN (SELECT DISTINCT ON (item_id) item_id, end_date FROM bookings " +
+            "           WHERE item_id IN (:itemIds) AND status = 'APPROVED' AND end_date < :now " +
+            "           ORDER BY item_id, end_date DESC) l ON l.item_id = i.id " +
+            "LEFT JOIN (SELECT DISTINCT ON (item_id) item_id, start_date FROM bookings " +
+            "           WHERE item_id IN (:itemIds) AND start_date > :now " +
+            "           ORDER BY item_id, start_date) n ON n.item_id = i.id " +
+            "LEFT JOIN (SELECT DISTINCT ON (item_id) item_id, end_date FROM bookings " +
+            "           WHERE item_id IN (:itemIds) AND status = 'APPROVED' AND end_date > :now " +
+            "           ORDER BY item_id, end_date) c ON c.item_id = i.id " +
+            "WHERE i.id IN (:itemIds)", nativeQuery = true)
+    List<BookingBoundaries> findBoundariesDistinctOn(@Param("itemIds") Collection<Long> itemIds,
+                                                     @Param("now") LocalDateTime now);
+
+    @Query("SELECT b.item.id AS itemId, " +
+            "MAX(CASE WHEN b.status = :approved AND b.end < :now THEN b.end END) AS lastBookingEnd, " +
+            "MIN(CASE WHEN b.start > :now THEN b.start END) AS nextBookingStart, " +
+            "MIN(CASE WHEN b.status = :approved AND b.end > :now THEN b.end END) AS currentBookingEnd " +
+            "FROM Booking b WHERE b.item.id IN :itemIds GROUP BY b.item.id")
+    List<BookingBoundaries> findBoundariesGroupBy(@Param("itemIds") Collection<Long> itemIds,
+                                                  @Param("now") LocalDateTime now,
+                                                  @Param("approved") BookingStatus approved);
+
+    @Query("SELECT new ru.practicum.shareit.item.summary.BookingStatusCount(b.status, COUNT(b)) " +
+            "FROM Booking b WHERE b.item.id = ?1 GROUP BY b.status")
+    List<BookingStatusCount> countByStatusForItem(Long itemId);
+
+    @Query("SELECT new ru.practicum.shareit.booking.availability.BookedInterval(b.item.id, b.id, b.start, b.end) " +
+            "FROM Booking b WHERE b.item.id = ?1 AND b.end > ?2 AND b.status IN ?3")
+    List<BookedInterval> findActiveIntervalsByItemId(Long itemId, LocalDateTime now,
+                                                     Collection<BookingStatus> statuses);
+
+    @Query("SELECT new ru.practicum.shareit.booking.BookingVersion(b.id, b.version, i.id, i.version, " +
+            "u.id, u.version, i.owner.id) " +
+            "FROM Booking b JOIN b.item i JOIN b.booker u WHERE b.id = ?1")
+    Optional<BookingVersion> findVersionById(Long bookingId);
+
+    @Query("SELECT MIN(b.start) FROM Booking b WHERE b.phase = ?1")
+    Optional<LocalDateTime> findEarliestStartByPhase(BookingPhase phase);
+
+    @Query("SELECT MIN(b.end) FROM Booking b WHERE b.phase = ?1")
+    Optional<LocalDateTime> findEarliestEndByPhase(BookingPhase phase);
+
+    @Modifying
+    @Query("UPDATE Booking b SET b.phase = :to WHERE b.phase IN :from AND b.end < :now")
+    int updatePhaseWhereEndBefore(@Param("from") Collection<BookingPhase> from, @Param("to") BookingPhase to,
+                                  @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE Booking b SET b.phase = :to WHERE b.phase = :from AND b.start <= :now")
+    int updatePhaseWhereStartNotAfter(@Param("from") BookingPhase from, @Param("to") BookingPhase to,
+                                      @Param("now") LocalDateTime now);
+
+    @Query("SELECT b.item.id FROM Booking b WHERE b.status = ?1 AND b.start <= ?2 ORDER BY b.start")
+    List<Long> findItemIdsByStatusAndStartLessThanEqual(BookingStatus status, LocalDateTime start, Limit limit);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<Booking> findByStatusAndStartLessThanEqualOrderByStart(BookingStatus status, LocalDateTime start,
+                                                                 Limit limit);
 }
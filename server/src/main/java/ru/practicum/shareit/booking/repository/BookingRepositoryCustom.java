@@ -0,0 +1,17 @@
+package ru.practicum.shareit.booking.repository;
+
+import com.querydsl.core.types.Predicate;
+import org.springframework.lang.Nullable;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.common.PageCursor;
+
+import java.util.List;
+
+public interface BookingRepositoryCustom {
+    /**
+     * Собирает BookingResponseDto вместе с вещью, её владельцем и автором бронирования одним запросом.
+     * Бронирования упорядочены по убыванию начала и ID; страница начинается после курсора,
+     * а без курсора — со смещения offset.
+     */
+    List<BookingResponseDto> findResponses(Predicate predicate, @Nullable PageCursor after, long offset, long limit);
+}
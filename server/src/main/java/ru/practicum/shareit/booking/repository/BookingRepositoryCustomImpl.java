@@ -0,0 +1,68 @@
+package ru.practicum.shareit.booking.repository;
+
+import com.querydsl.core.BooleanBuilder;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.Projections;
+import com.querydsl.jpa.impl.JPAQuery;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+import org.springframework.lang.Nullable;
+import ru.practicum.shareit.booking.QBooking;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.common.PageCursor;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.QItem;
+import ru.practicum.shareit.user.QUser;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.util.List;
+
+public class BookingRepositoryCustomImpl implements BookingRepositoryCustom {
+    private final JPAQueryFactory queryFactory;
+
+    public BookingRepositoryCustomImpl(EntityManager entityManager) {
+        this.queryFactory = new JPAQueryFactory(entityManager);
+    }
+
+    @Override
+    public List<BookingResponseDto> findResponses(Predicate predicate, @Nullable PageCursor after,
+                                                  long offset, long limit) {
+        QBooking booking = QBooking.booking;
+        QItem item = QItem.item;
+        QUser owner = new QUser("owner");
+        QUser booker = new QUser("booker");
+
+        BooleanBuilder where = new BooleanBuilder(predicate);
+        if (after != null) {
+            where.and(booking.start.lt(after.timestamp())
+                    .or(booking.start.eq(after.timestamp()).and(booking.id.lt(after.id()))));
+        }
+
+        JPAQuery<BookingResponseDto> query = queryFactory
+                .select(Projections.constructor(BookingResponseDto.class,
+                        booking.id,
+                        booking.start,
+                        booking.end,
+                        Projections.constructor(ItemDto.class,
+                                item.id,
+                                item.name,
+                                item.description,
+                                Projections.constructor(UserDto.class, owner.id, owner.name, owner.email),
+                                item.available,
+                                item.request.id),
+                        Projections.constructor(UserDto.class, booker.id, booker.name, booker.email),
+                        booking.status))
+                .from(booking)
+                .join(booking.item, item)
+                .join(item.owner, owner)
+                .join(booking.booker, booker)
+                .where(where)
+                .orderBy(booking.start.desc(), booking.id.desc())
+                .limit(limit);
+        if (after == null) {
+            query.offset(offset);
+        }
+
+        return query.fetch();
+    }
+}
@@ -2,17 +2,23 @@ package ru.practicum.shareit.booking.service;
 
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.common.BatchRowResult;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface BookingService {
     BookingResponseDto addBooking(Long userId, BookingDto bookingDto);
 
+    List<BatchRowResult<BookingResponseDto>> addBookings(Long userId, List<BookingDto> bookingDtos);
+
     BookingResponseDto finalizeBooking(Long userId, Long bookingId, Boolean approved);
 
     BookingResponseDto getBookingById(Long userId, Long bookingId);
 
-    List<BookingResponseDto> getBookingsByUser(Long userId, String state);
+    Optional<String> getBookingETag(Long userId, Long bookingId);
+
+    List<BookingResponseDto> getBookingsByUser(Long userId, String state, Integer from, Integer size, String cursor);
 
-    List<BookingResponseDto> getBookingsByOwner(Long userId, String state);
+    List<BookingResponseDto> getBookingsByOwner(Long userId, String state, Integer from, Integer size, String cursor);
 }
@@ -1,39 +1,66 @@
 package ru.practicum.shareit.booking.service;
 
 import com.querydsl.core.types.dsl.BooleanExpression;
+import io.micrometer.observation.annotation.Observed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingPhase;
 import ru.practicum.shareit.booking.BookingState;
 import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.BookingVersion;
 import ru.practicum.shareit.booking.QBooking;
+import ru.practicum.shareit.booking.availability.BookingAvailabilityIndex;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.event.BookingEventOutbox;
+import ru.practicum.shareit.booking.event.BookingEventType;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.booking.phase.BookingPhaseScheduler;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.common.BatchRowResult;
+import ru.practicum.shareit.common.EntityLookup;
+import ru.practicum.shareit.common.PageCursor;
+import ru.practicum.shareit.common.ServiceMetrics;
 import ru.practicum.shareit.exception.IncorrectDataException;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.cache.ItemCache;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.summary.ItemBookingSummaries;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
-import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Observed(name = ServiceMetrics.OBSERVATION)
 @Transactional(readOnly = true)
 @Slf4j
 public class BookingServiceImpl implements BookingService {
+
     private final BookingRepository repository;
     private final UserRepository userRepository;
     private final ItemRepository itemRepository;
     private final BookingMapper bookingMapper;
+    private final BookingAvailabilityIndex availabilityIndex;
+    private final ItemCache itemCache;
+    private final EntityLookup entityLookup;
+    private final ItemBookingSummaries bookingSummaries;
+    private final BookingPhaseScheduler phaseScheduler;
+    private final BookingEventOutbox eventOutbox;
 
     @Override
     @Transactional
@@ -41,24 +68,69 @@ public class BookingServiceImpl implements BookingService {
         log.debug("addBooking(userId={}, bookingDto={})", userId, bookingDto);
 
         User user = getUserIfExists(userId);
-        Item item = itemRepository.findById(bookingDto.getItemId()).orElseThrow(() -> {
-            log.debug(itemRepository.findAll().stream().map(Item::getId).toList().toString());
-            return new NotFoundException("Вещь с ID = '" + bookingDto.getItemId() + "' не найдена");
-        });
+        Item item = itemRepository.findForUpdateById(bookingDto.getItemId())
+                .orElseThrow(() -> entityLookup.notFound(Item.class, bookingDto.getItemId()));
 
-        if (Objects.equals(userId, item.getOwner().getId())) {
-            throw new IncorrectDataException("Нельзя бронировать собственную вещь");
-        }
+        Booking booking = repository.save(newBooking(userId, bookingDto, user, item));
+        availabilityIndex.reserve(item.getId(), booking.getId(), booking.getStart(), booking.getEnd());
+        phaseScheduler.track(booking.getStart(), booking.getEnd());
+        bookingSummaries.refresh(item.getId());
+        itemCache.evictBookingDates(item.getId());
 
-        if (!item.getAvailable()) {
-            throw new IncorrectDataException("Вещь с ID = '"
-                    + bookingDto.getItemId() + "' на данный момент недоступна для брони");
+        BookingResponseDto created = bookingMapper.toBookingResponseDto(booking);
+        eventOutbox.publish(BookingEventType.BOOKING_CREATED, created);
+        return created;
+    }
+
+    /**
+     * Строки, не прошедшие проверки или пересекающиеся с уже занятыми периодами, в том числе
+     * со строками этого же пакета, не сохраняются; остальные вставляются пачками.
+     */
+    @Override
+    @Transactional
+    public List<BatchRowResult<BookingResponseDto>> addBookings(Long userId, List<BookingDto> bookingDtos) {
+        log.debug("addBookings(userId={}, size={})", userId, bookingDtos.size());
+
+        User user = getUserIfExists(userId);
+        Map<Long, Item> items = itemRepository.findByIdInOrderById(bookingDtos.stream()
+                        .map(BookingDto::getItemId)
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+
+        List<BatchRowResult<BookingResponseDto>> results =
+                new ArrayList<>(Collections.nCopies(bookingDtos.size(), null));
+        Set<Long> bookedItemIds = new HashSet<>();
+        for (int i = 0; i < bookingDtos.size(); i++) {
+            BookingDto bookingDto = bookingDtos.get(i);
+            try {
+                Item item = items.get(bookingDto.getItemId());
+                if (item == null) {
+                    throw entityLookup.notFound(Item.class, bookingDto.getItemId());
+                }
+                Booking booking = repository.save(newBooking(userId, bookingDto, user, item));
+                try {
+                    availabilityIndex.reserve(item.getId(), booking.getId(), booking.getStart(), booking.getEnd());
+                } catch (IncorrectDataException e) {
+                    repository.delete(booking);
+                    throw e;
+                }
+                phaseScheduler.track(booking.getStart(), booking.getEnd());
+                bookedItemIds.add(item.getId());
+                BookingResponseDto created = bookingMapper.toBookingResponseDto(booking);
+                eventOutbox.publish(BookingEventType.BOOKING_CREATED, created);
+                results.set(i, BatchRowResult.created(i, created));
+            } catch (NotFoundException | IncorrectDataException e) {
+                results.set(i, BatchRowResult.failed(i, e));
+            }
         }
-        bookingDto.setStatus(BookingStatus.WAITING);
-        bookingDto.setBookerId(userId);
-        Booking booking = repository.save(bookingMapper.toBooking(bookingDto, user, item));
+        bookedItemIds.forEach(itemId -> {
+            bookingSummaries.refresh(itemId);
+            itemCache.evictBookingDates(itemId);
+        });
 
-        return bookingMapper.toBookingResponseDto(booking);
+        return results;
     }
 
     @Override
@@ -71,16 +143,32 @@ public class BookingServiceImpl implements BookingService {
             throw new IncorrectDataException("Пользователь с ID='" + userId + "' " +
                     "не является владельцем вещи с ID='" + booking.getItem().getOwner().getId() + "'");
         }
+        if (booking.getStatus() == BookingStatus.CANCELED) {
+            throw new IncorrectDataException("Бронирование с ID='" + bookingId + "' отменено");
+        }
+        itemRepository.findForUpdateById(booking.getItem().getId());
+        boolean blocking = BookingAvailabilityIndex.BLOCKING_STATUSES.contains(booking.getStatus());
+        if (approved && !blocking) {
+            availabilityIndex.reserve(booking.getItem().getId(), booking.getId(), booking.getStart(), booking.getEnd());
+        } else if (!approved) {
+            availabilityIndex.release(booking.getItem().getId(), booking.getId());
+        }
         booking.setStatus(approved ? BookingStatus.APPROVED : BookingStatus.REJECTED);
 
-        return bookingMapper.toBookingResponseDto(repository.save(booking));
+        Booking saved = repository.save(booking);
+        bookingSummaries.refresh(booking.getItem().getId());
+        itemCache.evictBookingDates(booking.getItem().getId());
+
+        BookingResponseDto finalized = bookingMapper.toBookingResponseDto(saved);
+        eventOutbox.publish(BookingEventType.BOOKING_FINALIZED, finalized);
+        return finalized;
     }
 
     @Override
     public BookingResponseDto getBookingById(Long userId, Long bookingId) {
         log.debug("getBookingById(userId={}, bookingId={})", userId, bookingId);
 
-        getUserIfExists(userId);
+        entityLookup.requireExists(userRepository, User.class, userId);
         Booking booking = getBookingIfExists(bookingId);
         if (!Objects.equals(userId, booking.getBooker().getId())
                 && !Objects.equals(userId, booking.getItem().getOwner().getId())) {
@@ -95,88 +183,104 @@ public class BookingServiceImpl implements BookingService {
         return bookingMapper.toBookingResponseDto(booking);
     }
 
+    /**
+     * Тег отдаётся только автору брони и владельцу вещи; остальным запрос идёт по полному пути
+     * и получает ту же ошибку, что и без If-None-Match.
+     */
     @Override
-    public List<BookingResponseDto> getBookingsByUser(Long userId, String state) {
-        log.debug("getBookingByState(userId={}, state={})", userId, state);
+    public Optional<String> getBookingETag(Long userId, Long bookingId) {
+        return repository.findVersionById(bookingId)
+                .filter(version -> userId.equals(version.bookerId()) || userId.equals(version.ownerId()))
+                .map(BookingVersion::eTag);
+    }
 
-        getUserIfExists(userId);
-        BookingState bookingState;
-        try {
-            bookingState = BookingState.valueOf(state.toUpperCase());
-        } catch (IllegalArgumentException e) {
-            throw new IncorrectDataException("Значение параметра запроса state '" + state + "' некорректно");
-        }
+    @Override
+    public List<BookingResponseDto> getBookingsByUser(Long userId, String state, Integer from, Integer size,
+                                                      String cursor) {
+        log.debug("getBookingByState(userId={}, state={}, from={}, size={}, cursor={})",
+                userId, state, from, size, cursor);
 
-        BooleanExpression byUserId = QBooking.booking.booker.id.eq(userId);
-        BooleanExpression byUserIdAndState = switch (bookingState) {
-            case ALL -> byUserId;
-            case CURRENT -> byUserId.and(
-                    QBooking.booking.start.loe(LocalDateTime.now())
-                            .and(QBooking.booking.end.goe(LocalDateTime.now()))
-            );
-            case PAST -> byUserId.and(QBooking.booking.end.lt(LocalDateTime.now()));
-            case FUTURE -> byUserId.and(QBooking.booking.start.gt(LocalDateTime.now()));
-            case WAITING -> byUserId.and(QBooking.booking.status.eq(BookingStatus.WAITING));
-            case REJECTED -> byUserId.and(QBooking.booking.status.eq(BookingStatus.REJECTED));
-        };
+        entityLookup.requireExists(userRepository, User.class, userId);
+        BookingState bookingState = parseState(state);
 
-        Iterable<Booking> foundBookings = repository.findAll(byUserIdAndState);
-        List<Booking> foundBookingsList = new ArrayList<>();
-        foundBookings.forEach(foundBookingsList::add);
+        BooleanExpression byUserId = QBooking.booking.booker.id.eq(userId);
 
-        return bookingMapper.toBookingResponseDtoList(foundBookingsList);
+        return findBookings(byState(byUserId, bookingState), from, size, cursor);
     }
 
     @Override
-    public List<BookingResponseDto> getBookingsByOwner(Long userId, String state) {
-        log.debug("getBookingsByOwner(userId={}, state={})", userId, state);
+    public List<BookingResponseDto> getBookingsByOwner(Long userId, String state, Integer from, Integer size,
+                                                       String cursor) {
+        log.debug("getBookingsByOwner(userId={}, state={}, from={}, size={}, cursor={})",
+                userId, state, from, size, cursor);
 
-        getUserIfExists(userId);
-        BookingState bookingState;
+        entityLookup.requireExists(userRepository, User.class, userId);
 
-        if (itemRepository.findByOwnerId(userId).isEmpty()) {
+        if (!itemRepository.existsByOwnerId(userId)) {
             throw new NotFoundException("У пользователя с ID = '" + userId + "' нет вещей");
         }
+        BookingState bookingState = parseState(state);
 
+        BooleanExpression byOwnerId = QBooking.booking.item.owner.id.eq(userId);
+
+        return findBookings(byState(byOwnerId, bookingState), from, size, cursor);
+    }
+
+    public User getUserIfExists(Long userId) {
+        return entityLookup.get(userRepository, User.class, userId);
+    }
+
+    public Booking getBookingIfExists(Long bookingId) {
+        return entityLookup.get(repository, Booking.class, bookingId);
+    }
+
+    private Booking newBooking(Long userId, BookingDto bookingDto, User user, Item item) {
+        if (Objects.equals(userId, item.getOwner().getId())) {
+            throw new IncorrectDataException("Нельзя бронировать собственную вещь");
+        }
+
+        if (!item.getAvailable()) {
+            throw new IncorrectDataException("Вещь с ID = '"
+                    + bookingDto.getItemId() + "' на данный момент недоступна для брони");
+        }
+
+        if (!bookingDto.getStart().isBefore(bookingDto.getEnd())) {
+            throw new IncorrectDataException("Дата начала бронирования должна быть раньше даты окончания");
+        }
+        bookingDto.setStatus(BookingStatus.WAITING);
+        bookingDto.setBookerId(userId);
+        Booking booking = bookingMapper.toBooking(bookingDto, user, item);
+        booking.setId(null);
+        return booking;
+    }
+
+    private BookingState parseState(String state) {
         try {
-            bookingState = BookingState.valueOf(state.toUpperCase());
+            return BookingState.valueOf(state.toUpperCase());
         } catch (IllegalArgumentException e) {
             throw new IncorrectDataException("Значение параметра запроса state '" + state + "' некорректно");
         }
+    }
 
-        BooleanExpression byOwnerId = QBooking.booking.item.owner.id.eq(userId);
-        BooleanExpression byOwnerIdAndState = switch (bookingState) {
-            case ALL -> byOwnerId;
-            case CURRENT -> byOwnerId.and(
-                    QBooking.booking.start.loe(LocalDateTime.now())
-                            .and(QBooking.booking.end.goe(LocalDateTime.now()))
-            );
-            case PAST -> byOwnerId.and(QBooking.booking.end.lt(LocalDateTime.now()));
-            case FUTURE -> byOwnerId.and(QBooking.booking.start.gt(LocalDateTime.now()));
-            case WAITING -> byOwnerId.and(QBooking.booking.status.eq(BookingStatus.WAITING));
-            case REJECTED -> byOwnerId.and(QBooking.booking.status.eq(BookingStatus.REJECTED));
+    private BooleanExpression byState(BooleanExpression predicate, BookingState bookingState) {
+        return switch (bookingState) {
+            case ALL -> predicate;
+            case CURRENT -> predicate.and(QBooking.booking.phase.eq(BookingPhase.CURRENT));
+            case PAST -> predicate.and(QBooking.booking.phase.eq(BookingPhase.PAST));
+            case FUTURE -> predicate.and(QBooking.booking.phase.eq(BookingPhase.FUTURE));
+            case WAITING -> predicate.and(QBooking.booking.status.eq(BookingStatus.WAITING));
+            case REJECTED -> predicate.and(QBooking.booking.status.eq(BookingStatus.REJECTED));
         };
-
-        Iterable<Booking> foundBookings = repository.findAll(byOwnerIdAndState);
-        List<Booking> foundBookingsList = new ArrayList<>();
-        foundBookings.forEach(foundBookingsList::add);
-
-        return bookingMapper.toBookingResponseDtoList(foundBookingsList);
     }
 
-    public User getUserIfExists(Long userId) {
-        return userRepository.findById(userId)
-                .orElseThrow(() -> {
-                    log.debug(userRepository.findAll().stream().map(User::getId).toList().toString());
-                    return new NotFoundException("Пользователь с ID = '" + userId + "' не найден");
-                });
-    }
+    private List<BookingResponseDto> findBookings(BooleanExpression predicate, Integer from, Integer size,
+                                                  String cursor) {
+        if (from < 0 || size <= 0) {
+            throw new IncorrectDataException("Параметры запроса from и size должны быть неотрицательным " +
+                    "и положительным числами соответственно");
+        }
+        PageCursor after = cursor != null ? PageCursor.decode(cursor) : null;
 
-    public Booking getBookingIfExists(Long bookingId) {
-        return repository.findById(bookingId)
-                .orElseThrow(() -> {
-                    log.debug(repository.findAll().stream().map(Booking::getId).toList().toString());
-                    return new NotFoundException("Бронирование с ID = '" + bookingId + "' не найдено");
-                });
+        return repository.findResponses(predicate, after, from, PageCursor.limit(size));
     }
 }
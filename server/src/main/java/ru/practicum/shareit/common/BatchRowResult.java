@@ -0,0 +1,21 @@
+package ru.practicum.shareit.common;
+
+import ru.practicum.shareit.exception.NotFoundException;
+
+/**
+ * Результат обработки одной строки пакетного запроса; index — позиция строки в теле запроса.
+ */
+public record BatchRowResult<T>(int index, BatchRowStatus status, T result, String error) {
+    public static <T> BatchRowResult<T> created(int index, T result) {
+        return new BatchRowResult<>(index, BatchRowStatus.CREATED, result, null);
+    }
+
+    public static <T> BatchRowResult<T> failed(int index, BatchRowStatus status, String error) {
+        return new BatchRowResult<>(index, status, null, error);
+    }
+
+    public static <T> BatchRowResult<T> failed(int index, RuntimeException e) {
+        BatchRowStatus status = e instanceof NotFoundException ? BatchRowStatus.NOT_FOUND : BatchRowStatus.INVALID;
+        return failed(index, status, e.getMessage());
+    }
+}
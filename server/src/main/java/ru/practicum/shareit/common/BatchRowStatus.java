@@ -0,0 +1,8 @@
+package ru.practicum.shareit.common;
+
+public enum BatchRowStatus {
+    CREATED,
+    INVALID,
+    NOT_FOUND,
+    CONFLICT
+}
@@ -0,0 +1,24 @@
+package ru.practicum.shareit.common;
+
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Ответ со страницей keyset-выборки. Заголовок X-Next-Cursor ставится, только если страница заполнена
+ * целиком, поэтому pageSize должен быть фактическим лимитом выборки, а не запрошенным size.
+ */
+public final class CursorPages {
+    private CursorPages() {
+    }
+
+    public static <T> ResponseEntity<List<T>> withNextCursor(List<T> rows, int pageSize,
+                                                             Function<T, PageCursor> cursorOf) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (!rows.isEmpty() && rows.size() >= pageSize) {
+            response.header(PageCursor.HEADER, cursorOf.apply(rows.getLast()).encode());
+        }
+        return response.body(rows);
+    }
+}
@@ -0,0 +1,24 @@
+package ru.practicum.shareit.common;
+
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.StringJoiner;
+
+/**
+ * Сильные ETag ответов, собранные из ID и версий всех сущностей, попадающих в тело ответа.
+ * Версия растёт при каждом изменении строки, поэтому совпадение тега означает совпадение представления,
+ * и сервер отвечает 304 по короткой выборке версий, не загружая связи и не собирая DTO.
+ */
+public final class ETags {
+    private ETags() {
+    }
+
+    public static String of(Object... parts) {
+        StringJoiner joiner = new StringJoiner(":");
+        for (Object part : parts) {
+            joiner.add(String.valueOf(part));
+        }
+        return "\"" + DigestUtils.md5DigestAsHex(joiner.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+}
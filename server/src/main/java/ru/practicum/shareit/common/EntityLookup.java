@@ -0,0 +1,59 @@
+package ru.practicum.shareit.common;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.user.User;
+
+import java.util.Map;
+
+/**
+ * Поиск сущностей по ID с единым ответом на отсутствие записи.
+ * Цена отказа — один запрос по первичному ключу, независимо от размера таблицы.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class EntityLookup {
+    public static final String NOT_FOUND_METRIC = "shareit.lookup.not.found";
+
+    private static final Map<Class<?>, String> NOT_FOUND_MESSAGES = Map.of(
+            User.class, "Пользователь с ID = '%d' не найден",
+            Item.class, "Вещь с ID = '%d' не найдена",
+            Booking.class, "Бронирование с ID = '%d' не найдено",
+            ItemRequest.class, "Запрос вещи с ID = '%d' не найден");
+
+    private final MeterRegistry meterRegistry;
+
+    public <T> T get(JpaRepository<T, Long> repository, Class<T> type, Long id) {
+        return repository.findById(id).orElseThrow(() -> notFound(type, id));
+    }
+
+    public void requireExists(JpaRepository<?, Long> repository, Class<?> type, Long id) {
+        if (!repository.existsById(id)) {
+            throw notFound(type, id);
+        }
+    }
+
+    /**
+     * Проверяет существование записи и возвращает ленивую ссылку на неё,
+     * когда сущность нужна только как внешний ключ.
+     */
+    public <T> T reference(JpaRepository<T, Long> repository, Class<T> type, Long id) {
+        requireExists(repository, type, id);
+        return repository.getReferenceById(id);
+    }
+
+    public NotFoundException notFound(Class<?> type, Long id) {
+        log.debug("Сущность не найдена: entity={}, id={}", type.getSimpleName(), id);
+        meterRegistry.counter(NOT_FOUND_METRIC, "entity", type.getSimpleName()).increment();
+
+        return new NotFoundException(NOT_FOUND_MESSAGES.get(type).formatted(id));
+    }
+}
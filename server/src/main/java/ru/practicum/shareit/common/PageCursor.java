@@ -0,0 +1,38 @@
+package ru.practicum.shareit.common;
+
+import ru.practicum.shareit.exception.IncorrectDataException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+public record PageCursor(LocalDateTime timestamp, Long id) {
+    public static final String HEADER = "X-Next-Cursor";
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private static final String SEPARATOR = "_";
+
+    public static PageCursor decode(String cursor) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = decoded.lastIndexOf(SEPARATOR);
+            return new PageCursor(LocalDateTime.parse(decoded.substring(0, separator)),
+                    Long.parseLong(decoded.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IncorrectDataException("Значение параметра запроса cursor '" + cursor + "' некорректно");
+        }
+    }
+
+    /**
+     * Сколько строк страница вернёт на самом деле: запрошенный size, урезанный до MAX_PAGE_SIZE.
+     */
+    public static int limit(int size) {
+        return Math.min(size, MAX_PAGE_SIZE);
+    }
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((timestamp + SEPARATOR + id).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,19 @@
+package ru.practicum.shareit.common;
+
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.aop.ObservedAspect;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Имя наблюдения сервисов: таймер shareit.service с тегами class, method и error и спан в трассировке.
+ */
+@Configuration
+public class ServiceMetrics {
+    public static final String OBSERVATION = "shareit.service";
+
+    @Bean
+    public ObservedAspect observedAspect(ObservationRegistry observationRegistry) {
+        return new ObservedAspect(observationRegistry);
+    }
+}
@@ -0,0 +1,43 @@
+package ru.practicum.shareit.common;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+public final class TransactionCallbacks {
+    private TransactionCallbacks() {
+    }
+
+    /**
+     * Выполняет действие после фиксации текущей транзакции, а вне транзакции — сразу.
+     */
+    public static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    /**
+     * Выполняет компенсацию, если текущая транзакция завершится откатом.
+     * Вне транзакции изменения считаются окончательными, и компенсация не регистрируется.
+     */
+    public static void afterRollback(Runnable compensation) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    compensation.run();
+                }
+            }
+        });
+    }
+}
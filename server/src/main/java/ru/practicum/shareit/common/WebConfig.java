@@ -0,0 +1,31 @@
+package ru.practicum.shareit.common;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Open-in-view регистрируется здесь, а не автоконфигурацией (spring.jpa.open-in-view=false), чтобы исключить
+ * поток событий бронирований: асинхронный запрос держит EntityManager вместе с соединением из пула
+ * до своего завершения, то есть всё время жизни потока.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+    private static final String BOOKING_EVENTS_PATH = "/bookings/owner/stream";
+
+    private final ObjectProvider<EntityManagerFactory> entityManagerFactory;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        entityManagerFactory.ifAvailable(factory -> {
+            OpenEntityManagerInViewInterceptor interceptor = new OpenEntityManagerInViewInterceptor();
+            interceptor.setEntityManagerFactory(factory);
+            registry.addWebRequestInterceptor(interceptor).excludePathPatterns(BOOKING_EVENTS_PATH);
+        });
+    }
+}
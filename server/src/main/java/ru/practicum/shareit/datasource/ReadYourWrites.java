@@ -0,0 +1,48 @@
+package ru.practicum.shareit.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.lang.Nullable;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Время последней записи по пользователю запроса; запросы без X-Sharer-User-Id образуют общий анонимный сеанс.
+ */
+public class ReadYourWrites {
+    private static final Object ANONYMOUS = new Object();
+
+    private final ThreadLocal<Object> currentSession = new ThreadLocal<>();
+    private final Cache<Object, Instant> lastWrites;
+
+    public ReadYourWrites(Duration tokenTtl) {
+        this.lastWrites = Caffeine.newBuilder()
+                .expireAfterWrite(tokenTtl)
+                .build();
+    }
+
+    public void bind(@Nullable Long userId) {
+        currentSession.set(userId != null ? userId : ANONYMOUS);
+    }
+
+    public void unbind() {
+        currentSession.remove();
+    }
+
+    /**
+     * Фоновые задачи вне запроса токенов не оставляют.
+     */
+    public void recordCurrentWrite() {
+        Object session = currentSession.get();
+        if (session != null) {
+            lastWrites.put(session, Instant.now());
+        }
+    }
+
+    @Nullable
+    public Instant currentToken() {
+        Object session = currentSession.get();
+        return session != null ? lastWrites.getIfPresent(session) : null;
+    }
+}
@@ -0,0 +1,45 @@
+package ru.practicum.shareit.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.lang.Nullable;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Привязывает сеанс запроса (X-Sharer-User-Id или анонимный) к потоку обработки.
+ */
+@RequiredArgsConstructor
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+    private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+
+    private final ReadYourWrites readYourWrites;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        readYourWrites.bind(userId(request));
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            readYourWrites.unbind();
+        }
+    }
+
+    @Nullable
+    private static Long userId(HttpServletRequest request) {
+        String header = request.getHeader(USER_ID_HEADER);
+        if (header == null) {
+            return null;
+        }
+        try {
+            return Long.valueOf(header.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
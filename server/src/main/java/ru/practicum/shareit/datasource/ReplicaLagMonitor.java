@@ -0,0 +1,80 @@
+package ru.practicum.shareit.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Измеряет отставание реплики запросом lag-query; замер в момент T с отставанием L даёт отметку T - L.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+    public static final String LAG_METRIC = "shareit.datasource.replica.lag";
+
+    private final JdbcTemplate replica;
+    private final String lagQuery;
+    private final Duration maxLag;
+    private final Duration staleAfter;
+
+    private volatile Duration lag;
+    @Nullable
+    private volatile Instant watermark;
+    @Nullable
+    private volatile Instant checkedAt;
+
+    public ReplicaLagMonitor(DataSource replicaDataSource, String lagQuery, Duration maxLag,
+                             Duration checkInterval, MeterRegistry meterRegistry) {
+        this.replica = new JdbcTemplate(replicaDataSource);
+        this.lagQuery = lagQuery;
+        this.maxLag = maxLag;
+        this.staleAfter = checkInterval.multipliedBy(2);
+        this.lag = maxLag.plusSeconds(1);
+        Gauge.builder(LAG_METRIC, this, monitor -> monitor.lag.toMillis() / 1000.0)
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.datasource.routing.check-interval}")
+    public void check() {
+        Instant now = Instant.now();
+        try {
+            Double seconds = replica.queryForObject(lagQuery, Double.class);
+            lag = Duration.ofMillis(Math.round((seconds != null ? seconds : 0) * 1000));
+        } catch (DataAccessException e) {
+            log.warn("Не удалось измерить отставание реплики: {}", e.getMessage());
+            watermark = null;
+            return;
+        }
+        if (lag.compareTo(maxLag) > 0) {
+            log.warn("Реплика отстаёт на {} при допустимых {}, чтение идёт с основной базы", lag, maxLag);
+            watermark = null;
+            return;
+        }
+        watermark = now.minus(lag);
+        checkedAt = now;
+    }
+
+    /**
+     * Содержит ли реплика записи, зафиксированные до момента token; без токена — пригодна ли она вообще.
+     */
+    public boolean isCaughtUp(@Nullable Instant token) {
+        Instant current = watermark;
+        Instant checked = checkedAt;
+        if (current == null || checked == null || checked.plus(staleAfter).isBefore(Instant.now())) {
+            return false;
+        }
+        return token == null || current.isAfter(token);
+    }
+
+    public Duration tokenTtl() {
+        return maxLag.plus(staleAfter);
+    }
+}
@@ -0,0 +1,86 @@
+package ru.practicum.shareit.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.transaction.TransactionManagerCustomizers;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Чтение с реплики включается заданием shareit.datasource.replica.jdbc-url.
+ */
+@Configuration
+@ConditionalOnProperty("shareit.datasource.replica.jdbc-url")
+public class ReplicaRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public DataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("shareit.datasource.replica")
+    public DataSource replicaDataSource() {
+        HikariDataSource dataSource = DataSourceBuilder.create().type(HikariDataSource.class).build();
+        dataSource.setPoolName("replica");
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(@Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                               @Value("${shareit.datasource.routing.lag-query}") String lagQuery,
+                                               @Value("${shareit.datasource.routing.max-lag}") Duration maxLag,
+                                               @Value("${shareit.datasource.routing.check-interval}")
+                                               Duration checkInterval,
+                                               MeterRegistry meterRegistry) {
+        return new ReplicaLagMonitor(replicaDataSource, lagQuery, maxLag, checkInterval, meterRegistry);
+    }
+
+    @Bean
+    public ReadYourWrites readYourWrites(ReplicaLagMonitor replicaLagMonitor) {
+        return new ReadYourWrites(replicaLagMonitor.tokenTtl());
+    }
+
+    @Bean
+    public ReadYourWritesFilter readYourWritesFilter(ReadYourWrites readYourWrites) {
+        return new ReadYourWritesFilter(readYourWrites);
+    }
+
+    @Bean
+    @Primary
+    public DataSource routingDataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                        @Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                        ReplicaLagMonitor replicaLagMonitor,
+                                        ReadYourWrites readYourWrites,
+                                        MeterRegistry meterRegistry) {
+        return new ReplicaRoutingDataSource(primaryDataSource, replicaDataSource, replicaLagMonitor, readYourWrites,
+                meterRegistry);
+    }
+
+    @Bean
+    public PlatformTransactionManager transactionManager(
+            ObjectProvider<TransactionManagerCustomizers> transactionManagerCustomizers,
+            ReadYourWrites readYourWrites) {
+        JpaTransactionManager transactionManager = new ReplicaRoutingTransactionManager(readYourWrites);
+        transactionManagerCustomizers.ifAvailable(
+                customizers -> customizers.customize((TransactionManager) transactionManager));
+        return transactionManager;
+    }
+}
@@ -0,0 +1,61 @@
+package ru.practicum.shareit.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Read-only транзакция читает реплику, если та догнала последнюю запись сеанса; остальное идёт в основную базу.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+    public static final String READS_METRIC = "shareit.datasource.reads";
+
+    private static final ThreadLocal<Boolean> READ_ONLY_BEGIN = new ThreadLocal<>();
+
+    private final ReplicaLagMonitor lagMonitor;
+    private final ReadYourWrites readYourWrites;
+    private final Map<Target, Counter> reads;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor lagMonitor,
+                                    ReadYourWrites readYourWrites, MeterRegistry meterRegistry) {
+        this.lagMonitor = lagMonitor;
+        this.readYourWrites = readYourWrites;
+        this.reads = Map.of(
+                Target.PRIMARY, meterRegistry.counter(READS_METRIC, "target", "primary"),
+                Target.REPLICA, meterRegistry.counter(READS_METRIC, "target", "replica"));
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+    }
+
+    static void beginTransaction(boolean readOnly, Runnable begin) {
+        Boolean previous = READ_ONLY_BEGIN.get();
+        READ_ONLY_BEGIN.set(readOnly);
+        try {
+            begin.run();
+        } finally {
+            if (previous != null) {
+                READ_ONLY_BEGIN.set(previous);
+            } else {
+                READ_ONLY_BEGIN.remove();
+            }
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!Boolean.TRUE.equals(READ_ONLY_BEGIN.get())) {
+            return Target.PRIMARY;
+        }
+        Target target = lagMonitor.isCaughtUp(readYourWrites.currentToken()) ? Target.REPLICA : Target.PRIMARY;
+        reads.get(target).increment();
+        return target;
+    }
+
+    private enum Target {
+        PRIMARY,
+        REPLICA
+    }
+}
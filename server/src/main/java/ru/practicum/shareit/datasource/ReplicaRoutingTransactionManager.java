@@ -0,0 +1,28 @@
+package ru.practicum.shareit.datasource;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+
+/**
+ * Отмечает начало read-only транзакции для маршрутизации и ставит токен записи сразу после фиксации.
+ */
+@RequiredArgsConstructor
+public class ReplicaRoutingTransactionManager extends JpaTransactionManager {
+    private final ReadYourWrites readYourWrites;
+
+    @Override
+    protected void doBegin(Object transaction, TransactionDefinition definition) {
+        ReplicaRoutingDataSource.beginTransaction(definition.isReadOnly(),
+                () -> super.doBegin(transaction, definition));
+    }
+
+    @Override
+    protected void doCommit(DefaultTransactionStatus status) {
+        super.doCommit(status);
+        if (!status.isReadOnly()) {
+            readYourWrites.recordCurrentWrite();
+        }
+    }
+}
@@ -3,6 +3,8 @@ package ru.practicum.shareit.item;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import ru.practicum.shareit.common.BatchRowResult;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemWithDateDto;
@@ -23,6 +25,12 @@ public class ItemController {
         return itemService.addItem(userId, itemDto);
     }
 
+    @PostMapping("/batch")
+    public List<BatchRowResult<ItemDto>> addItems(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                  @RequestBody List<ItemDto> itemDtos) {
+        return itemService.addItems(userId, itemDtos);
+    }
+
     @PatchMapping("/{itemId}")
     public ItemDto updateItem(@RequestHeader("X-Sharer-User-Id") Long userId,
                               @PathVariable(name = "itemId") Long itemId,
@@ -32,7 +40,11 @@ public class ItemController {
 
     @GetMapping("/{itemId}")
     public ItemWithDateDto getItemWithDateById(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                               @PathVariable(name = "itemId") Long itemId) {
+                                               @PathVariable(name = "itemId") Long itemId,
+                                               WebRequest webRequest) {
+        if (webRequest.checkNotModified(itemService.getItemETag(userId, itemId))) {
+            return null;
+        }
         return itemService.getItemWithDateById(userId, itemId);
     }
 
@@ -42,8 +54,10 @@ public class ItemController {
     }
 
     @GetMapping("/search")
-    public List<ItemDto> searchItems(@RequestParam String text) {
-        return itemService.searchItem(text);
+    public List<ItemDto> searchItems(@RequestParam String text,
+                                     @RequestParam(defaultValue = "0") Integer from,
+                                     @RequestParam(defaultValue = "20") Integer size) {
+        return itemService.searchItem(text, from, size);
     }
 
     @PostMapping("/{itemId}/comment")
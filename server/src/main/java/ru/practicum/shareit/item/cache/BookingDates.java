@@ -0,0 +1,10 @@
+package ru.practicum.shareit.item.cache;
+
+import java.time.LocalDateTime;
+
+/**
+ * Даты последнего и ближайшего бронирований вещи, верные до момента validUntil:
+ * начала ближайшего бронирования или окончания идущего сейчас подтверждённого.
+ */
+public record BookingDates(LocalDateTime lastBooking, LocalDateTime nextBooking, LocalDateTime validUntil) {
+}
@@ -0,0 +1,81 @@
+package ru.practicum.shareit.item.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.common.TransactionCallbacks;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+/**
+ * Кэш карточек вещей и дат их бронирований.
+ * Записи удаляются сразу при изменении и повторно после фиксации транзакции,
+ * чтобы не осталось значения, прочитанного параллельным запросом до фиксации.
+ * Значение загружает поток, первым обратившийся к ключу, вне блокировки кэша: загрузчик внутри
+ * Cache.get(key, mappingFunction) выполнялся бы в ConcurrentHashMap.compute под synchronized
+ * и на время запроса к базе закреплял виртуальный поток за потоком-носителем.
+ * Остальные потоки ждут его результата, а запись, удалённая во время загрузки, в кэш не возвращается.
+ */
+@Component
+@Slf4j
+public class ItemCache {
+    private final AsyncCache<Object, Object> items;
+    private final AsyncCache<Object, Object> bookingDates;
+
+    public ItemCache(CaffeineCacheManager cacheManager) {
+        this.items = nativeCache(cacheManager, ItemCacheConfig.ITEMS);
+        this.bookingDates = nativeCache(cacheManager, ItemCacheConfig.BOOKING_DATES);
+    }
+
+    public ItemSnapshot getItem(Long itemId, Function<Long, ItemSnapshot> loader) {
+        return (ItemSnapshot) load(items, itemId, loader);
+    }
+
+    public BookingDates getBookingDates(Long itemId, Function<Long, BookingDates> loader) {
+        return (BookingDates) load(bookingDates, itemId, loader);
+    }
+
+    public void evictItem(Long itemId) {
+        log.debug("evictItem(itemId={})", itemId);
+        evict(items, itemId);
+    }
+
+    public void evictBookingDates(Long itemId) {
+        log.debug("evictBookingDates(itemId={})", itemId);
+        evict(bookingDates, itemId);
+    }
+
+    private static Object load(AsyncCache<Object, Object> cache, Long itemId, Function<Long, ?> loader) {
+        CompletableFuture<Object> loading = new CompletableFuture<>();
+        CompletableFuture<Object> cached = cache.get(itemId, (key, executor) -> loading);
+        if (cached == loading) {
+            try {
+                loading.complete(loader.apply(itemId));
+            } catch (RuntimeException e) {
+                loading.completeExceptionally(e);
+                throw e;
+            }
+        }
+        try {
+            return cached.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static void evict(AsyncCache<Object, Object> cache, Long itemId) {
+        cache.synchronous().invalidate(itemId);
+        TransactionCallbacks.afterCommit(() -> cache.synchronous().invalidate(itemId));
+    }
+
+    private static AsyncCache<Object, Object> nativeCache(CaffeineCacheManager cacheManager, String name) {
+        return ((CaffeineCache) cacheManager.getCache(name)).getAsyncCache();
+    }
+}
@@ -0,0 +1,71 @@
+package ru.practicum.shareit.item.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+@Configuration
+public class ItemCacheConfig {
+    public static final String ITEMS = "items";
+    public static final String BOOKING_DATES = "itemBookingDates";
+
+    /**
+     * Кэши регистрируются в CacheManager, чтобы actuator экспортировал их метрики cache.gets, cache.puts и т.д.
+     * Асинхронные кэши позволяют загружать значение вне блокировки кэша, см. {@link ItemCache}.
+     */
+    @Bean
+    public CaffeineCacheManager cacheManager(@Value("${shareit.cache.items.maximum-size}") long itemsMaximumSize,
+                                             @Value("${shareit.cache.items.ttl}") Duration itemsTtl,
+                                             @Value("${shareit.cache.booking-dates.maximum-size}")
+                                             long bookingDatesMaximumSize,
+                                             @Value("${shareit.cache.booking-dates.ttl}") Duration bookingDatesTtl) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.registerCustomCache(ITEMS, Caffeine.newBuilder()
+                .maximumSize(itemsMaximumSize)
+                .expireAfterWrite(itemsTtl)
+                .recordStats()
+                .buildAsync());
+        cacheManager.registerCustomCache(BOOKING_DATES, Caffeine.newBuilder()
+                .maximumSize(bookingDatesMaximumSize)
+                .expireAfter(untilValid(bookingDatesTtl))
+                .recordStats()
+                .buildAsync());
+        return cacheManager;
+    }
+
+    private static Expiry<Object, Object> untilValid(Duration ttl) {
+        return new Expiry<>() {
+            @Override
+            public long expireAfterCreate(Object key, Object value, long currentTime) {
+                return remaining((BookingDates) value, ttl).toNanos();
+            }
+
+            @Override
+            public long expireAfterUpdate(Object key, Object value, long currentTime, long currentDuration) {
+                return remaining((BookingDates) value, ttl).toNanos();
+            }
+
+            @Override
+            public long expireAfterRead(Object key, Object value, long currentTime, long currentDuration) {
+                return currentDuration;
+            }
+        };
+    }
+
+    private static Duration remaining(BookingDates dates, Duration ttl) {
+        if (dates.validUntil() == null) {
+            return ttl;
+        }
+        Duration remaining = Duration.between(LocalDateTime.now(), dates.validUntil());
+        if (remaining.isNegative()) {
+            return Duration.ZERO;
+        }
+        return remaining.compareTo(ttl) < 0 ? remaining : ttl;
+    }
+}
@@ -0,0 +1,18 @@
+package ru.practicum.shareit.item.cache;
+
+import ru.practicum.shareit.item.dto.CommentDto;
+
+import java.util.List;
+
+/**
+ * Неизменяемая часть карточки вещи, не зависящая от текущего времени: сама вещь и отзывы о ней.
+ */
+public record ItemSnapshot(Long id,
+                           long version,
+                           Long ownerId,
+                           String name,
+                           String description,
+                           Boolean available,
+                           Long requestId,
+                           List<CommentDto> comments) {
+}
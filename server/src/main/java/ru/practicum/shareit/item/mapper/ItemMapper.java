@@ -2,6 +2,8 @@ package ru.practicum.shareit.item.mapper;
 
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
+import ru.practicum.shareit.item.cache.ItemSnapshot;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemWithDateDto;
@@ -23,6 +25,15 @@ public interface ItemMapper {
     ItemWithDateDto toItemWithDateDto(Item item, List<CommentDto> comments,
                                       LocalDateTime lastBooking, LocalDateTime nextBooking);
 
+    @Mapping(target = "lastBooking", source = "lastBooking")
+    @Mapping(target = "nextBooking", source = "nextBooking")
+    ItemWithDateDto toItemWithDateDto(ItemSnapshot item, LocalDateTime lastBooking, LocalDateTime nextBooking);
+
+    @Mapping(target = "ownerId", source = "item.owner.id")
+    @Mapping(target = "requestId", expression = "java(item.getRequest() != null ? item.getRequest().getId() : null)")
+    @Mapping(target = "comments", source = "comments")
+    ItemSnapshot toItemSnapshot(Item item, List<CommentDto> comments);
+
     @Mapping(target = "requestId", expression = "java(item.getRequest() != null ? item.getRequest().getId() : null)")
     ItemDto toItemDto(Item item);
 
@@ -32,5 +43,15 @@ public interface ItemMapper {
     @Mapping(target = "available", source = "itemDto.available")
     @Mapping(target = "owner", source = "owner")
     @Mapping(target = "request", source = "request")
+    @Mapping(target = "version", ignore = true)
     Item toItem(ItemDto itemDto, User owner, ItemRequest request);
+
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "name", source = "itemDto.name")
+    @Mapping(target = "description", source = "itemDto.description")
+    @Mapping(target = "available", source = "itemDto.available")
+    @Mapping(target = "owner", source = "owner")
+    @Mapping(target = "request", source = "request")
+    void updateItem(ItemDto itemDto, User owner, ItemRequest request, @MappingTarget Item item);
 }
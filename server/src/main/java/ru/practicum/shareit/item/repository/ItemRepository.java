@@ -1,21 +1,60 @@
 package ru.practicum.shareit.item.repository;
 
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.ItemReplyVersion;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
     List<Item> findByOwnerId(Long userId);
 
-    @Query(" select i from Item i " +
-            "where (upper(i.name) like upper(concat('%', ?1, '%')) " +
-            "or upper(i.description) like upper(concat('%', ?1, '%'))) " +
-            "and i.available = true")
-    List<Item> findByTextIgnoreCase(String text);
+    boolean existsByOwnerId(Long userId);
+
+    @Query(value = "select i.id from items i " +
+            "where i.is_available = true " +
+            "and (lower(i.name) like concat('%', :pattern, '%') " +
+            "or lower(i.description) like concat('%', :pattern, '%')) " +
+            "order by ts_rank(i.search_vector, plainto_tsquery('simple', :text)) " +
+            "+ similarity(lower(i.name), :text) desc, i.id " +
+            "limit :size offset :from", nativeQuery = true)
+    List<Long> searchIdsByText(@Param("text") String text, @Param("pattern") String pattern,
+                               @Param("from") int from, @Param("size") int size);
 
     List<Item> findAllByRequestIdIn(List<Long> itemRequestIds);
 
     List<Item> findAllByRequestId(Long itemRequestId);
+
+    /**
+     * Загружает вещь и повышает её версию при фиксации транзакции, даже если поля вещи не менялись:
+     * так новый отзыв меняет ETag карточки вещи.
+     */
+    @Lock(LockModeType.OPTIMISTIC_FORCE_INCREMENT)
+    @Query("SELECT i FROM Item i WHERE i.id = ?1")
+    Optional<Item> findWithVersionIncrementById(Long id);
+
+    /**
+     * Блокирует вещь перед изменением её бронирований. Блокировка берётся до вставки брони:
+     * проверка внешнего ключа при вставке держит FOR KEY SHARE на строке вещи, и две брони одной вещи,
+     * запросившие FOR UPDATE после вставки, ждали бы друг друга.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM Item i WHERE i.id = ?1")
+    Optional<Item> findForUpdateById(Long id);
+
+    /**
+     * Блокирует вещи в порядке ID, чтобы транзакции, меняющие бронирования нескольких вещей, не ждали друг друга.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<Item> findByIdInOrderById(Collection<Long> ids);
+
+    @Query("SELECT new ru.practicum.shareit.request.ItemReplyVersion(i.id, i.version, o.id, o.version) " +
+            "FROM Item i JOIN i.owner o WHERE i.request.id = ?1 ORDER BY i.id")
+    List<ItemReplyVersion> findReplyVersionsByRequestId(Long requestId);
 }
@@ -0,0 +1,211 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.common.TransactionCallbacks;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Инвертированный индекс по триграммам названий и описаний вещей в памяти процесса.
+ * Подходит для H2 и для развёртывания в один экземпляр: индекс строится при старте
+ * и обновляется слушателем сущности Item, а при откате транзакции изменения возвращаются назад.
+ */
+@Component
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "memory", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class InMemoryItemSearchEngine implements ItemSearchEngine {
+    private static final int GRAM = 3;
+    private static final int WARM_UP_PAGE_SIZE = 1000;
+
+    private final ItemRepository repository;
+    private final Map<Long, Document> documents = new HashMap<>();
+    private final Map<String, Set<Long>> postings = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        Page<Item> page = repository.findAll(PageRequest.of(0, WARM_UP_PAGE_SIZE, Sort.by("id")));
+        while (true) {
+            lock.writeLock().lock();
+            try {
+                page.forEach(item -> documents.computeIfAbsent(item.getId(), id -> {
+                    Document document = Document.of(item);
+                    addPostings(document);
+                    return document;
+                }));
+            } finally {
+                lock.writeLock().unlock();
+            }
+            if (!page.hasNext()) {
+                break;
+            }
+            page = repository.findAll(page.nextPageable());
+        }
+        log.info("Поисковый индекс вещей построен, проиндексировано {}", page.getTotalElements());
+    }
+
+    @Override
+    public List<Long> search(String text, int from, int size) {
+        String query = text.toLowerCase(Locale.ROOT);
+
+        lock.readLock().lock();
+        try {
+            return candidates(query).stream()
+                    .map(documents::get)
+                    .filter(document -> document.available() && document.contains(query))
+                    .sorted(Comparator.comparingInt((Document document) -> document.score(query)).reversed()
+                            .thenComparing(Document::id))
+                    .skip(from)
+                    .limit(size)
+                    .map(Document::id)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void index(Item item) {
+        Document previous = put(Document.of(item));
+        TransactionCallbacks.afterRollback(() -> restore(item.getId(), previous));
+    }
+
+    @Override
+    public void remove(Long itemId) {
+        Document previous = delete(itemId);
+        TransactionCallbacks.afterRollback(() -> restore(itemId, previous));
+    }
+
+    private Collection<Long> candidates(String query) {
+        if (query.length() < GRAM) {
+            return documents.keySet();
+        }
+        Set<Long> result = null;
+        for (String gram : grams(query)) {
+            Set<Long> ids = postings.getOrDefault(gram, Set.of());
+            if (result == null) {
+                result = new HashSet<>(ids);
+            } else {
+                result.retainAll(ids);
+            }
+            if (result.isEmpty()) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    private void restore(Long itemId, Document previous) {
+        if (previous == null) {
+            delete(itemId);
+        } else {
+            put(previous);
+        }
+    }
+
+    private Document put(Document document) {
+        lock.writeLock().lock();
+        try {
+            Document previous = documents.put(document.id(), document);
+            if (previous != null) {
+                removePostings(previous);
+            }
+            addPostings(document);
+            return previous;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private Document delete(Long itemId) {
+        lock.writeLock().lock();
+        try {
+            Document previous = documents.remove(itemId);
+            if (previous != null) {
+                removePostings(previous);
+            }
+            return previous;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void addPostings(Document document) {
+        document.grams().forEach(gram -> postings.computeIfAbsent(gram, key -> new HashSet<>()).add(document.id()));
+    }
+
+    private void removePostings(Document document) {
+        document.grams().forEach(gram -> {
+            Set<Long> ids = postings.get(gram);
+            if (ids != null && ids.remove(document.id()) && ids.isEmpty()) {
+                postings.remove(gram);
+            }
+        });
+    }
+
+    private static Set<String> grams(String text) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+
+    private record Document(Long id, String name, String description, boolean available) {
+        static Document of(Item item) {
+            return new Document(item.getId(), normalize(item.getName()), normalize(item.getDescription()),
+                    Boolean.TRUE.equals(item.getAvailable()));
+        }
+
+        boolean contains(String query) {
+            return name.contains(query) || description.contains(query);
+        }
+
+        int score(String query) {
+            int score = 0;
+            if (name.equals(query)) {
+                score += 8;
+            }
+            if (name.startsWith(query)) {
+                score += 4;
+            }
+            if (name.contains(query)) {
+                score += 2;
+            }
+            if (description.contains(query)) {
+                score += 1;
+            }
+            return score;
+        }
+
+        Set<String> grams() {
+            Set<String> grams = InMemoryItemSearchEngine.grams(name);
+            grams.addAll(InMemoryItemSearchEngine.grams(description));
+            return grams;
+        }
+
+        private static String normalize(String text) {
+            return text == null ? "" : text.toLowerCase(Locale.ROOT);
+        }
+    }
+}
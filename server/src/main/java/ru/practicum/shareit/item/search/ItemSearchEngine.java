@@ -0,0 +1,20 @@
+package ru.practicum.shareit.item.search;
+
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+
+/**
+ * Поиск доступных вещей по подстроке в названии или описании.
+ * Реализация выбирается свойством shareit.search.engine: memory или postgres.
+ */
+public interface ItemSearchEngine {
+    /**
+     * Возвращает ID найденных вещей в порядке убывания релевантности.
+     */
+    List<Long> search(String text, int from, int size);
+
+    void index(Item item);
+
+    void remove(Long itemId);
+}
@@ -0,0 +1,30 @@
+package ru.practicum.shareit.item.search;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.model.Item;
+
+/**
+ * Передаёт изменения вещей в поисковый движок, в том числе сделанные в обход ItemService.
+ * Движок получаем лениво: слушатель создаётся вместе с EntityManagerFactory, от которой движок сам зависит.
+ */
+@Component
+@RequiredArgsConstructor
+public class ItemSearchListener {
+    private final ObjectProvider<ItemSearchEngine> searchEngine;
+
+    @PostPersist
+    @PostUpdate
+    public void onSave(Item item) {
+        searchEngine.ifAvailable(engine -> engine.index(item));
+    }
+
+    @PostRemove
+    public void onRemove(Item item) {
+        searchEngine.ifAvailable(engine -> engine.remove(item.getId()));
+    }
+}
@@ -0,0 +1,42 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Поиск средствами PostgreSQL: подстрока ищется по GIN-индексам pg_trgm,
+ * релевантность считается по сгенерированной колонке search_vector и похожести названия.
+ * Индексы и колонка обновляются самой базой, поэтому index и remove ничего не делают.
+ */
+@Component
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "postgres")
+@RequiredArgsConstructor
+public class PostgresItemSearchEngine implements ItemSearchEngine {
+    private final ItemRepository repository;
+
+    @Override
+    public List<Long> search(String text, int from, int size) {
+        String normalized = text.toLowerCase(Locale.ROOT);
+        return repository.searchIdsByText(normalized, escapeLike(normalized), from, size);
+    }
+
+    @Override
+    public void index(Item item) {
+    }
+
+    @Override
+    public void remove(Long itemId) {
+    }
+
+    private static String escapeLike(String text) {
+        return text.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+}
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.item.service;
 
+import ru.practicum.shareit.common.BatchRowResult;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemWithDateDto;
@@ -9,13 +10,17 @@ import java.util.List;
 public interface ItemService {
     ItemDto addItem(Long userId, ItemDto itemDto);
 
+    List<BatchRowResult<ItemDto>> addItems(Long userId, List<ItemDto> itemDtos);
+
     ItemDto updateItem(Long userId, Long itemId, ItemDto itemDto);
 
     ItemWithDateDto getItemWithDateById(Long userId, Long itemId);
 
+    String getItemETag(Long userId, Long itemId);
+
     List<ItemWithDateDto> getItems(Long userId);
 
-    List<ItemDto> searchItem(String text);
+    List<ItemDto> searchItem(String text, Integer from, Integer size);
 
     CommentDto addComment(Long userId, Long itemId, CommentDto commentDto);
 }
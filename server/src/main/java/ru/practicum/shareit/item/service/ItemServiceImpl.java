@@ -1,5 +1,6 @@
 package ru.practicum.shareit.item.service;
 
+import io.micrometer.observation.annotation.Observed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -7,8 +8,14 @@ import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.Booking;
 import ru.practicum.shareit.booking.BookingStatus;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.common.BatchRowResult;
+import ru.practicum.shareit.common.ETags;
+import ru.practicum.shareit.common.EntityLookup;
+import ru.practicum.shareit.common.ServiceMetrics;
 import ru.practicum.shareit.exception.IncorrectDataException;
-import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.cache.BookingDates;
+import ru.practicum.shareit.item.cache.ItemCache;
+import ru.practicum.shareit.item.cache.ItemSnapshot;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemWithDateDto;
@@ -18,23 +25,32 @@ import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+import ru.practicum.shareit.item.summary.ItemBookingSummaries;
 import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Observed(name = ServiceMetrics.OBSERVATION)
 @Transactional(readOnly = true)
 @Slf4j
 public class ItemServiceImpl implements ItemService {
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final ItemRepository repository;
     private final ItemRequestRepository itemRequestRepository;
     private final UserRepository userRepository;
@@ -42,6 +58,10 @@ public class ItemServiceImpl implements ItemService {
     private final CommentRepository commentRepository;
     private final ItemMapper itemMapper;
     private final CommentMapper commentMapper;
+    private final ItemSearchEngine searchEngine;
+    private final ItemCache itemCache;
+    private final EntityLookup entityLookup;
+    private final ItemBookingSummaries bookingSummaries;
 
     @Override
     @Transactional
@@ -51,10 +71,47 @@ public class ItemServiceImpl implements ItemService {
         User user = getUserIfExists(userId);
         ItemRequest request = getRequestIfExists(itemDto.getRequestId());
         Item item = repository.save(itemMapper.toItem(itemDto, user, request));
+        bookingSummaries.create(item.getId());
+        itemCache.evictItem(item.getId());
 
         return itemMapper.toItemDto(item);
     }
 
+    @Override
+    @Transactional
+    public List<BatchRowResult<ItemDto>> addItems(Long userId, List<ItemDto> itemDtos) {
+        log.debug("addItems(userId={}, size={})", userId, itemDtos.size());
+
+        User user = getUserIfExists(userId);
+        Map<Long, ItemRequest> requests = itemRequestRepository.findAllById(itemDtos.stream()
+                        .map(ItemDto::getRequestId)
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(ItemRequest::getId, Function.identity()));
+
+        List<BatchRowResult<ItemDto>> results = new ArrayList<>(Collections.nCopies(itemDtos.size(), null));
+        Map<Integer, Item> pending = new LinkedHashMap<>();
+        for (int i = 0; i < itemDtos.size(); i++) {
+            Long requestId = itemDtos.get(i).getRequestId();
+            ItemRequest request = requestId != null ? requests.get(requestId) : null;
+            if (requestId != null && request == null) {
+                results.set(i, BatchRowResult.failed(i, entityLookup.notFound(ItemRequest.class, requestId)));
+                continue;
+            }
+            Item item = itemMapper.toItem(itemDtos.get(i), user, request);
+            item.setId(null);
+            pending.put(i, item);
+        }
+        repository.saveAll(pending.values());
+        pending.forEach((i, item) -> {
+            bookingSummaries.create(item.getId());
+            results.set(i, BatchRowResult.created(i, itemMapper.toItemDto(item)));
+        });
+
+        return results;
+    }
+
     @Override
     @Transactional
     public ItemDto updateItem(Long userId, Long itemId, ItemDto itemDto) {
@@ -62,43 +119,44 @@ public class ItemServiceImpl implements ItemService {
 
         User user = getUserIfExists(userId);
         ItemRequest request = getRequestIfExists(itemDto.getRequestId());
-        itemDto.setId(itemId);
-        Item item = repository.save(itemMapper.toItem(itemDto, user, request));
+        Item item = getItemById(itemId);
+        itemMapper.updateItem(itemDto, user, request, item);
+        itemCache.evictItem(itemId);
 
         return itemMapper.toItemDto(item);
     }
 
     public Item getItemById(Long itemId) {
-        return repository.findById(itemId).orElseThrow(() -> {
-            log.debug(repository.findAll().stream().map(Item::getId).toList().toString());
-            return new NotFoundException("Вещь с ID = '" + itemId + "' не найдена");
-        });
+        return entityLookup.get(repository, Item.class, itemId);
     }
 
     @Override
     public ItemWithDateDto getItemWithDateById(Long userId, Long itemId) {
         log.debug("getItemById(itemId={}", itemId);
 
-        Item item = getItemById(itemId);
+        ItemSnapshot item = itemCache.getItem(itemId, this::loadItemSnapshot);
+        if (!userId.equals(item.ownerId())) {
+            return itemMapper.toItemWithDateDto(item, null, null);
+        }
+        BookingDates bookingDates = itemCache.getBookingDates(itemId, bookingSummaries::getBookingDates);
 
-        List<CommentDto> comments = commentRepository.findAllByItemId(item.getId())
-                .stream()
-                .map(commentMapper::toCommentDto)
-                .toList();
+        return itemMapper.toItemWithDateDto(item, bookingDates.lastBooking(), bookingDates.nextBooking());
+    }
 
-        Optional<Booking> lastBooking = bookingRepository
-                .findFirstByItemIdAndEndBeforeAndStatusOrderByEndDesc(item.getId(), LocalDateTime.now(),
-                        BookingStatus.APPROVED);
-        Optional<Booking> nextBooking = bookingRepository
-                .findFirstByItemIdAndStartAfterOrderByStartAsc(item.getId(), LocalDateTime.now());
-
-        boolean isOwner = userId.equals(item.getOwner().getId());
-        return itemMapper.toItemWithDateDto(
-                item,
-                comments,
-                isOwner ? lastBooking.map(Booking::getEnd).orElse(null) : null,
-                isOwner ? nextBooking.map(Booking::getStart).orElse(null) : null
-        );
+    /**
+     * Тег строится из тех же закэшированных данных, что и ответ: версии вещи, которая растёт и при новом отзыве,
+     * а для владельца — ещё и дат бронирований.
+     */
+    @Override
+    public String getItemETag(Long userId, Long itemId) {
+        entityLookup.requireExists(userRepository, User.class, userId);
+        ItemSnapshot item = itemCache.getItem(itemId, this::loadItemSnapshot);
+        if (!userId.equals(item.ownerId())) {
+            return ETags.of(item.id(), item.version());
+        }
+        BookingDates bookingDates = itemCache.getBookingDates(itemId, bookingSummaries::getBookingDates);
+
+        return ETags.of(item.id(), item.version(), bookingDates.lastBooking(), bookingDates.nextBooking());
     }
 
     @Override
@@ -114,29 +172,38 @@ public class ItemServiceImpl implements ItemService {
                 .map(Item::getId)
                 .toList();
 
-        Map<Long, LocalDateTime> lastBookingsMap = getLastBookingsMap(itemIds);
-        Map<Long, LocalDateTime> nextBookingsMap = getNextBookingsMap(itemIds);
+        Map<Long, BookingDates> bookingDatesMap = bookingSummaries.getBookingDates(itemIds);
         Map<Long, List<CommentDto>> commentsMap = getCommentsMap(itemIds);
 
         return items.stream()
                 .map(item -> itemMapper.toItemWithDateDto(
                         item,
                         commentsMap.getOrDefault(item.getId(), List.of()),
-                        lastBookingsMap.get(item.getId()),
-                        nextBookingsMap.get(item.getId())
+                        bookingDatesMap.get(item.getId()).lastBooking(),
+                        bookingDatesMap.get(item.getId()).nextBooking()
                 ))
                 .toList();
     }
 
     @Override
-    public List<ItemDto> searchItem(String text) {
-        log.debug("searchItem(text={}", text);
+    public List<ItemDto> searchItem(String text, Integer from, Integer size) {
+        log.debug("searchItem(text={}, from={}, size={})", text, from, size);
 
+        if (from < 0 || size <= 0) {
+            throw new IncorrectDataException("Параметры запроса from и size должны быть неотрицательным " +
+                    "и положительным числами соответственно");
+        }
         if ((text == null) || (text.isBlank())) {
             return Collections.emptyList();
         }
-        return repository.findByTextIgnoreCase(text)
+        List<Long> itemIds = searchEngine.search(text, from, Math.min(size, MAX_PAGE_SIZE));
+        Map<Long, Item> items = repository.findAllById(itemIds)
                 .stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+
+        return itemIds.stream()
+                .map(items::get)
+                .filter(Objects::nonNull)
                 .map(itemMapper::toItemDto)
                 .toList();
     }
@@ -147,7 +214,8 @@ public class ItemServiceImpl implements ItemService {
         log.debug("addComment(userId={}, itemId={}, commentDto={}", userId, itemId, commentDto);
 
         User user = getUserIfExists(userId);
-        getItemById(itemId);
+        Item item = repository.findWithVersionIncrementById(itemId)
+                .orElseThrow(() -> entityLookup.notFound(Item.class, itemId));
 
         Optional<Booking> booking = bookingRepository
                 .findByBookerIdAndItemIdAndEndIsBeforeAndStatus(userId, itemId, LocalDateTime.now(),
@@ -157,47 +225,31 @@ public class ItemServiceImpl implements ItemService {
                     "или срок действия брони ещё не истёк");
         }
         commentDto.setAuthorName(user.getName());
-        Comment comment = commentRepository.save(commentMapper.toComment(commentDto, user, booking.get().getItem()));
+        Comment comment = commentRepository.save(commentMapper.toComment(commentDto, user, item));
+        itemCache.evictItem(itemId);
 
         return commentMapper.toCommentDto(comment);
     }
 
     public User getUserIfExists(Long userId) {
-        return userRepository.findById(userId)
-                .orElseThrow(() -> {
-                    log.debug(userRepository.findAll().stream().map(User::getId).toList().toString());
-                    return new NotFoundException("Пользователь с ID = '" + userId + "' не найден");
-                });
+        return entityLookup.get(userRepository, User.class, userId);
     }
 
     public ItemRequest getRequestIfExists(Long requestId) {
         if (requestId == null) {
             return null;
         }
-        return itemRequestRepository.findById(requestId)
-                .orElseThrow(() -> {
-                    log.debug(itemRequestRepository.findAll().stream().map(ItemRequest::getId).toList().toString());
-                    return new NotFoundException("Запрос вещи с ID = '" + requestId + "' не найден");
-                });
+        return entityLookup.reference(itemRequestRepository, ItemRequest.class, requestId);
     }
 
-    private Map<Long, LocalDateTime> getLastBookingsMap(List<Long> itemIds) {
-        return bookingRepository.findLastBookingsForItems(itemIds,
-                        LocalDateTime.now(), BookingStatus.APPROVED)
+    private ItemSnapshot loadItemSnapshot(Long itemId) {
+        Item item = getItemById(itemId);
+        List<CommentDto> comments = commentRepository.findAllByItemId(itemId)
                 .stream()
-                .collect(Collectors.toMap(
-                        booking -> booking.getItem().getId(),
-                        Booking::getEnd
-                ));
-    }
+                .map(commentMapper::toCommentDto)
+                .toList();
 
-    private Map<Long, LocalDateTime> getNextBookingsMap(List<Long> itemIds) {
-        return bookingRepository.findNextBookingsForItems(itemIds, LocalDateTime.now())
-                .stream()
-                .collect(Collectors.toMap(
-                        booking -> booking.getItem().getId(),
-                        Booking::getStart
-                ));
+        return itemMapper.toItemSnapshot(item, comments);
     }
 
     private Map<Long, List<CommentDto>> getCommentsMap(List<Long> itemIds) {
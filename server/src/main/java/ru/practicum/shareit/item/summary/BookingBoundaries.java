@@ -0,0 +1,32 @@
+package ru.practicum.shareit.item.summary;
+
+import ru.practicum.shareit.item.cache.BookingDates;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * Границы бронирований вещи на момент запроса: окончание последнего завершённого одобренного бронирования,
+ * начало ближайшего будущего и окончание текущего одобренного.
+ */
+public interface BookingBoundaries {
+    Long getItemId();
+
+    LocalDateTime getLastBookingEnd();
+
+    LocalDateTime getNextBookingStart();
+
+    LocalDateTime getCurrentBookingEnd();
+
+    /**
+     * Даты остаются верными, пока не начнётся следующее бронирование или не закончится текущее.
+     */
+    default BookingDates toBookingDates() {
+        LocalDateTime validUntil = Stream.of(getNextBookingStart(), getCurrentBookingEnd())
+                .filter(Objects::nonNull)
+                .min(LocalDateTime::compareTo)
+                .orElse(null);
+        return new BookingDates(getLastBookingEnd(), getNextBookingStart(), validUntil);
+    }
+}
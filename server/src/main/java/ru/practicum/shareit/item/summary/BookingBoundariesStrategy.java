@@ -0,0 +1,11 @@
+package ru.practicum.shareit.item.summary;
+
+/**
+ * Способ получить границы бронирований для списка вещей одним запросом.
+ * DISTINCT_ON берёт по одной строке на вещь из индексов (item_id, status, end_date) и (item_id, start_date)
+ * и работает только в PostgreSQL; GROUP_BY агрегирует все бронирования вещей и переносим на любую СУБД.
+ */
+public enum BookingBoundariesStrategy {
+    DISTINCT_ON,
+    GROUP_BY
+}
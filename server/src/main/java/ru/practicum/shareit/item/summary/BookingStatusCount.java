@@ -0,0 +1,6 @@
+package ru.practicum.shareit.item.summary;
+
+import ru.practicum.shareit.booking.BookingStatus;
+
+public record BookingStatusCount(BookingStatus status, Long count) {
+}
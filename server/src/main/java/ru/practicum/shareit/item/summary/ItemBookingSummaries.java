@@ -0,0 +1,160 @@
+package ru.practicum.shareit.item.summary;
+
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.cache.BookingDates;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Ведёт таблицу item_booking_summary: пересчитывает сводку вещи в транзакции, изменившей её бронирования,
+ * и по расписанию — у сводок, чей срок validUntil истёк. Чтение устаревшей или отсутствующей сводки
+ * не ждёт планировщика и вычисляет даты по таблице бронирований.
+ */
+@Component
+@Slf4j
+public class ItemBookingSummaries {
+    private static final BookingDates NO_BOOKINGS = new BookingDates(null, null, null);
+
+    private final ItemBookingSummaryRepository repository;
+    private final BookingRepository bookingRepository;
+    private final ItemRepository itemRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final BookingBoundariesStrategy strategy;
+
+    public ItemBookingSummaries(ItemBookingSummaryRepository repository,
+                                BookingRepository bookingRepository,
+                                ItemRepository itemRepository,
+                                EntityManager entityManager,
+                                TransactionTemplate transactionTemplate,
+                                @Value("${shareit.booking-summary.batch-size}") int batchSize,
+                                @Value("${shareit.booking-summary.strategy}") BookingBoundariesStrategy strategy) {
+        this.repository = repository;
+        this.bookingRepository = bookingRepository;
+        this.itemRepository = itemRepository;
+        this.entityManager = entityManager;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.strategy = strategy;
+    }
+
+    public void create(Long itemId) {
+        log.debug("create(itemId={})", itemId);
+
+        ItemBookingSummary summary = new ItemBookingSummary(itemId);
+        summary.setRefreshedAt(LocalDateTime.now());
+        entityManager.persist(summary);
+    }
+
+    /**
+     * Пересчитывает сводку в текущей транзакции. Вызывающий заранее блокирует строку вещи
+     * ({@link ItemRepository#findForUpdateById}), чтобы параллельные изменения бронирований одной вещи
+     * пересчитывались по очереди и последний пересчёт видел результат предыдущего.
+     */
+    public void refresh(Long itemId) {
+        log.debug("refresh(itemId={})", itemId);
+
+        Optional<ItemBookingSummary> existing = repository.findById(itemId);
+        ItemBookingSummary summary = existing.orElseGet(() -> new ItemBookingSummary(itemId));
+        fill(summary, LocalDateTime.now());
+        if (existing.isEmpty()) {
+            entityManager.persist(summary);
+        }
+    }
+
+    public BookingDates getBookingDates(Long itemId) {
+        LocalDateTime now = LocalDateTime.now();
+        ItemBookingSummary summary = repository.findById(itemId)
+                .filter(stored -> stored.isFresh(now))
+                .orElseGet(() -> fill(new ItemBookingSummary(itemId), now));
+
+        return toBookingDates(summary);
+    }
+
+    public Map<Long, BookingDates> getBookingDates(List<Long> itemIds) {
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, BookingDates> result = new HashMap<>();
+        repository.findAllById(itemIds).stream()
+                .filter(summary -> summary.isFresh(now))
+                .forEach(summary -> result.put(summary.getItemId(), toBookingDates(summary)));
+
+        List<Long> stale = itemIds.stream()
+                .filter(itemId -> !result.containsKey(itemId))
+                .toList();
+        if (!stale.isEmpty()) {
+            log.debug("Сводки бронирований {} вещей устарели, даты вычисляются по бронированиям", stale.size());
+            result.putAll(computeBookingDates(stale, now));
+        }
+        return result;
+    }
+
+    @Scheduled(initialDelayString = "${shareit.booking-summary.refresh-interval}",
+            fixedDelayString = "${shareit.booking-summary.refresh-interval}")
+    public void rollForward() {
+        int refreshed;
+        do {
+            refreshed = transactionTemplate.execute(status -> {
+                List<Long> itemIds = repository.findExpiredItemIds(LocalDateTime.now(), Limit.of(batchSize));
+                itemRepository.findByIdInOrderById(itemIds);
+                itemIds.forEach(this::refresh);
+                return itemIds.size();
+            });
+            if (refreshed > 0) {
+                log.debug("Пересчитано {} устаревших сводок бронирований", refreshed);
+            }
+        } while (refreshed == batchSize);
+    }
+
+    public List<BookingBoundaries> findBoundaries(Collection<Long> itemIds, LocalDateTime now) {
+        return switch (strategy) {
+            case DISTINCT_ON -> bookingRepository.findBoundariesDistinctOn(itemIds, now);
+            case GROUP_BY -> bookingRepository.findBoundariesGroupBy(itemIds, now, BookingStatus.APPROVED);
+        };
+    }
+
+    private ItemBookingSummary fill(ItemBookingSummary summary, LocalDateTime now) {
+        Long itemId = summary.getItemId();
+        BookingDates dates = computeBookingDates(List.of(itemId), now).get(itemId);
+        summary.setLastBookingEnd(dates.lastBooking());
+        summary.setNextBookingStart(dates.nextBooking());
+        summary.setValidUntil(dates.validUntil());
+
+        Map<BookingStatus, Long> counts = bookingRepository.countByStatusForItem(itemId).stream()
+                .collect(Collectors.toMap(BookingStatusCount::status, BookingStatusCount::count));
+        summary.setWaitingCount(counts.getOrDefault(BookingStatus.WAITING, 0L));
+        summary.setApprovedCount(counts.getOrDefault(BookingStatus.APPROVED, 0L));
+        summary.setRejectedCount(counts.getOrDefault(BookingStatus.REJECTED, 0L));
+        summary.setCanceledCount(counts.getOrDefault(BookingStatus.CANCELED, 0L));
+        summary.setRefreshedAt(now);
+
+        return summary;
+    }
+
+    private Map<Long, BookingDates> computeBookingDates(List<Long> itemIds, LocalDateTime now) {
+        Map<Long, BookingDates> result = findBoundaries(itemIds, now).stream()
+                .collect(Collectors.toMap(BookingBoundaries::getItemId, BookingBoundaries::toBookingDates,
+                        (first, second) -> first, HashMap::new));
+        itemIds.forEach(itemId -> result.putIfAbsent(itemId, NO_BOOKINGS));
+        return result;
+    }
+
+    private static BookingDates toBookingDates(ItemBookingSummary summary) {
+        return new BookingDates(summary.getLastBookingEnd(), summary.getNextBookingStart(), summary.getValidUntil());
+    }
+}
@@ -0,0 +1,74 @@
+package ru.practicum.shareit.item.summary;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Сводка бронирований вещи для списка вещей владельца.
+ * Даты верны до момента validUntil, после которого сводку нужно пересчитать.
+ */
+@Entity
+@Table(name = "item_booking_summary")
+@Getter
+@Setter
+@NoArgsConstructor
+@ToString
+public class ItemBookingSummary {
+    @Id
+    @Column(name = "item_id")
+    private Long itemId;
+
+    @Column(name = "last_booking_end")
+    private LocalDateTime lastBookingEnd;
+
+    @Column(name = "next_booking_start")
+    private LocalDateTime nextBookingStart;
+
+    @Column(name = "valid_until")
+    private LocalDateTime validUntil;
+
+    @Column(name = "waiting_count")
+    private long waitingCount;
+
+    @Column(name = "approved_count")
+    private long approvedCount;
+
+    @Column(name = "rejected_count")
+    private long rejectedCount;
+
+    @Column(name = "canceled_count")
+    private long canceledCount;
+
+    @Column(name = "refreshed_at")
+    private LocalDateTime refreshedAt;
+
+    public ItemBookingSummary(Long itemId) {
+        this.itemId = itemId;
+    }
+
+    public boolean isFresh(LocalDateTime now) {
+        return validUntil == null || validUntil.isAfter(now);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ItemBookingSummary that = (ItemBookingSummary) o;
+        return Objects.equals(itemId, that.itemId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(itemId);
+    }
+}
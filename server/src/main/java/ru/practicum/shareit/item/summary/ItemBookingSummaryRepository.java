@@ -0,0 +1,13 @@
+package ru.practicum.shareit.item.summary;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ItemBookingSummaryRepository extends JpaRepository<ItemBookingSummary, Long> {
+    @Query("SELECT s.itemId FROM ItemBookingSummary s WHERE s.validUntil <= ?1 ORDER BY s.validUntil")
+    List<Long> findExpiredItemIds(LocalDateTime now, Limit limit);
+}
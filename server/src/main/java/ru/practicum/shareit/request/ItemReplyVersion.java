@@ -0,0 +1,7 @@
+package ru.practicum.shareit.request;
+
+/**
+ * Версии вещи, предложенной в ответ на запрос, и её владельца.
+ */
+public record ItemReplyVersion(Long itemId, long itemVersion, Long ownerId, long ownerVersion) {
+}
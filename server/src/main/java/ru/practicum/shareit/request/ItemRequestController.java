@@ -2,12 +2,18 @@ package ru.practicum.shareit.request;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import ru.practicum.shareit.common.CursorPages;
+import ru.practicum.shareit.common.PageCursor;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.dto.ItemRequestFeedDto;
 import ru.practicum.shareit.request.dto.ItemRequestResponseDto;
 import ru.practicum.shareit.request.service.ItemRequestService;
 
 import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequiredArgsConstructor
@@ -28,13 +34,23 @@ public class ItemRequestController {
     }
 
     @GetMapping("/all")
-    public List<ItemRequestDto> getAllItemRequests(@RequestHeader("X-Sharer-User-Id") Long userId) {
-        return itemRequestService.getAllItemRequests(userId);
+    public ResponseEntity<List<ItemRequestFeedDto>> getAllItemRequests(
+            @RequestHeader("X-Sharer-User-Id") Long userId,
+            @RequestParam(defaultValue = "0") Integer from,
+            @RequestParam(defaultValue = "20") Integer size,
+            @RequestParam(required = false) String cursor) {
+        return CursorPages.withNextCursor(itemRequestService.getAllItemRequests(userId, from, size, cursor),
+                PageCursor.limit(size), request -> new PageCursor(request.getCreated(), request.getId()));
     }
 
     @GetMapping("/{requestId}")
     public ItemRequestResponseDto getItemRequestById(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                                     @PathVariable("requestId") Long requestId) {
+                                                     @PathVariable("requestId") Long requestId,
+                                                     WebRequest webRequest) {
+        Optional<String> eTag = itemRequestService.getItemRequestETag(requestId);
+        if (eTag.isPresent() && webRequest.checkNotModified(eTag.get())) {
+            return null;
+        }
         return itemRequestService.getItemRequestById(userId, requestId);
     }
 }
@@ -0,0 +1,19 @@
+package ru.practicum.shareit.request.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@EqualsAndHashCode(of = {"id"})
+public class ItemRequestFeedDto {
+    private Long id;
+    private String description;
+    private UserDto requestor;
+    private LocalDateTime created;
+    private Long replies;
+}
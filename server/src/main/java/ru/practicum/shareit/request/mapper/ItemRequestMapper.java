@@ -19,6 +19,7 @@ public interface ItemRequestMapper {
 
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "created", ignore = true)
+    @Mapping(target = "version", ignore = true)
     @Mapping(target = "requestor", source = "requestor")
     ItemRequest toItemRequest(ItemRequestDto itemRequestDto, User requestor);
 
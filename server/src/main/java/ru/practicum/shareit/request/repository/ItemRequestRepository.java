@@ -1,12 +1,15 @@
 package ru.practicum.shareit.request.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.request.ItemRequest;
 
 import java.util.List;
+import java.util.Optional;
 
-public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
+public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long>, ItemRequestRepositoryCustom {
     List<ItemRequest> findByRequestorIdOrderByCreatedDesc(Long userId);
 
-    List<ItemRequest> findByRequestorIdNotOrderByCreatedDesc(Long userId);
+    @Query("SELECT r.version FROM ItemRequest r WHERE r.id = ?1")
+    Optional<Long> findVersionById(Long requestId);
 }
@@ -0,0 +1,16 @@
+package ru.practicum.shareit.request.repository;
+
+import org.springframework.lang.Nullable;
+import ru.practicum.shareit.common.PageCursor;
+import ru.practicum.shareit.request.dto.ItemRequestFeedDto;
+
+import java.util.List;
+
+public interface ItemRequestRepositoryCustom {
+    /**
+     * Чужие запросы вместе с автором и числом предложенных вещей одним запросом.
+     * Запросы упорядочены по убыванию даты создания и ID; страница начинается после курсора,
+     * а без курсора — со смещения offset.
+     */
+    List<ItemRequestFeedDto> findFeed(Long userId, @Nullable PageCursor after, long offset, long limit);
+}
@@ -0,0 +1,56 @@
+package ru.practicum.shareit.request.repository;
+
+import com.querydsl.core.BooleanBuilder;
+import com.querydsl.core.types.Projections;
+import com.querydsl.jpa.JPAExpressions;
+import com.querydsl.jpa.impl.JPAQuery;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+import org.springframework.lang.Nullable;
+import ru.practicum.shareit.common.PageCursor;
+import ru.practicum.shareit.item.model.QItem;
+import ru.practicum.shareit.request.QItemRequest;
+import ru.practicum.shareit.request.dto.ItemRequestFeedDto;
+import ru.practicum.shareit.user.QUser;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.util.List;
+
+public class ItemRequestRepositoryCustomImpl implements ItemRequestRepositoryCustom {
+    private final JPAQueryFactory queryFactory;
+
+    public ItemRequestRepositoryCustomImpl(EntityManager entityManager) {
+        this.queryFactory = new JPAQueryFactory(entityManager);
+    }
+
+    @Override
+    public List<ItemRequestFeedDto> findFeed(Long userId, @Nullable PageCursor after, long offset, long limit) {
+        QItemRequest request = QItemRequest.itemRequest;
+        QUser requestor = QUser.user;
+        QItem reply = QItem.item;
+
+        BooleanBuilder where = new BooleanBuilder(requestor.id.ne(userId));
+        if (after != null) {
+            where.and(request.created.lt(after.timestamp())
+                    .or(request.created.eq(after.timestamp()).and(request.id.lt(after.id()))));
+        }
+
+        JPAQuery<ItemRequestFeedDto> query = queryFactory
+                .select(Projections.constructor(ItemRequestFeedDto.class,
+                        request.id,
+                        request.description,
+                        Projections.constructor(UserDto.class, requestor.id, requestor.name, requestor.email),
+                        request.created,
+                        JPAExpressions.select(reply.count()).from(reply).where(reply.request.id.eq(request.id))))
+                .from(request)
+                .join(request.requestor, requestor)
+                .where(where)
+                .orderBy(request.created.desc(), request.id.desc())
+                .limit(limit);
+        if (after == null) {
+            query.offset(offset);
+        }
+
+        return query.fetch();
+    }
+}
@@ -1,16 +1,20 @@
 package ru.practicum.shareit.request.service;
 
 import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.dto.ItemRequestFeedDto;
 import ru.practicum.shareit.request.dto.ItemRequestResponseDto;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface ItemRequestService {
     ItemRequestDto addItemRequest(Long userId, ItemRequestDto itemRequestDto);
 
     List<ItemRequestResponseDto> getItemRequests(Long userId);
 
-    List<ItemRequestDto> getAllItemRequests(Long userId);
+    List<ItemRequestFeedDto> getAllItemRequests(Long userId, Integer from, Integer size, String cursor);
 
     ItemRequestResponseDto getItemRequestById(Long userId, Long requestId);
+
+    Optional<String> getItemRequestETag(Long requestId);
 }
@@ -1,13 +1,19 @@
 package ru.practicum.shareit.request.service;
 
+import io.micrometer.observation.annotation.Observed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.common.ETags;
+import ru.practicum.shareit.common.EntityLookup;
+import ru.practicum.shareit.common.PageCursor;
+import ru.practicum.shareit.common.ServiceMetrics;
+import ru.practicum.shareit.exception.IncorrectDataException;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.dto.ItemRequestFeedDto;
 import ru.practicum.shareit.request.dto.ItemRequestResponseDto;
 import ru.practicum.shareit.request.dto.ItemResponseDto;
 import ru.practicum.shareit.request.mapper.ItemRequestMapper;
@@ -15,30 +21,31 @@ import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Observed(name = ServiceMetrics.OBSERVATION)
 @Transactional(readOnly = true)
 @Slf4j
 public class ItemRequestServiceImpl implements ItemRequestService {
+
     private final ItemRequestRepository repository;
     private final ItemRequestMapper itemRequestMapper;
     private final UserRepository userRepository;
     private final ItemRepository itemRepository;
+    private final EntityLookup entityLookup;
 
     @Override
     @Transactional
     public ItemRequestDto addItemRequest(Long userId, ItemRequestDto itemRequestDto) {
         log.debug("addItemRequest(userId={}, itemRequestDto={})", userId, itemRequestDto);
 
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> {
-                    log.debug(userRepository.findAll().stream().map(User::getId).toList().toString());
-                    return new NotFoundException("Пользователь с ID = '" + userId + "' не найден");
-                });
+        User user = entityLookup.get(userRepository, User.class, userId);
         ItemRequest itemRequest = repository.save(itemRequestMapper.toItemRequest(itemRequestDto, user));
 
         return itemRequestMapper.toItemRequestDto(itemRequest);
@@ -68,17 +75,16 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     }
 
     @Override
-    public List<ItemRequestDto> getAllItemRequests(Long userId) {
-        log.debug("getAllItemRequests(userId={})", userId);
+    public List<ItemRequestFeedDto> getAllItemRequests(Long userId, Integer from, Integer size, String cursor) {
+        log.debug("getAllItemRequests(userId={}, from={}, size={}, cursor={})", userId, from, size, cursor);
 
-        List<ItemRequest> itemRequests = repository.findByRequestorIdNotOrderByCreatedDesc(userId);
-        if (itemRequests.isEmpty()) {
-            return List.of();
+        if (from < 0 || size <= 0) {
+            throw new IncorrectDataException("Параметры запроса from и size должны быть неотрицательным " +
+                    "и положительным числами соответственно");
         }
+        PageCursor after = cursor != null ? PageCursor.decode(cursor) : null;
 
-        return itemRequests.stream()
-                .map(itemRequestMapper::toItemRequestDto)
-                .toList();
+        return repository.findFeed(userId, after, from, PageCursor.limit(size));
     }
 
     @Override
@@ -94,6 +100,19 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         return itemRequestMapper.toItemRequestResponseDto(itemRequest, replies);
     }
 
+    /**
+     * В ответ на запрос входят предложенные вещи и их владельцы, поэтому тег учитывает и их версии.
+     */
+    @Override
+    public Optional<String> getItemRequestETag(Long requestId) {
+        return repository.findVersionById(requestId).map(version -> {
+            List<Object> parts = new ArrayList<>(List.of(requestId, version));
+            itemRepository.findReplyVersionsByRequestId(requestId).forEach(reply -> parts.addAll(List.of(
+                    reply.itemId(), reply.itemVersion(), reply.ownerId(), reply.ownerVersion())));
+            return ETags.of(parts.toArray());
+        });
+    }
+
     private Map<Long, List<ItemResponseDto>> getRepliesMap(List<Long> requestIds) {
         return itemRepository.findAllByRequestIdIn(requestIds)
                 .stream()
@@ -104,10 +123,6 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     }
 
     public ItemRequest getRequestIfExists(Long requestId) {
-        return repository.findById(requestId)
-                .orElseThrow(() -> {
-                    log.debug(repository.findAll().stream().map(ItemRequest::getId).toList().toString());
-                    return new NotFoundException("Запрос вещи с ID = '" + requestId + "' не найден");
-                });
+        return entityLookup.get(repository, ItemRequest.class, requestId);
     }
 }
@@ -0,0 +1,27 @@
+package ru.practicum.shareit.slowquery;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+/**
+ * /actuator/slowqueries: отпечатки с наибольшим суммарным временем (параметр top), только чтение.
+ */
+@Component
+@Endpoint(id = "slowqueries")
+public class SlowQueryEndpoint {
+    private final SlowQueryLog slowQueryLog;
+    private final int top;
+
+    public SlowQueryEndpoint(SlowQueryLog slowQueryLog, @Value("${shareit.slow-query.top}") int top) {
+        this.slowQueryLog = slowQueryLog;
+        this.top = top;
+    }
+
+    @ReadOperation
+    public SlowQueryReport report(@Nullable Integer top) {
+        return slowQueryLog.report(top != null && top > 0 ? top : this.top);
+    }
+}
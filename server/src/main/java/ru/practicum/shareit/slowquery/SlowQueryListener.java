@@ -0,0 +1,29 @@
+package ru.practicum.shareit.slowquery;
+
+import lombok.RequiredArgsConstructor;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Передаёт выполненные запросы в {@link SlowQueryLog}; пакет учитывается по первому запросу.
+ */
+@Component
+@RequiredArgsConstructor
+public class SlowQueryListener implements QueryExecutionListener {
+    private final SlowQueryLog slowQueryLog;
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (!queryInfoList.isEmpty()) {
+            slowQueryLog.record(queryInfoList.get(0).getQuery(), execInfo.getElapsedTime());
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package ru.practicum.shareit.slowquery;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Журнал медленных запросов и выборки остальных с весом 1/sampleRate; сводка строится в фоновом потоке.
+ */
+@Component
+@Slf4j
+public class SlowQueryLog {
+    private final long thresholdMillis;
+    private final double sampleRate;
+    private final int maxFingerprints;
+    private final BlockingQueue<Sample> buffer;
+    private final Map<String, Aggregate> statements = new HashMap<>();
+    private final LongAdder executed = new LongAdder();
+    private final LongAdder recorded = new LongAdder();
+    private final LongAdder slow = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder untracked = new LongAdder();
+    private volatile Thread drain;
+
+    public SlowQueryLog(@Value("${shareit.slow-query.threshold}") Duration threshold,
+                        @Value("${shareit.slow-query.sample-rate}") double sampleRate,
+                        @Value("${shareit.slow-query.buffer-size}") int bufferSize,
+                        @Value("${shareit.slow-query.max-fingerprints}") int maxFingerprints) {
+        if (!(sampleRate > 0 && sampleRate <= 1)) {
+            throw new IllegalArgumentException("shareit.slow-query.sample-rate должен быть в (0, 1]: " + sampleRate);
+        }
+        this.thresholdMillis = threshold.toMillis();
+        this.sampleRate = sampleRate;
+        this.maxFingerprints = maxFingerprints;
+        this.buffer = new ArrayBlockingQueue<>(bufferSize);
+    }
+
+    @PostConstruct
+    public void start() {
+        drain = Thread.ofVirtual().name("slow-query-log").start(this::drain);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (drain != null) {
+            drain.interrupt();
+        }
+    }
+
+    public void record(String sql, long elapsedMillis) {
+        executed.increment();
+        boolean slowQuery = elapsedMillis >= thresholdMillis;
+        if (!slowQuery && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return;
+        }
+        double weight = slowQuery ? 1 : 1 / sampleRate;
+        if (!buffer.offer(new Sample(sql, elapsedMillis, slowQuery, weight, Instant.now()))) {
+            dropped.increment();
+        }
+    }
+
+    public SlowQueryReport report(int top) {
+        List<SlowQueryStatement> statementsByTotal;
+        synchronized (statements) {
+            statementsByTotal = statements.entrySet().stream()
+                    .map(entry -> entry.getValue().toStatement(entry.getKey()))
+                    .sorted(Comparator.comparingLong(SlowQueryStatement::totalMillis).reversed())
+                    .limit(top)
+                    .toList();
+        }
+        return new SlowQueryReport(executed.sum(), recorded.sum(), slow.sum(), dropped.sum(), untracked.sum(),
+                statementsByTotal);
+    }
+
+    private void drain() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                aggregate(buffer.take());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void aggregate(Sample sample) {
+        String fingerprint = SqlFingerprint.of(sample.sql());
+        recorded.increment();
+        if (sample.slow()) {
+            slow.increment();
+            log.warn("Медленный SQL-запрос ({} мс): {}", sample.elapsedMillis(), fingerprint);
+        }
+        synchronized (statements) {
+            Aggregate aggregate = statements.get(fingerprint);
+            if (aggregate == null) {
+                if (statements.size() >= maxFingerprints) {
+                    untracked.increment();
+                    return;
+                }
+                aggregate = new Aggregate();
+                statements.put(fingerprint, aggregate);
+            }
+            aggregate.add(sample);
+        }
+    }
+
+    private record Sample(String sql, long elapsedMillis, boolean slow, double weight, Instant at) {
+    }
+
+    private static class Aggregate {
+        private double count;
+        private long slowCount;
+        private double totalMillis;
+        private long maxMillis;
+        private Instant lastSeen;
+
+        void add(Sample sample) {
+            count += sample.weight();
+            if (sample.slow()) {
+                slowCount++;
+            }
+            totalMillis += sample.elapsedMillis() * sample.weight();
+            maxMillis = Math.max(maxMillis, sample.elapsedMillis());
+            lastSeen = sample.at();
+        }
+
+        SlowQueryStatement toStatement(String fingerprint) {
+            return new SlowQueryStatement(fingerprint, Math.round(count), slowCount, Math.round(totalMillis),
+                    maxMillis, lastSeen);
+        }
+    }
+}
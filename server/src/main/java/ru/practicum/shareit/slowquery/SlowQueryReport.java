@@ -0,0 +1,14 @@
+package ru.practicum.shareit.slowquery;
+
+import java.util.List;
+
+/**
+ * Ответ /actuator/slowqueries; executed — все выполненные запросы, recorded — записанные в сводку.
+ */
+public record SlowQueryReport(long executed,
+                              long recorded,
+                              long slow,
+                              long dropped,
+                              long untracked,
+                              List<SlowQueryStatement> top) {
+}
@@ -0,0 +1,14 @@
+package ru.practicum.shareit.slowquery;
+
+import java.time.Instant;
+
+/**
+ * Сводка по отпечатку; count и totalMillis — оценки с учётом выборки.
+ */
+public record SlowQueryStatement(String fingerprint,
+                                 long count,
+                                 long slowCount,
+                                 long totalMillis,
+                                 long maxMillis,
+                                 Instant lastSeen) {
+}
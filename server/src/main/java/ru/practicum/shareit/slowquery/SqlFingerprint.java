@@ -0,0 +1,23 @@
+package ru.practicum.shareit.slowquery;
+
+import java.util.regex.Pattern;
+
+/**
+ * Отпечаток SQL: значения заменены на ?, списки IN свёрнуты, пробелы схлопнуты.
+ */
+public final class SqlFingerprint {
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("(?i)\\bin\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private SqlFingerprint() {
+    }
+
+    public static String of(String sql) {
+        String fingerprint = STRING_LITERAL.matcher(sql).replaceAll("?");
+        fingerprint = NUMBER.matcher(fingerprint).replaceAll("?");
+        fingerprint = IN_LIST.matcher(fingerprint).replaceAll("in (?)");
+        return WHITESPACE.matcher(fingerprint).replaceAll(" ").trim();
+    }
+}
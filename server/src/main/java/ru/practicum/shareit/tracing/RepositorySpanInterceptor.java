@@ -0,0 +1,42 @@
+package ru.practicum.shareit.tracing;
+
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * Спан вокруг вызова метода репозитория, только внутри существующей трассировки.
+ */
+class RepositorySpanInterceptor implements MethodInterceptor {
+    private final ObjectProvider<Tracer> tracer;
+    private final String repository;
+
+    RepositorySpanInterceptor(ObjectProvider<Tracer> tracer, Class<?> repositoryInterface) {
+        this.tracer = tracer;
+        this.repository = repositoryInterface.getSimpleName();
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Tracer currentTracer = tracer.getIfAvailable();
+        if (currentTracer == null || currentTracer.currentSpan() == null) {
+            return invocation.proceed();
+        }
+        String method = invocation.getMethod().getName();
+        Span span = currentTracer.nextSpan()
+                .name(repository + "#" + method)
+                .tag("repository", repository)
+                .tag("method", method)
+                .start();
+        try (Tracer.SpanInScope ignored = currentTracer.withSpan(span)) {
+            return invocation.proceed();
+        } catch (Throwable e) {
+            span.error(e);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package ru.practicum.shareit.tracing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.tracing.Tracer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+import java.nio.file.Path;
+
+@Configuration
+public class TracingConfig {
+
+    /**
+     * Добавляет {@link RepositorySpanInterceptor} в прокси каждого репозитория Spring Data.
+     */
+    @Bean
+    public static BeanPostProcessor repositorySpanPostProcessor(ObjectProvider<Tracer> tracer) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                            (proxyFactory, repositoryInformation) -> proxyFactory.addAdvice(
+                                    new RepositorySpanInterceptor(tracer,
+                                            repositoryInformation.getRepositoryInterface()))));
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    @ConditionalOnProperty("shareit.tracing.file")
+    public JsonLinesSpanExporter jsonLinesSpanExporter(@Value("${shareit.tracing.file}") Path file,
+                                                       ObjectMapper objectMapper) {
+        return new JsonLinesSpanExporter(file, objectMapper);
+    }
+}
@@ -3,6 +3,7 @@ package ru.practicum.shareit.user;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.common.BatchRowResult;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.service.UserService;
 
@@ -20,6 +21,11 @@ public class UserController {
         return userService.createUser(userDto);
     }
 
+    @PostMapping("/batch")
+    public List<BatchRowResult<UserDto>> createUsers(@RequestBody List<UserDto> userDtos) {
+        return userService.createUsers(userDtos);
+    }
+
     @PatchMapping("/{userId}")
     public UserDto updateUser(@PathVariable("userId") Long userId, @RequestBody UserDto userDto) {
         return userService.updateUser(userId, userDto);
@@ -1,6 +1,7 @@
 package ru.practicum.shareit.user.mapper;
 
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.dto.UserDto;
 
@@ -8,5 +9,6 @@ import ru.practicum.shareit.user.dto.UserDto;
 public interface UserMapper {
     UserDto toUserDto(User user);
 
+    @Mapping(target = "version", ignore = true)
     User toUser(UserDto userDto);
 }
@@ -1,7 +1,13 @@
 package ru.practicum.shareit.user.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.user.User;
 
+import java.util.Collection;
+import java.util.Set;
+
 public interface UserRepository extends JpaRepository<User, Long> {
+    @Query("SELECT u.email FROM User u WHERE u.email IN ?1")
+    Set<String> findExistingEmails(Collection<String> emails);
 }
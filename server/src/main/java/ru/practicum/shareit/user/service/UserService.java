@@ -1,5 +1,6 @@
 package ru.practicum.shareit.user.service;
 
+import ru.practicum.shareit.common.BatchRowResult;
 import ru.practicum.shareit.user.dto.UserDto;
 
 import java.util.List;
@@ -7,6 +8,8 @@ import java.util.List;
 public interface UserService {
     UserDto createUser(UserDto userDto);
 
+    List<BatchRowResult<UserDto>> createUsers(List<UserDto> userDtos);
+
     UserDto updateUser(Long userId, UserDto userDto);
 
     List<UserDto> getUsers();
@@ -1,24 +1,37 @@
 package ru.practicum.shareit.user.service;
 
+import io.micrometer.observation.annotation.Observed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.common.BatchRowResult;
+import ru.practicum.shareit.common.BatchRowStatus;
+import ru.practicum.shareit.common.EntityLookup;
+import ru.practicum.shareit.common.ServiceMetrics;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.repository.UserRepository;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
+@Observed(name = ServiceMetrics.OBSERVATION)
 @Transactional
 @Slf4j
 public class UserServiceImpl implements UserService {
     private final UserRepository repository;
     private final UserMapper userMapper;
+    private final EntityLookup entityLookup;
 
     @Override
     public UserDto createUser(UserDto userDto) {
@@ -28,20 +41,52 @@ public class UserServiceImpl implements UserService {
         return userMapper.toUserDto(user);
     }
 
+    /**
+     * Адреса сверяются с базой и между собой до вставки: нарушение уникальности посреди пакета
+     * откатило бы всю транзакцию, а не одну строку.
+     */
+    @Override
+    public List<BatchRowResult<UserDto>> createUsers(List<UserDto> userDtos) {
+        log.debug("createUsers(size={})", userDtos.size());
+
+        Set<String> takenEmails = new HashSet<>(repository.findExistingEmails(userDtos.stream()
+                .map(UserDto::getEmail)
+                .filter(Objects::nonNull)
+                .toList()));
+        List<BatchRowResult<UserDto>> results = new ArrayList<>(Collections.nCopies(userDtos.size(), null));
+        Map<Integer, User> pending = new LinkedHashMap<>();
+        for (int i = 0; i < userDtos.size(); i++) {
+            String email = userDtos.get(i).getEmail();
+            if (email == null || email.isBlank()) {
+                results.set(i, BatchRowResult.failed(i, BatchRowStatus.INVALID,
+                        "У нового пользователя обязательно должен быть указан email"));
+            } else if (!takenEmails.add(email)) {
+                results.set(i, BatchRowResult.failed(i, BatchRowStatus.CONFLICT,
+                        "Пользователь с email = '" + email + "' уже существует"));
+            } else {
+                User user = userMapper.toUser(userDtos.get(i));
+                user.setId(null);
+                pending.put(i, user);
+            }
+        }
+        repository.saveAll(pending.values());
+        pending.forEach((i, user) -> results.set(i, BatchRowResult.created(i, userMapper.toUserDto(user))));
+
+        return results;
+    }
+
     @Override
     public UserDto updateUser(Long userId, UserDto userDto) {
         log.debug("updateUser(userId={}, userDto={})", userId, userDto);
-        UserDto oldUserDto = getUserById(userId);
+        User user = entityLookup.get(repository, User.class, userId);
 
-        userDto.setId(userId);
-        if (userDto.getEmail() == null || userDto.getEmail().isBlank()) {
-            userDto.setEmail(oldUserDto.getEmail());
+        if (userDto.getEmail() != null && !userDto.getEmail().isBlank()) {
+            user.setEmail(userDto.getEmail());
         }
-        if (userDto.getName() == null || userDto.getName().isBlank()) {
-            userDto.setName(oldUserDto.getName());
+        if (userDto.getName() != null && !userDto.getName().isBlank()) {
+            user.setName(userDto.getName());
         }
-        User user = repository.save(userMapper.toUser(userDto));
-        return userMapper.toUserDto(user);
+        return userMapper.toUserDto(repository.save(user));
     }
 
     @Override
@@ -60,10 +105,7 @@ public class UserServiceImpl implements UserService {
     public UserDto getUserById(Long userId) {
         log.debug("getUserById(userId={})", userId);
 
-        User user = repository.findById(userId).orElseThrow(() -> {
-            log.debug(repository.findAll().stream().map(User::getId).toList().toString());
-            return new NotFoundException("Пользователь с ID = '" + userId + "' не найден");
-        });
+        User user = entityLookup.get(repository, User.class, userId);
 
         return userMapper.toUserDto(user);
     }
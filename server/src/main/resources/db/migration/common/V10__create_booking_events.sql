@@ -0,0 +1,13 @@
+-- Исходящие события бронирований для потоков владельцев вещей. Запись идёт в транзакции, изменившей бронирование,
+-- а ID выдаёт IDENTITY без предвыделения, чтобы номера росли в порядке вставки и годились для Last-Event-ID.
+CREATE TABLE IF NOT EXISTS booking_events (
+          id BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+          owner_id BIGINT NOT NULL,
+          booking_id BIGINT NOT NULL,
+          type VARCHAR(30) NOT NULL,
+          payload VARCHAR(4000) NOT NULL,
+          created TIMESTAMP WITHOUT TIME ZONE NOT NULL
+        );
+
+CREATE INDEX IF NOT EXISTS idx_booking_events_owner_id ON booking_events (owner_id, id);
+CREATE INDEX IF NOT EXISTS idx_booking_events_created ON booking_events (created);
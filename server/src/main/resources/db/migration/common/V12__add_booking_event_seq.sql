@@ -0,0 +1,19 @@
+-- IDENTITY выдаётся при вставке, а не при фиксации: транзакция с меньшим ID может зафиксироваться позже,
+-- и клиент, продолжающий с большего ID, пропустил бы её. Поэтому Last-Event-ID — это seq, который реле
+-- присваивает уже зафиксированным событиям под блокировкой единственной строки booking_event_cursor.
+-- Существующие события получают seq, равный ID, чтобы сохранённые клиентами Last-Event-ID остались верны.
+ALTER TABLE booking_events ADD COLUMN seq BIGINT;
+UPDATE booking_events SET seq = id;
+
+CREATE UNIQUE INDEX IF NOT EXISTS idx_booking_events_seq ON booking_events (seq);
+CREATE INDEX IF NOT EXISTS idx_booking_events_owner_seq ON booking_events (owner_id, seq);
+DROP INDEX IF EXISTS idx_booking_events_owner_id;
+
+CREATE TABLE IF NOT EXISTS booking_event_cursor (
+          id INTEGER PRIMARY KEY,
+          last_seq BIGINT NOT NULL
+        );
+
+INSERT INTO booking_event_cursor (id, last_seq)
+SELECT 1, COALESCE(MAX(id), 0)
+FROM booking_events;
@@ -1,9 +1,3 @@
-DROP TABLE IF EXISTS comments CASCADE;
-DROP TABLE IF EXISTS bookings CASCADE;
-DROP TABLE IF EXISTS requests CASCADE;
-DROP TABLE IF EXISTS items CASCADE;
-DROP TABLE IF EXISTS users CASCADE;
-
 CREATE TABLE IF NOT EXISTS users (
           id BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
           email VARCHAR(50) UNIQUE,
@@ -47,4 +41,4 @@ CREATE TABLE IF NOT EXISTS requests (
           requestor_id BIGINT,
           created TIMESTAMP WITHOUT TIME ZONE,
           CONSTRAINT fk_requests_to_users FOREIGN KEY(requestor_id) REFERENCES users(id)
-        );
\ No newline at end of file
+        );
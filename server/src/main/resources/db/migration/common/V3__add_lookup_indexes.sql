@@ -0,0 +1,7 @@
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_start ON bookings (booker_id, start_date DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_bookings_item_status_end ON bookings (item_id, status, end_date);
+CREATE INDEX IF NOT EXISTS idx_bookings_item_start ON bookings (item_id, start_date);
+CREATE INDEX IF NOT EXISTS idx_comments_item ON comments (item_id);
+CREATE INDEX IF NOT EXISTS idx_items_owner ON items (owner_id);
+CREATE INDEX IF NOT EXISTS idx_items_request ON items (request_id);
+CREATE INDEX IF NOT EXISTS idx_requests_requestor_created ON requests (requestor_id, created DESC);
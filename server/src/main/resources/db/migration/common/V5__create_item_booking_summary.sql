@@ -0,0 +1,20 @@
+CREATE TABLE IF NOT EXISTS item_booking_summary (
+          item_id BIGINT PRIMARY KEY,
+          last_booking_end TIMESTAMP WITHOUT TIME ZONE,
+          next_booking_start TIMESTAMP WITHOUT TIME ZONE,
+          valid_until TIMESTAMP WITHOUT TIME ZONE,
+          waiting_count BIGINT NOT NULL DEFAULT 0,
+          approved_count BIGINT NOT NULL DEFAULT 0,
+          rejected_count BIGINT NOT NULL DEFAULT 0,
+          canceled_count BIGINT NOT NULL DEFAULT 0,
+          refreshed_at TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+          CONSTRAINT fk_item_booking_summary_to_items FOREIGN KEY(item_id) REFERENCES items(id) ON DELETE CASCADE
+        );
+
+CREATE INDEX IF NOT EXISTS idx_item_booking_summary_valid_until ON item_booking_summary (valid_until);
+
+-- Существующие вещи получают сразу устаревшие сводки: их заполнит первый проход планировщика
+INSERT INTO item_booking_summary (item_id, valid_until, refreshed_at)
+SELECT i.id, LOCALTIMESTAMP, LOCALTIMESTAMP
+FROM items i
+WHERE NOT EXISTS (SELECT 1 FROM item_booking_summary s WHERE s.item_id = i.id);
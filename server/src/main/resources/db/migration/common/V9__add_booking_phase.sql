@@ -0,0 +1,15 @@
+-- Фаза бронирования относительно текущего момента: FUTURE, CURRENT или PAST.
+-- Строки, вставленные в обход приложения, получают FUTURE, и планировщик фаз переводит их при ближайшем обходе.
+ALTER TABLE bookings ADD COLUMN IF NOT EXISTS phase VARCHAR(20) NOT NULL DEFAULT 'FUTURE';
+
+UPDATE bookings SET phase = CASE
+    WHEN end_date < LOCALTIMESTAMP THEN 'PAST'
+    WHEN start_date > LOCALTIMESTAMP THEN 'FUTURE'
+    ELSE 'CURRENT'
+END;
+
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_phase_start ON bookings (booker_id, phase, start_date DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_bookings_item_phase_start ON bookings (item_id, phase, start_date DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_bookings_phase_start ON bookings (phase, start_date);
+CREATE INDEX IF NOT EXISTS idx_bookings_phase_end ON bookings (phase, end_date);
+CREATE INDEX IF NOT EXISTS idx_bookings_status_start ON bookings (status, start_date);
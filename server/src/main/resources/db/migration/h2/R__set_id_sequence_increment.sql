@@ -0,0 +1,9 @@
+-- Шаг последовательностей ID берётся из свойства shareit.id.allocation-size. Flyway считает контрольную сумму
+-- после подстановки, поэтому миграция выполняется заново при каждой смене шага.
+-- H2 хранит следующее значение последовательности, а не последнее выданное, поэтому смена шага
+-- не затрагивает уже выданные диапазоны.
+ALTER SEQUENCE users_seq INCREMENT BY ${id-allocation-size};
+ALTER SEQUENCE items_seq INCREMENT BY ${id-allocation-size};
+ALTER SEQUENCE bookings_seq INCREMENT BY ${id-allocation-size};
+ALTER SEQUENCE comments_seq INCREMENT BY ${id-allocation-size};
+ALTER SEQUENCE requests_seq INCREMENT BY ${id-allocation-size};
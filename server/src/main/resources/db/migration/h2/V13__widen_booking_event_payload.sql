@@ -0,0 +1,3 @@
+-- Событие несёт полный BookingResponseDto с вещью и пользователями, и 4000 символов ему может не хватить.
+-- VARCHAR без длины, а не TEXT: в H2 TEXT — это CLOB, который не проходит проверку схемы для поля String
+ALTER TABLE booking_events ALTER COLUMN payload SET DATA TYPE CHARACTER VARYING;
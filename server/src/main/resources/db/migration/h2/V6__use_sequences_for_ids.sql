@@ -0,0 +1,18 @@
+-- Ключи пользователей, вещей и бронирований выдаются последовательностями с шагом 50:
+-- Hibernate резервирует диапазон ID заранее и может отправлять вставки пачками.
+-- Последовательности начинаются после максимального существующего ID, поэтому старые ID не меняются;
+-- значение по умолчанию оставляет рабочими вставки без ID из SQL.
+ALTER TABLE users ALTER COLUMN id DROP IDENTITY;
+CREATE SEQUENCE IF NOT EXISTS users_seq START WITH 1 INCREMENT BY 50;
+ALTER SEQUENCE users_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 1 FROM users);
+ALTER TABLE users ALTER COLUMN id SET DEFAULT NEXT VALUE FOR users_seq;
+
+ALTER TABLE items ALTER COLUMN id DROP IDENTITY;
+CREATE SEQUENCE IF NOT EXISTS items_seq START WITH 1 INCREMENT BY 50;
+ALTER SEQUENCE items_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 1 FROM items);
+ALTER TABLE items ALTER COLUMN id SET DEFAULT NEXT VALUE FOR items_seq;
+
+ALTER TABLE bookings ALTER COLUMN id DROP IDENTITY;
+CREATE SEQUENCE IF NOT EXISTS bookings_seq START WITH 1 INCREMENT BY 50;
+ALTER SEQUENCE bookings_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 1 FROM bookings);
+ALTER TABLE bookings ALTER COLUMN id SET DEFAULT NEXT VALUE FOR bookings_seq;
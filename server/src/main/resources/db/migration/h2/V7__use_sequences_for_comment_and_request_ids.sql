@@ -0,0 +1,10 @@
+-- Отзывы и запросы вещей переходят на последовательности так же, как пользователи, вещи и бронирования в V6.
+ALTER TABLE comments ALTER COLUMN id DROP IDENTITY;
+CREATE SEQUENCE IF NOT EXISTS comments_seq START WITH 1 INCREMENT BY 50;
+ALTER SEQUENCE comments_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 1 FROM comments);
+ALTER TABLE comments ALTER COLUMN id SET DEFAULT NEXT VALUE FOR comments_seq;
+
+ALTER TABLE requests ALTER COLUMN id DROP IDENTITY;
+CREATE SEQUENCE IF NOT EXISTS requests_seq START WITH 1 INCREMENT BY 50;
+ALTER SEQUENCE requests_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 1 FROM requests);
+ALTER TABLE requests ALTER COLUMN id SET DEFAULT NEXT VALUE FOR requests_seq;
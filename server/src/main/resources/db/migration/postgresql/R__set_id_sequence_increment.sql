@@ -0,0 +1,23 @@
+-- Шаг последовательностей ID берётся из свойства shareit.id.allocation-size. Flyway считает контрольную сумму
+-- после подстановки, поэтому миграция выполняется заново при каждой смене шага.
+-- Перед сменой шага последовательность переводится за последний выданный диапазон: при уменьшении шага
+-- следующее значение иначе попало бы в диапазон, который уже мог занять работающий экземпляр.
+SELECT setval('users_seq', last_value + increment_by, false) FROM pg_sequences
+WHERE sequencename = 'users_seq' AND last_value IS NOT NULL;
+ALTER SEQUENCE users_seq INCREMENT BY ${id-allocation-size};
+
+SELECT setval('items_seq', last_value + increment_by, false) FROM pg_sequences
+WHERE sequencename = 'items_seq' AND last_value IS NOT NULL;
+ALTER SEQUENCE items_seq INCREMENT BY ${id-allocation-size};
+
+SELECT setval('bookings_seq', last_value + increment_by, false) FROM pg_sequences
+WHERE sequencename = 'bookings_seq' AND last_value IS NOT NULL;
+ALTER SEQUENCE bookings_seq INCREMENT BY ${id-allocation-size};
+
+SELECT setval('comments_seq', last_value + increment_by, false) FROM pg_sequences
+WHERE sequencename = 'comments_seq' AND last_value IS NOT NULL;
+ALTER SEQUENCE comments_seq INCREMENT BY ${id-allocation-size};
+
+SELECT setval('requests_seq', last_value + increment_by, false) FROM pg_sequences
+WHERE sequencename = 'requests_seq' AND last_value IS NOT NULL;
+ALTER SEQUENCE requests_seq INCREMENT BY ${id-allocation-size};
@@ -0,0 +1,2 @@
+-- Событие несёт полный BookingResponseDto с вещью и пользователями, и 4000 символов ему может не хватить
+ALTER TABLE booking_events ALTER COLUMN payload TYPE TEXT;
@@ -0,0 +1,18 @@
+-- Ключи пользователей, вещей и бронирований выдаются последовательностями с шагом 50:
+-- Hibernate резервирует диапазон ID заранее и может отправлять вставки пачками.
+-- Последовательности начинаются после максимального существующего ID, поэтому старые ID не меняются;
+-- значение по умолчанию оставляет рабочими вставки без ID из SQL.
+ALTER TABLE users ALTER COLUMN id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE IF NOT EXISTS users_seq INCREMENT BY 50;
+SELECT setval('users_seq', COALESCE((SELECT MAX(id) FROM users), 0) + 1, false);
+ALTER TABLE users ALTER COLUMN id SET DEFAULT nextval('users_seq');
+
+ALTER TABLE items ALTER COLUMN id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE IF NOT EXISTS items_seq INCREMENT BY 50;
+SELECT setval('items_seq', COALESCE((SELECT MAX(id) FROM items), 0) + 1, false);
+ALTER TABLE items ALTER COLUMN id SET DEFAULT nextval('items_seq');
+
+ALTER TABLE bookings ALTER COLUMN id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE IF NOT EXISTS bookings_seq INCREMENT BY 50;
+SELECT setval('bookings_seq', COALESCE((SELECT MAX(id) FROM bookings), 0) + 1, false);
+ALTER TABLE bookings ALTER COLUMN id SET DEFAULT nextval('bookings_seq');
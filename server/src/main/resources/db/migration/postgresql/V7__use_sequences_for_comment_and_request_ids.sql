@@ -0,0 +1,10 @@
+-- Отзывы и запросы вещей переходят на последовательности так же, как пользователи, вещи и бронирования в V6.
+ALTER TABLE comments ALTER COLUMN id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE IF NOT EXISTS comments_seq INCREMENT BY 50;
+SELECT setval('comments_seq', COALESCE((SELECT MAX(id) FROM comments), 0) + 1, false);
+ALTER TABLE comments ALTER COLUMN id SET DEFAULT nextval('comments_seq');
+
+ALTER TABLE requests ALTER COLUMN id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE IF NOT EXISTS requests_seq INCREMENT BY 50;
+SELECT setval('requests_seq', COALESCE((SELECT MAX(id) FROM requests), 0) + 1, false);
+ALTER TABLE requests ALTER COLUMN id SET DEFAULT nextval('requests_seq');
@@ -0,0 +1,119 @@
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.cache.BookingDates;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.summary.BookingBoundaries;
+import ru.practicum.shareit.user.User;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Transactional
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        classes = ShareItServer.class)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class BookingBoundariesTest {
+    private final EntityManager em;
+    private final BookingRepository repository;
+
+    private final LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+    private Item busy;
+    private Item future;
+    private Item idle;
+
+    @BeforeEach
+    void setUp() {
+        User owner = makeUser("boundsowner@email.com");
+        em.persist(owner);
+        User booker = makeUser("boundsbooker@email.com");
+        em.persist(booker);
+
+        busy = makeItem("Busy", owner);
+        em.persist(busy);
+        future = makeItem("Future", owner);
+        em.persist(future);
+        idle = makeItem("Idle", owner);
+        em.persist(idle);
+
+        em.persist(makeBooking(now.minusDays(5), now.minusDays(4), busy, booker, BookingStatus.APPROVED));
+        em.persist(makeBooking(now.minusDays(3), now.minusDays(2), busy, booker, BookingStatus.APPROVED));
+        em.persist(makeBooking(now.minusDays(2), now.minusDays(1), busy, booker, BookingStatus.REJECTED));
+        em.persist(makeBooking(now.minusHours(1), now.plusHours(5), busy, booker, BookingStatus.APPROVED));
+        em.persist(makeBooking(now.plusDays(1), now.plusDays(2), busy, booker, BookingStatus.WAITING));
+        em.persist(makeBooking(now.plusDays(3), now.plusDays(4), busy, booker, BookingStatus.APPROVED));
+        em.persist(makeBooking(now.plusDays(7), now.plusDays(8), future, booker, BookingStatus.APPROVED));
+        em.flush();
+    }
+
+    @Test
+    void groupByReturnsLastNextAndCurrentPerItem() {
+        Map<Long, BookingDates> dates = toDates(repository.findBoundariesGroupBy(
+                List.of(busy.getId(), future.getId(), idle.getId()), now, BookingStatus.APPROVED));
+
+        assertBoundaries(dates);
+    }
+
+    @Test
+    void distinctOnReturnsSameBoundariesAsGroupBy() {
+        List<Long> itemIds = List.of(busy.getId(), future.getId(), idle.getId());
+
+        Map<Long, BookingDates> dates = toDates(repository.findBoundariesDistinctOn(itemIds, now));
+
+        assertBoundaries(dates);
+        assertThat(dates.get(idle.getId())).isEqualTo(new BookingDates(null, null, null));
+        assertThat(dates).containsAllEntriesOf(toDates(repository.findBoundariesGroupBy(itemIds, now,
+                BookingStatus.APPROVED)));
+    }
+
+    private void assertBoundaries(Map<Long, BookingDates> dates) {
+        assertThat(dates.get(busy.getId()))
+                .isEqualTo(new BookingDates(now.minusDays(2), now.plusDays(1), now.plusHours(5)));
+        assertThat(dates.get(future.getId()))
+                .isEqualTo(new BookingDates(null, now.plusDays(7), now.plusDays(7)));
+    }
+
+    private static Map<Long, BookingDates> toDates(List<BookingBoundaries> boundaries) {
+        return boundaries.stream()
+                .collect(Collectors.toMap(BookingBoundaries::getItemId, BookingBoundaries::toBookingDates));
+    }
+
+    private User makeUser(String email) {
+        User user = new User();
+        user.setEmail(email);
+        user.setName("User");
+        return user;
+    }
+
+    private Item makeItem(String name, User owner) {
+        Item item = new Item();
+        item.setName(name);
+        item.setDescription(name);
+        item.setAvailable(true);
+        item.setOwner(owner);
+        return item;
+    }
+
+    private Booking makeBooking(LocalDateTime start, LocalDateTime end, Item item, User booker, BookingStatus status) {
+        Booking booking = new Booking();
+        booking.setStart(start);
+        booking.setEnd(end);
+        booking.setItem(item);
+        booking.setBooker(booker);
+        booking.setStatus(status);
+        return booking;
+    }
+}
@@ -12,7 +12,9 @@ import ru.practicum.shareit.booking.BookingController;
 import ru.practicum.shareit.booking.BookingStatus;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.event.BookingEventStreams;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.common.PageCursor;
 import ru.practicum.shareit.exception.IncorrectDataException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.dto.ItemDto;
@@ -20,11 +22,13 @@ import ru.practicum.shareit.user.dto.UserDto;
 
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.Collections;
 import java.util.List;
 
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -38,6 +42,9 @@ public class BookingControllerTest {
     @MockBean
     BookingService bookingService;
 
+    @MockBean
+    BookingEventStreams bookingEventStreams;
+
     @Autowired
     private MockMvc mvc;
 
@@ -148,7 +155,7 @@ public class BookingControllerTest {
     void getBookingsByUserWithState() throws Exception {
         List<BookingResponseDto> bookings = List.of(bookingResponseDto);
 
-        Mockito.when(bookingService.getBookingsByUser(anyLong(), anyString()))
+        Mockito.when(bookingService.getBookingsByUser(anyLong(), anyString(), anyInt(), anyInt(), any()))
                 .thenReturn(bookings);
 
         mvc.perform(get("/bookings")
@@ -166,7 +173,7 @@ public class BookingControllerTest {
     void getBookingsByUserWithDefaultState() throws Exception {
         List<BookingResponseDto> bookings = List.of(bookingResponseDto);
 
-        Mockito.when(bookingService.getBookingsByUser(anyLong(), anyString()))
+        Mockito.when(bookingService.getBookingsByUser(anyLong(), anyString(), anyInt(), anyInt(), any()))
                 .thenReturn(bookings);
 
         mvc.perform(get("/bookings")
@@ -182,7 +189,7 @@ public class BookingControllerTest {
     void getBookingsByOwnerWithState() throws Exception {
         List<BookingResponseDto> bookings = List.of(bookingResponseDto);
 
-        Mockito.when(bookingService.getBookingsByOwner(anyLong(), anyString()))
+        Mockito.when(bookingService.getBookingsByOwner(anyLong(), anyString(), anyInt(), anyInt(), any()))
                 .thenReturn(bookings);
 
         mvc.perform(get("/bookings/owner")
@@ -200,7 +207,7 @@ public class BookingControllerTest {
     void getBookingsByOwnerWithDefaultState() throws Exception {
         List<BookingResponseDto> bookings = List.of(bookingResponseDto);
 
-        Mockito.when(bookingService.getBookingsByOwner(anyLong(), anyString()))
+        Mockito.when(bookingService.getBookingsByOwner(anyLong(), anyString(), anyInt(), anyInt(), any()))
                 .thenReturn(bookings);
 
         mvc.perform(get("/bookings/owner")
@@ -212,6 +219,21 @@ public class BookingControllerTest {
                 .andExpect(jsonPath("$[0].id", is(bookingResponseDto.getId()), Long.class));
     }
 
+    @Test
+    void getBookingsByOwnerClampedFullPageReturnsNextCursor() throws Exception {
+        List<BookingResponseDto> bookings = Collections.nCopies(PageCursor.MAX_PAGE_SIZE, bookingResponseDto);
+
+        Mockito.when(bookingService.getBookingsByOwner(2L, "ALL", 0, 150, null))
+                .thenReturn(bookings);
+
+        mvc.perform(get("/bookings/owner")
+                        .header("X-Sharer-User-Id", 2L)
+                        .param("size", "150"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(PageCursor.HEADER,
+                        new PageCursor(bookingResponseDto.getStart(), bookingResponseDto.getId()).encode()));
+    }
+
     @Test
     void addBookingWhenServiceThrowsNotFoundException() throws Exception {
         Mockito.when(bookingService.addBooking(anyLong(), any(BookingDto.class)))
@@ -269,7 +291,7 @@ public class BookingControllerTest {
 
     @Test
     void getBookingsByUserWhenServiceThrowsValidationException() throws Exception {
-        Mockito.when(bookingService.getBookingsByUser(anyLong(), anyString()))
+        Mockito.when(bookingService.getBookingsByUser(anyLong(), anyString(), anyInt(), anyInt(), any()))
                 .thenThrow(new IncorrectDataException("Unknown state: INVALID_STATE"));
 
         mvc.perform(get("/bookings")
@@ -283,7 +305,7 @@ public class BookingControllerTest {
 
     @Test
     void getBookingsByOwnerWhenServiceThrowsNotFoundException() throws Exception {
-        Mockito.when(bookingService.getBookingsByOwner(anyLong(), anyString()))
+        Mockito.when(bookingService.getBookingsByOwner(anyLong(), anyString(), anyInt(), anyInt(), any()))
                 .thenThrow(new NotFoundException("User has no items"));
 
         mvc.perform(get("/bookings/owner")
@@ -0,0 +1,206 @@
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.event.BookingEvent;
+import ru.practicum.shareit.booking.event.BookingEventOutbox;
+import ru.practicum.shareit.booking.event.BookingEventRelay;
+import ru.practicum.shareit.booking.event.BookingEventRepository;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(classes = ShareItServer.class,
+        properties = {
+                "spring.datasource.url=jdbc:h2:mem:shareit-events;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                "shareit.booking-events.heartbeat=PT0.2S",
+                "shareit.booking-events.buffer-size=2",
+                "shareit.booking-events.wake-on-commit=true"
+        })
+@AutoConfigureMockMvc
+public class BookingEventStreamTest {
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingEventRepository eventRepository;
+
+    @Autowired
+    private BookingEventOutbox eventOutbox;
+
+    @Autowired
+    private BookingEventRelay relay;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @Test
+    void testOwnerReceivesCreatedAndFinalizedEvents() throws Exception {
+        UserDto owner = userService.createUser(new UserDto(null, "Owner", "stream-owner@example.com"));
+        UserDto booker = userService.createUser(new UserDto(null, "Booker", "stream-booker@example.com"));
+        ItemDto item = itemService.addItem(owner.getId(), new ItemDto(null, "Drill", "Drill", null, true, null));
+        MockHttpServletResponse ownerStream = open(owner.getId(), null);
+        MockHttpServletResponse bookerStream = open(booker.getId(), null);
+
+        BookingResponseDto booking = book(booker, item, 1);
+        bookingService.finalizeBooking(owner.getId(), booking.getId(), true);
+
+        await().atMost(TIMEOUT).until(() -> content(ownerStream).contains("event:BOOKING_FINALIZED"));
+        String events = content(ownerStream);
+        assertThat(events).contains("event:BOOKING_CREATED\ndata:{\"id\":" + booking.getId());
+        assertThat(events.indexOf("BOOKING_CREATED")).isLessThan(events.indexOf("BOOKING_FINALIZED"));
+        assertThat(events).contains("\"status\":\"APPROVED\"");
+        await().atMost(TIMEOUT).until(() -> content(bookerStream).contains(":heartbeat"));
+        assertThat(content(bookerStream)).doesNotContain("event:");
+    }
+
+    @Test
+    void testStreamResumesAfterLastEventId() throws Exception {
+        UserDto owner = userService.createUser(new UserDto(null, "Owner", "resume-owner@example.com"));
+        UserDto booker = userService.createUser(new UserDto(null, "Booker", "resume-booker@example.com"));
+        ItemDto item = itemService.addItem(owner.getId(), new ItemDto(null, "Saw", "Saw", null, true, null));
+        for (int day = 1; day <= 4; day++) {
+            book(booker, item, day);
+        }
+        await().atMost(TIMEOUT).until(() -> seqs(owner.getId(), 0L).size() == 4);
+        List<Long> eventIds = seqs(owner.getId(), 0L);
+
+        MockHttpServletResponse stream = open(owner.getId(), eventIds.getFirst());
+        BookingResponseDto live = book(booker, item, 5);
+
+        await().atMost(TIMEOUT).until(() -> content(stream).contains("\"id\":" + live.getId()));
+        String events = content(stream);
+        assertThat(events).doesNotContain("id:" + eventIds.getFirst() + "\n");
+        for (Long eventId : eventIds.subList(1, eventIds.size())) {
+            assertThat(events).containsOnlyOnce("id:" + eventId + "\n");
+        }
+    }
+
+    @Test
+    void testUnknownOwnerIsNotFound() throws Exception {
+        mockMvc.perform(get("/bookings/owner/stream").header("X-Sharer-User-Id", 9999L))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testExpiredEventsAreDeleted() {
+        UserDto owner = userService.createUser(new UserDto(null, "Owner", "expired-owner@example.com"));
+        jdbcTemplate.update("INSERT INTO booking_events (owner_id, booking_id, type, payload, created) " +
+                        "VALUES (?, 1, 'BOOKING_CREATED', '{}', ?)",
+                owner.getId(), Timestamp.valueOf(LocalDateTime.now().minusDays(2)));
+
+        eventOutbox.deleteExpired();
+
+        assertThat(eventRepository.findAll()).noneMatch(event -> event.getOwnerId().equals(owner.getId()));
+    }
+
+    @Test
+    void testEventCommittedLateIsReplayedAfterLaterIdentity() throws Exception {
+        UserDto owner = userService.createUser(new UserDto(null, "Owner", "late-owner@example.com"));
+        CountDownLatch inserted = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        Future<?> slow = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+            insertEvent(owner.getId(), 1L);
+            inserted.countDown();
+            try {
+                commit.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        assertThat(inserted.await(10, TimeUnit.SECONDS)).isTrue();
+        insertEvent(owner.getId(), 2L);
+        relay.relay();
+        BookingEvent fast = eventRepository.findByOwnerIdAndSeqGreaterThanOrderBySeq(owner.getId(), 0L,
+                Limit.of(10)).getFirst();
+
+        commit.countDown();
+        slow.get(10, TimeUnit.SECONDS);
+        relay.relay();
+        BookingEvent late = eventRepository.findByOwnerIdAndSeqGreaterThanOrderBySeq(owner.getId(), fast.getSeq(),
+                Limit.of(10)).getFirst();
+        assertThat(late.getBookingId()).isEqualTo(1L);
+        assertThat(late.getId()).isLessThan(fast.getId());
+
+        MockHttpServletResponse stream = open(owner.getId(), fast.getSeq());
+        await().atMost(TIMEOUT).until(() -> content(stream).contains("id:" + late.getSeq() + "\n"));
+        assertThat(content(stream)).doesNotContain("id:" + fast.getSeq() + "\n");
+    }
+
+    private void insertEvent(Long ownerId, Long bookingId) {
+        jdbcTemplate.update("INSERT INTO booking_events (owner_id, booking_id, type, payload, created) " +
+                        "VALUES (?, ?, 'BOOKING_CREATED', '{}', ?)",
+                ownerId, bookingId, Timestamp.valueOf(LocalDateTime.now()));
+    }
+
+    private List<Long> seqs(Long ownerId, Long after) {
+        return eventRepository.findByOwnerIdAndSeqGreaterThanOrderBySeq(ownerId, after, Limit.of(10)).stream()
+                .map(BookingEvent::getSeq)
+                .toList();
+    }
+
+    private MockHttpServletResponse open(Long userId, Long lastEventId) throws Exception {
+        MockHttpServletRequestBuilder request = get("/bookings/owner/stream").header("X-Sharer-User-Id", userId);
+        if (lastEventId != null) {
+            request.header("Last-Event-ID", lastEventId);
+        }
+        return mockMvc.perform(request)
+                .andExpect(request().asyncStarted())
+                .andReturn()
+                .getResponse();
+    }
+
+    private BookingResponseDto book(UserDto booker, ItemDto item, int day) {
+        LocalDateTime start = LocalDateTime.now().plusDays(day);
+        return bookingService.addBooking(booker.getId(),
+                new BookingDto(null, start, start.plusHours(1), item.getId(), null, null));
+    }
+
+    private static String content(MockHttpServletResponse response) throws Exception {
+        return response.getContentAsString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,116 @@
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.phase.BookingPhaseScheduler;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exception.IncorrectDataException;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        classes = ShareItServer.class,
+        properties = {
+                "spring.datasource.url=jdbc:h2:mem:shareit-phase;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                "shareit.booking-phase.expire-waiting=true",
+                "shareit.booking-phase.wake-on-boundary=true",
+                "shareit.booking-phase.sweep-interval=PT1H"
+        })
+public class BookingPhaseSchedulerTest {
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingPhaseScheduler scheduler;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void testApprovedBookingMovesThroughPhasesOnTime() {
+        UserDto owner = userService.createUser(new UserDto(null, "Owner", "phase-owner@example.com"));
+        UserDto booker = userService.createUser(new UserDto(null, "Booker", "phase-booker@example.com"));
+        ItemDto item = itemService.addItem(owner.getId(), new ItemDto(null, "Kayak", "Kayak", null, true, null));
+        LocalDateTime now = LocalDateTime.now();
+        BookingResponseDto booking = bookingService.addBooking(booker.getId(),
+                new BookingDto(null, now.plusSeconds(4), now.plusSeconds(7), item.getId(), null, null));
+        bookingService.finalizeBooking(owner.getId(), booking.getId(), true);
+
+        await().atMost(TIMEOUT).until(() -> ids(booker.getId(), "FUTURE").contains(booking.getId()));
+
+        await().atMost(TIMEOUT).until(() -> ids(booker.getId(), "CURRENT").contains(booking.getId()));
+        assertThat(ids(booker.getId(), "FUTURE")).isEmpty();
+
+        await().atMost(TIMEOUT).until(() -> ids(booker.getId(), "PAST").contains(booking.getId()));
+        assertThat(ids(booker.getId(), "CURRENT")).isEmpty();
+        assertThat(bookingService.getBookingById(booker.getId(), booking.getId()).getStatus())
+                .isEqualTo(BookingStatus.APPROVED);
+    }
+
+    @Test
+    void testWaitingBookingIsCanceledOnceStarted() {
+        UserDto owner = userService.createUser(new UserDto(null, "Owner", "stale-owner@example.com"));
+        UserDto booker = userService.createUser(new UserDto(null, "Booker", "stale-booker@example.com"));
+        ItemDto item = itemService.addItem(owner.getId(), new ItemDto(null, "Tent", "Tent", null, true, null));
+        LocalDateTime now = LocalDateTime.now();
+        BookingDto period = new BookingDto(null, now.minusHours(1), now.plusHours(1), item.getId(), null, null);
+        BookingResponseDto stale = bookingService.addBooking(booker.getId(), period);
+
+        await().atMost(TIMEOUT).until(() -> bookingService.getBookingById(booker.getId(), stale.getId())
+                .getStatus() == BookingStatus.CANCELED);
+        assertThat(jdbcTemplate.queryForList("SELECT type FROM booking_events WHERE booking_id = ? ORDER BY id",
+                String.class, stale.getId())).containsExactly("BOOKING_CREATED", "BOOKING_CANCELED");
+
+        assertThrows(IncorrectDataException.class,
+                () -> bookingService.finalizeBooking(owner.getId(), stale.getId(), true));
+        BookingResponseDto rebooked = bookingService.addBooking(booker.getId(),
+                new BookingDto(null, period.getStart(), period.getEnd(), item.getId(), null, null));
+        assertThat(rebooked.getId()).isNotEqualTo(stale.getId());
+    }
+
+    @Test
+    void testSweepFixesRowsInsertedOutsideApplication() {
+        UserDto owner = userService.createUser(new UserDto(null, "Owner", "sweep-owner@example.com"));
+        UserDto booker = userService.createUser(new UserDto(null, "Booker", "sweep-booker@example.com"));
+        ItemDto item = itemService.addItem(owner.getId(), new ItemDto(null, "Saw", "Saw", null, true, null));
+        LocalDateTime now = LocalDateTime.now();
+        jdbcTemplate.update("INSERT INTO bookings (start_date, end_date, item_id, booker_id, status) " +
+                        "VALUES (?, ?, ?, ?, 'APPROVED')",
+                Timestamp.valueOf(now.minusDays(2)), Timestamp.valueOf(now.minusDays(1)), item.getId(),
+                booker.getId());
+
+        scheduler.advance();
+
+        assertThat(ids(booker.getId(), "FUTURE")).isEmpty();
+        assertThat(ids(booker.getId(), "PAST")).hasSize(1);
+    }
+
+    private List<Long> ids(Long bookerId, String state) {
+        return bookingService.getBookingsByUser(bookerId, state, 0, 10, null).stream()
+                .map(BookingResponseDto::getId)
+                .toList();
+    }
+}
@@ -1,5 +1,7 @@
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.TypedQuery;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -10,12 +12,16 @@ import ru.practicum.shareit.booking.BookingStatus;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.common.BatchRowResult;
+import ru.practicum.shareit.common.BatchRowStatus;
+import ru.practicum.shareit.common.PageCursor;
 import ru.practicum.shareit.exception.IncorrectDataException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.User;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -402,7 +408,7 @@ public class BookingServiceImplTest {
 
         em.flush();
 
-        List<BookingResponseDto> result = service.getBookingsByUser(booker.getId(), "ALL");
+        List<BookingResponseDto> result = service.getBookingsByUser(booker.getId(), "ALL", 0, 20, null);
 
         assertThat(result).hasSize(1);
         assertThat(result.getFirst().getId()).isEqualTo(booking.getId());
@@ -457,12 +463,12 @@ public class BookingServiceImplTest {
 
         em.flush();
 
-        assertThat(service.getBookingsByUser(booker.getId(), "ALL")).hasSize(4);
-        assertThat(service.getBookingsByUser(booker.getId(), "PAST")).hasSize(1);
-        assertThat(service.getBookingsByUser(booker.getId(), "CURRENT")).hasSize(1);
-        assertThat(service.getBookingsByUser(booker.getId(), "FUTURE")).hasSize(2);
-        assertThat(service.getBookingsByUser(booker.getId(), "WAITING")).hasSize(1);
-        assertThat(service.getBookingsByUser(booker.getId(), "REJECTED")).hasSize(1);
+        assertThat(service.getBookingsByUser(booker.getId(), "ALL", 0, 20, null)).hasSize(4);
+        assertThat(service.getBookingsByUser(booker.getId(), "PAST", 0, 20, null)).hasSize(1);
+        assertThat(service.getBookingsByUser(booker.getId(), "CURRENT", 0, 20, null)).hasSize(1);
+        assertThat(service.getBookingsByUser(booker.getId(), "FUTURE", 0, 20, null)).hasSize(2);
+        assertThat(service.getBookingsByUser(booker.getId(), "WAITING", 0, 20, null)).hasSize(1);
+        assertThat(service.getBookingsByUser(booker.getId(), "REJECTED", 0, 20, null)).hasSize(1);
     }
 
     @Test
@@ -472,7 +478,7 @@ public class BookingServiceImplTest {
         em.flush();
 
         assertThrows(IncorrectDataException.class, () ->
-                service.getBookingsByUser(booker.getId(), "INVALID_STATE"));
+                service.getBookingsByUser(booker.getId(), "INVALID_STATE", 0, 20, null));
     }
 
     @Test
@@ -496,7 +502,7 @@ public class BookingServiceImplTest {
         em.persist(booking);
         em.flush();
 
-        List<BookingResponseDto> result = service.getBookingsByUser(booker.getId(), "all");
+        List<BookingResponseDto> result = service.getBookingsByUser(booker.getId(), "all", 0, 20, null);
 
         assertThat(result).hasSize(1);
         assertThat(result.getFirst().getId()).isEqualTo(booking.getId());
@@ -508,7 +514,7 @@ public class BookingServiceImplTest {
         em.persist(booker);
         em.flush();
 
-        List<BookingResponseDto> result = service.getBookingsByUser(booker.getId(), "ALL");
+        List<BookingResponseDto> result = service.getBookingsByUser(booker.getId(), "ALL", 0, 20, null);
 
         assertThat(result).isEmpty();
     }
@@ -516,7 +522,7 @@ public class BookingServiceImplTest {
     @Test
     void testGetBookingsByUserWhenUserNotFound() {
         assertThrows(NotFoundException.class, () ->
-                service.getBookingsByUser(9999L, "ALL"));
+                service.getBookingsByUser(9999L, "ALL", 0, 20, null));
     }
 
     @Test
@@ -541,7 +547,7 @@ public class BookingServiceImplTest {
 
         em.flush();
 
-        List<BookingResponseDto> result = service.getBookingsByOwner(owner.getId(), "ALL");
+        List<BookingResponseDto> result = service.getBookingsByOwner(owner.getId(), "ALL", 0, 20, null);
 
         assertThat(result).hasSize(1);
         assertThat(result.getFirst().getId()).isEqualTo(booking.getId());
@@ -578,10 +584,10 @@ public class BookingServiceImplTest {
 
         em.flush();
 
-        assertThat(service.getBookingsByOwner(owner.getId(), "ALL")).hasSize(2);
-        assertThat(service.getBookingsByOwner(owner.getId(), "PAST")).hasSize(1);
-        assertThat(service.getBookingsByOwner(owner.getId(), "FUTURE")).hasSize(1);
-        assertThat(service.getBookingsByOwner(owner.getId(), "WAITING")).hasSize(1);
+        assertThat(service.getBookingsByOwner(owner.getId(), "ALL", 0, 20, null)).hasSize(2);
+        assertThat(service.getBookingsByOwner(owner.getId(), "PAST", 0, 20, null)).hasSize(1);
+        assertThat(service.getBookingsByOwner(owner.getId(), "FUTURE", 0, 20, null)).hasSize(1);
+        assertThat(service.getBookingsByOwner(owner.getId(), "WAITING", 0, 20, null)).hasSize(1);
     }
 
     @Test
@@ -590,7 +596,8 @@ public class BookingServiceImplTest {
         em.persist(userWithoutItems);
         em.flush();
 
-        assertThrows(NotFoundException.class, () -> service.getBookingsByOwner(userWithoutItems.getId(), "ALL"));
+        assertThrows(NotFoundException.class, () ->
+                service.getBookingsByOwner(userWithoutItems.getId(), "ALL", 0, 20, null));
     }
 
     @Test
@@ -603,7 +610,7 @@ public class BookingServiceImplTest {
         em.flush();
 
         assertThrows(IncorrectDataException.class, () ->
-                service.getBookingsByOwner(owner.getId(), "INVALID_STATE"));
+                service.getBookingsByOwner(owner.getId(), "INVALID_STATE", 0, 20, null));
     }
 
     @Test
@@ -615,7 +622,7 @@ public class BookingServiceImplTest {
         em.persist(item);
         em.flush();
 
-        List<BookingResponseDto> result = service.getBookingsByOwner(owner.getId(), "ALL");
+        List<BookingResponseDto> result = service.getBookingsByOwner(owner.getId(), "ALL", 0, 20, null);
 
         assertThat(result).isEmpty();
     }
@@ -623,7 +630,278 @@ public class BookingServiceImplTest {
     @Test
     void testGetBookingsByOwnerWhenUserNotFound() {
         assertThrows(NotFoundException.class, () ->
-                service.getBookingsByOwner(9999L, "ALL"));
+                service.getBookingsByOwner(9999L, "ALL", 0, 20, null));
+    }
+
+    @Test
+    void testAddBookingWhenPeriodOverlapsExistingBooking() {
+        User owner = makeUser("owner_overlap@email.com", "Owner", "Overlap");
+        em.persist(owner);
+
+        User booker = makeUser("booker_overlap@email.com", "Booker", "Overlap");
+        em.persist(booker);
+
+        Item item = makeItem("Overlap Item", "Description", owner, true);
+        em.persist(item);
+
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        em.persist(makeBooking(start, start.plusDays(2), item, booker, BookingStatus.APPROVED));
+        em.flush();
+
+        BookingDto overlapping = makeBookingDto(start.plusDays(1), start.plusDays(3), item.getId(),
+                null, null, null);
+
+        assertThrows(IncorrectDataException.class, () -> service.addBooking(booker.getId(), overlapping));
+    }
+
+    @Test
+    void testAddBookingWhenPeriodAdjacentToExistingBooking() {
+        User owner = makeUser("owner_adjacent@email.com", "Owner", "Adjacent");
+        em.persist(owner);
+
+        User booker = makeUser("booker_adjacent@email.com", "Booker", "Adjacent");
+        em.persist(booker);
+
+        Item item = makeItem("Adjacent Item", "Description", owner, true);
+        em.persist(item);
+        em.flush();
+
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        service.addBooking(booker.getId(), makeBookingDto(start, start.plusDays(1), item.getId(),
+                null, null, null));
+        BookingResponseDto result = service.addBooking(booker.getId(), makeBookingDto(start.plusDays(1),
+                start.plusDays(2), item.getId(), null, null, null));
+
+        assertThat(result.getId()).isNotNull();
+    }
+
+    @Test
+    void testAddBookingWhenOverlappingBookingWasRejected() {
+        User owner = makeUser("owner_rejected_slot@email.com", "Owner", "Slot");
+        em.persist(owner);
+
+        User booker = makeUser("booker_rejected_slot@email.com", "Booker", "Slot");
+        em.persist(booker);
+
+        Item item = makeItem("Slot Item", "Description", owner, true);
+        em.persist(item);
+        em.flush();
+
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        BookingResponseDto first = service.addBooking(booker.getId(), makeBookingDto(start, start.plusDays(2),
+                item.getId(), null, null, null));
+        service.finalizeBooking(owner.getId(), first.getId(), false);
+
+        BookingResponseDto second = service.addBooking(booker.getId(), makeBookingDto(start, start.plusDays(2),
+                item.getId(), null, null, null));
+
+        assertThat(second.getId()).isNotEqualTo(first.getId());
+    }
+
+    @Test
+    void testApproveRejectedBookingWhenPeriodWasTaken() {
+        User owner = makeUser("owner_reapprove@email.com", "Owner", "Reapprove");
+        em.persist(owner);
+
+        User booker = makeUser("booker_reapprove@email.com", "Booker", "Reapprove");
+        em.persist(booker);
+
+        Item item = makeItem("Reapprove Item", "Description", owner, true);
+        em.persist(item);
+        em.flush();
+
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        BookingResponseDto rejected = service.addBooking(booker.getId(), makeBookingDto(start, start.plusDays(2),
+                item.getId(), null, null, null));
+        service.finalizeBooking(owner.getId(), rejected.getId(), false);
+        service.addBooking(booker.getId(), makeBookingDto(start.plusDays(1), start.plusDays(3),
+                item.getId(), null, null, null));
+
+        assertThrows(IncorrectDataException.class, () ->
+                service.finalizeBooking(owner.getId(), rejected.getId(), true));
+        assertThat(em.find(Booking.class, rejected.getId()).getStatus()).isEqualTo(BookingStatus.REJECTED);
+    }
+
+    @Test
+    void testAddBookingWhenEndIsNotAfterStart() {
+        User owner = makeUser("owner_dates@email.com", "Owner", "Dates");
+        em.persist(owner);
+
+        User booker = makeUser("booker_dates@email.com", "Booker", "Dates");
+        em.persist(booker);
+
+        Item item = makeItem("Dates Item", "Description", owner, true);
+        em.persist(item);
+        em.flush();
+
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        BookingDto bookingDto = makeBookingDto(start, start, item.getId(), null, null, null);
+
+        assertThrows(IncorrectDataException.class, () -> service.addBooking(booker.getId(), bookingDto));
+    }
+
+    @Test
+    void testGetBookingsByUserPagedByOffsetAndCursor() {
+        User owner = makeUser("owner_pages@email.com", "Owner", "Pages");
+        em.persist(owner);
+
+        User booker = makeUser("booker_pages@email.com", "Booker", "Pages");
+        em.persist(booker);
+
+        Item item = makeItem("Pages Item", "Description", owner, true);
+        em.persist(item);
+
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.MICROS);
+        Booking first = makeBooking(start, start.plusHours(1), item, booker, BookingStatus.APPROVED);
+        Booking second = makeBooking(start.plusDays(1), start.plusDays(1).plusHours(1), item, booker,
+                BookingStatus.APPROVED);
+        Booking third = makeBooking(start.plusDays(2), start.plusDays(2).plusHours(1), item, booker,
+                BookingStatus.WAITING);
+        em.persist(first);
+        em.persist(second);
+        em.persist(third);
+        em.flush();
+
+        List<BookingResponseDto> firstPage = service.getBookingsByUser(booker.getId(), "ALL", 0, 2, null);
+        assertThat(firstPage).extracting(BookingResponseDto::getId)
+                .containsExactly(third.getId(), second.getId());
+
+        String cursor = new PageCursor(firstPage.getLast().getStart(), firstPage.getLast().getId()).encode();
+        assertThat(service.getBookingsByUser(booker.getId(), "ALL", 0, 2, cursor))
+                .extracting(BookingResponseDto::getId)
+                .containsExactly(first.getId());
+
+        assertThat(service.getBookingsByUser(booker.getId(), "ALL", 1, 2, null))
+                .extracting(BookingResponseDto::getId)
+                .containsExactly(second.getId(), first.getId());
+    }
+
+    @Test
+    void testGetBookingsByUserWithInvalidCursor() {
+        User booker = makeUser("booker_cursor@email.com", "Booker", "Cursor");
+        em.persist(booker);
+        em.flush();
+
+        assertThrows(IncorrectDataException.class, () ->
+                service.getBookingsByUser(booker.getId(), "ALL", 0, 20, "not-a-cursor"));
+    }
+
+    @Test
+    void testGetBookingsByUserIssuesConstantNumberOfStatements() {
+        User booker = makeUser("nplus1booker@email.com", "Booker", "User");
+        em.persist(booker);
+        persistBookingsOfDistinctOwners(booker, 1, "single");
+        User busyBooker = makeUser("nplus1busy@email.com", "Busy", "User");
+        em.persist(busyBooker);
+        persistBookingsOfDistinctOwners(busyBooker, 30, "many");
+        em.flush();
+
+        long single = countStatements(() -> service.getBookingsByUser(booker.getId(), "ALL", 0, 50, null));
+        long many = countStatements(() -> {
+            List<BookingResponseDto> result = service.getBookingsByUser(busyBooker.getId(), "ALL", 0, 50, null);
+            assertThat(result).hasSize(30);
+            assertThat(result).allSatisfy(dto -> {
+                assertThat(dto.getItem().getName()).isNotNull();
+                assertThat(dto.getItem().getOwner().getEmail()).isNotNull();
+                assertThat(dto.getBooker().getEmail()).isEqualTo("nplus1busy@email.com");
+            });
+        });
+
+        assertThat(many).isEqualTo(single);
+    }
+
+    @Test
+    void testGetBookingsByOwnerIssuesConstantNumberOfStatements() {
+        User owner = makeUser("nplus1owner@email.com", "Owner", "User");
+        em.persist(owner);
+        for (int i = 0; i < 30; i++) {
+            User booker = makeUser("nplus1ownerbooker" + i + "@email.com", "Booker" + i, "User");
+            em.persist(booker);
+            Item item = makeItem("Item" + i, "Description" + i, owner, true);
+            em.persist(item);
+            em.persist(makeBooking(LocalDateTime.now().plusDays(i + 1), LocalDateTime.now().plusDays(i + 2),
+                    item, booker, BookingStatus.WAITING));
+        }
+        em.flush();
+
+        long firstPage = countStatements(() -> service.getBookingsByOwner(owner.getId(), "ALL", 0, 1, null));
+        long fullPage = countStatements(() ->
+                assertThat(service.getBookingsByOwner(owner.getId(), "ALL", 0, 50, null)).hasSize(30));
+
+        assertThat(fullPage).isEqualTo(firstPage);
+    }
+
+    @Test
+    void testGetBookingByIdLoadsItemOwnerAndBookerTogether() {
+        User owner = makeUser("graphowner@email.com", "Owner", "User");
+        em.persist(owner);
+        User booker = makeUser("graphbooker@email.com", "Booker", "User");
+        em.persist(booker);
+        Item item = makeItem("Drill", "Powerful drill", owner, true);
+        em.persist(item);
+        Booking booking = makeBooking(LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(2),
+                item, booker, BookingStatus.WAITING);
+        em.persist(booking);
+        em.flush();
+
+        long statements = countStatements(() -> service.getBookingById(owner.getId(), booking.getId()));
+
+        assertThat(statements).isEqualTo(2);
+    }
+
+    @Test
+    void testAddBookingsReportsEachRowAndSkipsConflicts() {
+        User owner = makeUser("batchowner@email.com", "Owner", "User");
+        em.persist(owner);
+        User booker = makeUser("batchbooker@email.com", "Booker", "User");
+        em.persist(booker);
+        Item item = makeItem("Drill", "Powerful drill", owner, true);
+        em.persist(item);
+        Item unavailable = makeItem("Saw", "Broken saw", owner, false);
+        em.persist(unavailable);
+        em.flush();
+
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.MICROS);
+        List<BatchRowResult<BookingResponseDto>> results = service.addBookings(booker.getId(), List.of(
+                makeBookingDto(start, start.plusDays(2), item.getId(), null, null, null),
+                makeBookingDto(start.plusDays(1), start.plusDays(3), item.getId(), null, null, null),
+                makeBookingDto(start, start.plusDays(1), unavailable.getId(), null, null, null),
+                makeBookingDto(start, start.plusDays(1), 9999L, null, null, null),
+                makeBookingDto(start.plusDays(2), start.plusDays(4), item.getId(), null, null, null)));
+        em.flush();
+
+        assertThat(results).extracting(BatchRowResult::status).containsExactly(BatchRowStatus.CREATED,
+                BatchRowStatus.INVALID, BatchRowStatus.INVALID, BatchRowStatus.NOT_FOUND, BatchRowStatus.CREATED);
+        assertThat(results.get(3).error()).isEqualTo("Вещь с ID = '9999' не найдена");
+        assertThat(em.createQuery("SELECT b.start FROM Booking b WHERE b.item.id = :itemId ORDER BY b.start",
+                        LocalDateTime.class)
+                .setParameter("itemId", item.getId())
+                .getResultList())
+                .containsExactly(start, start.plusDays(2));
+    }
+
+    @Test
+    void testAddBookingsFailsWholeBatchForUnknownBooker() {
+        assertThrows(NotFoundException.class, () -> service.addBookings(9999L, List.of()));
+    }
+
+    private void persistBookingsOfDistinctOwners(User booker, int count, String prefix) {
+        for (int i = 0; i < count; i++) {
+            User owner = makeUser(prefix + "owner" + i + "@email.com", "Owner" + i, "User");
+            em.persist(owner);
+            Item item = makeItem("Item" + i, "Description" + i, owner, true);
+            em.persist(item);
+            em.persist(makeBooking(LocalDateTime.now().plusDays(i + 1), LocalDateTime.now().plusDays(i + 2),
+                    item, booker, BookingStatus.WAITING));
+        }
+    }
+
+    private long countStatements(Runnable action) {
+        Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        em.clear();
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
     }
 
     private User makeUser(String email, String name, String lastName) {
@@ -0,0 +1,166 @@
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.service.ItemRequestService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(classes = ShareItServer.class,
+        properties = "spring.datasource.url=jdbc:h2:mem:shareit-etag;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE")
+@AutoConfigureMockMvc
+public class ETagTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private ItemRequestService itemRequestService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void testItemIsNotModifiedUntilCommentAdded() throws Exception {
+        UserDto owner = userService.createUser(new UserDto(null, "Owner", "etag-item-owner@example.com"));
+        UserDto booker = userService.createUser(new UserDto(null, "Booker", "etag-item-booker@example.com"));
+        ItemDto item = itemService.addItem(owner.getId(), new ItemDto(null, "Drill", "Drill", null, true, null));
+        String path = "/items/" + item.getId();
+
+        String eTag = eTag(path, booker.getId());
+        assertNotModified(path, booker.getId(), eTag);
+
+        BookingResponseDto booking = bookingService.addBooking(booker.getId(), new BookingDto(null,
+                LocalDateTime.now().minusDays(2), LocalDateTime.now().minusDays(1), item.getId(), null, null));
+        bookingService.finalizeBooking(owner.getId(), booking.getId(), true);
+        assertNotModified(path, booker.getId(), eTag);
+
+        itemService.addComment(booker.getId(), item.getId(), new CommentDto(null, "Good", null, null));
+        assertThat(eTag(path, booker.getId(), eTag)).isNotEqualTo(eTag);
+    }
+
+    @Test
+    void testUnknownUserGetsNotFoundInsteadOfNotModified() throws Exception {
+        UserDto owner = userService.createUser(new UserDto(null, "Owner", "etag-unknown-owner@example.com"));
+        ItemDto item = itemService.addItem(owner.getId(), new ItemDto(null, "Axe", "Axe", null, true, null));
+        String path = "/items/" + item.getId();
+        String eTag = eTag(path, owner.getId());
+
+        mockMvc.perform(get(path).header("X-Sharer-User-Id", 9999L).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testOwnerItemTagFollowsBookings() throws Exception {
+        UserDto owner = userService.createUser(new UserDto(null, "Owner", "etag-dates-owner@example.com"));
+        UserDto booker = userService.createUser(new UserDto(null, "Booker", "etag-dates-booker@example.com"));
+        ItemDto item = itemService.addItem(owner.getId(), new ItemDto(null, "Saw", "Saw", null, true, null));
+        String path = "/items/" + item.getId();
+        String eTag = eTag(path, owner.getId());
+
+        bookingService.addBooking(booker.getId(), new BookingDto(null,
+                LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(2), item.getId(), null, null));
+
+        assertThat(eTag(path, owner.getId(), eTag)).isNotEqualTo(eTag);
+    }
+
+    @Test
+    void testBookingNotModifiedWithoutLoadingBooking() throws Exception {
+        UserDto owner = userService.createUser(new UserDto(null, "Owner", "etag-booking-owner@example.com"));
+        UserDto booker = userService.createUser(new UserDto(null, "Booker", "etag-booking-booker@example.com"));
+        UserDto stranger = userService.createUser(new UserDto(null, "Stranger", "etag-stranger@example.com"));
+        ItemDto item = itemService.addItem(owner.getId(), new ItemDto(null, "Tent", "Tent", null, true, null));
+        BookingResponseDto booking = bookingService.addBooking(booker.getId(), new BookingDto(null,
+                LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(2), item.getId(), null, null));
+        String path = "/bookings/" + booking.getId();
+        String eTag = eTag(path, booker.getId());
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        assertNotModified(path, owner.getId(), eTag);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        mockMvc.perform(get(path).header("X-Sharer-User-Id", stranger.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isInternalServerError());
+
+        itemService.updateItem(owner.getId(), item.getId(), new ItemDto(null, "Big tent", "Tent", null, true, null));
+        String renamed = eTag(path, booker.getId(), eTag);
+        assertThat(renamed).isNotEqualTo(eTag);
+
+        bookingService.finalizeBooking(owner.getId(), booking.getId(), false);
+        assertThat(eTag(path, booker.getId(), renamed)).isNotEqualTo(renamed);
+    }
+
+    @Test
+    void testRequestTagFollowsRepliesAndTheirOwners() throws Exception {
+        UserDto requestor = userService.createUser(new UserDto(null, "Requestor", "etag-requestor@example.com"));
+        UserDto owner = userService.createUser(new UserDto(null, "Owner", "etag-reply-owner@example.com"));
+        ItemRequestDto request = itemRequestService.addItemRequest(requestor.getId(),
+                new ItemRequestDto(null, "Need a ladder", null, null));
+        String path = "/requests/" + request.getId();
+        String eTag = eTag(path, requestor.getId());
+        assertNotModified(path, requestor.getId(), eTag);
+
+        itemService.addItem(owner.getId(), new ItemDto(null, "Ladder", "Ladder", null, true, request.getId()));
+        String replied = eTag(path, requestor.getId(), eTag);
+        assertThat(replied).isNotEqualTo(eTag);
+
+        userService.updateUser(owner.getId(), new UserDto(null, "Renamed", null));
+        userService.updateUser(owner.getId(), new UserDto(null, "Renamed again", null));
+        assertThat(eTag(path, requestor.getId(), replied)).isNotEqualTo(replied);
+    }
+
+    private String eTag(String path, Long userId) throws Exception {
+        return eTag(path, userId, null);
+    }
+
+    private String eTag(String path, Long userId, String ifNoneMatch) throws Exception {
+        MockHttpServletRequestBuilder request = get(path).header("X-Sharer-User-Id", userId);
+        if (ifNoneMatch != null) {
+            request.header(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        String eTag = mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+        assertThat(eTag).startsWith("\"");
+        return eTag;
+    }
+
+    private void assertNotModified(String path, Long userId, String eTag) throws Exception {
+        mockMvc.perform(get(path).header("X-Sharer-User-Id", userId).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+}
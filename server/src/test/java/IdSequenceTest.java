@@ -0,0 +1,92 @@
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.common.BatchRowResult;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        classes = ShareItServer.class,
+        properties = {
+                "spring.datasource.url=jdbc:h2:mem:shareit-ids;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                "shareit.id.allocation-size=20"
+        })
+public class IdSequenceTest {
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserService userService;
+
+    @Test
+    void testSequencesUseConfiguredAllocationSize() {
+        List<Long> increments = jdbcTemplate.queryForList("SELECT INCREMENT FROM INFORMATION_SCHEMA.SEQUENCES " +
+                "WHERE SEQUENCE_NAME IN ('USERS_SEQ', 'ITEMS_SEQ', 'BOOKINGS_SEQ', 'COMMENTS_SEQ', 'REQUESTS_SEQ')",
+                Long.class);
+
+        assertThat(increments).hasSize(5).containsOnly(20L);
+    }
+
+    @Test
+    void testHibernateAllocatesIdsInBlocksOfConfiguredSize() {
+        List<UserDto> userDtos = IntStream.range(0, 25)
+                .mapToObj(i -> new UserDto(null, "User " + i, "ids" + i + "@example.com"))
+                .toList();
+
+        List<Long> ids = userService.createUsers(userDtos).stream()
+                .map(BatchRowResult::result)
+                .map(UserDto::getId)
+                .toList();
+
+        Long firstId = ids.getFirst();
+        assertThat(ids).isEqualTo(consecutiveIds(firstId, 25));
+        // 25 строк занимают два блока по 20 ID, следующий блок начинается сразу за ними
+        assertThat(nextValue(jdbcTemplate, "USERS_SEQ")).isEqualTo(firstId + 40);
+    }
+
+    @Test
+    void testChangedAllocationSizeIsAppliedToExistingDatabase() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:shareit-ids-resize;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE", "sa", "");
+        JdbcTemplate resizeJdbc = new JdbcTemplate(dataSource);
+        migrate(dataSource, "50");
+        Long issued = resizeJdbc.queryForObject("SELECT NEXT VALUE FOR users_seq", Long.class);
+
+        int applied = migrate(dataSource, "10");
+
+        assertThat(applied).isEqualTo(1);
+        assertThat(resizeJdbc.queryForObject("SELECT INCREMENT FROM INFORMATION_SCHEMA.SEQUENCES " +
+                "WHERE SEQUENCE_NAME = 'USERS_SEQ'", Long.class)).isEqualTo(10L);
+        assertThat(resizeJdbc.queryForObject("SELECT NEXT VALUE FOR users_seq", Long.class))
+                .isGreaterThanOrEqualTo(issued + 50);
+    }
+
+    private static int migrate(DriverManagerDataSource dataSource, String allocationSize) {
+        return Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration/common", "classpath:db/migration/h2")
+                .placeholders(Map.of("id-allocation-size", allocationSize))
+                .load()
+                .migrate()
+                .migrationsExecuted;
+    }
+
+    private static long nextValue(JdbcTemplate jdbcTemplate, String sequence) {
+        return jdbcTemplate.queryForObject("SELECT BASE_VALUE FROM INFORMATION_SCHEMA.SEQUENCES " +
+                "WHERE SEQUENCE_NAME = ?", Long.class, sequence);
+    }
+
+    private static List<Long> consecutiveIds(long first, int count) {
+        return IntStream.range(0, count).mapToObj(i -> first + i).toList();
+    }
+}
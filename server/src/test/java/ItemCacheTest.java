@@ -0,0 +1,117 @@
+import jdk.jfr.consumer.RecordingStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.cache.ItemCache;
+import ru.practicum.shareit.item.cache.ItemCacheConfig;
+import ru.practicum.shareit.item.cache.ItemSnapshot;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ItemCacheTest {
+    private ItemCache itemCache;
+
+    @BeforeEach
+    void setUp() {
+        itemCache = new ItemCache(new ItemCacheConfig().cacheManager(100, Duration.ofMinutes(1),
+                100, Duration.ofMinutes(1)));
+    }
+
+    @Test
+    void testLoaderBlockingOnVirtualThreadDoesNotPinCarrier() throws Exception {
+        List<String> pinnedEvents = new ArrayList<>();
+        try (RecordingStream recording = new RecordingStream()) {
+            recording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO);
+            recording.onEvent("jdk.VirtualThreadPinned", event -> pinnedEvents.add(event.toString()));
+            recording.startAsync();
+
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                executor.submit(() -> itemCache.getItem(1L, id -> {
+                    sleep(50);
+                    return snapshot(id);
+                })).get(5, TimeUnit.SECONDS);
+            }
+
+            recording.stop();
+        }
+
+        assertThat(pinnedEvents).isEmpty();
+    }
+
+    @Test
+    void testConcurrentCallersShareOneLoad() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<ItemSnapshot> first = executor.submit(() -> itemCache.getItem(1L, id -> {
+                loads.incrementAndGet();
+                loading.countDown();
+                await(release);
+                return snapshot(id);
+            }));
+            assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+            Future<ItemSnapshot> second = executor.submit(() -> itemCache.getItem(1L, id -> {
+                loads.incrementAndGet();
+                return snapshot(id);
+            }));
+            release.countDown();
+
+            assertThat(second.get(5, TimeUnit.SECONDS)).isSameAs(first.get(5, TimeUnit.SECONDS));
+        }
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    @Test
+    void testEvictionDuringLoadIsNotOverwritten() {
+        ItemSnapshot stale = itemCache.getItem(1L, id -> {
+            itemCache.evictItem(id);
+            return snapshot(id);
+        });
+
+        ItemSnapshot fresh = itemCache.getItem(1L, ItemCacheTest::snapshot);
+
+        assertThat(fresh).isNotSameAs(stale);
+    }
+
+    @Test
+    void testFailedLoadIsNotCached() {
+        assertThatThrownBy(() -> itemCache.getItem(1L, id -> {
+            throw new NotFoundException("Вещь с ID = '1' не найдена");
+        })).isInstanceOf(NotFoundException.class);
+
+        assertThat(itemCache.getItem(1L, ItemCacheTest::snapshot).id()).isEqualTo(1L);
+    }
+
+    private static ItemSnapshot snapshot(Long id) {
+        return new ItemSnapshot(id, 0L, 1L, "Item " + id, "Description", true, null, List.of());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -131,7 +131,7 @@ public class ItemControllerTest {
     void searchItems() throws Exception {
         List<ItemDto> items = List.of(itemDto);
 
-        Mockito.when(itemService.searchItem(anyString()))
+        Mockito.when(itemService.searchItem(anyString(), anyInt(), anyInt()))
                 .thenReturn(items);
 
         mvc.perform(get("/items/search")
@@ -147,7 +147,7 @@ public class ItemControllerTest {
 
     @Test
     void searchItems_WithEmptyText() throws Exception {
-        Mockito.when(itemService.searchItem(anyString()))
+        Mockito.when(itemService.searchItem(anyString(), anyInt(), anyInt()))
                 .thenReturn(Collections.emptyList());
 
         mvc.perform(get("/items/search")
@@ -295,7 +295,7 @@ public class ItemControllerTest {
 
     @Test
     void searchItemsWithoutTextParam() throws Exception {
-        Mockito.when(itemService.searchItem(isNull()))
+        Mockito.when(itemService.searchItem(isNull(), anyInt(), anyInt()))
                 .thenReturn(Collections.emptyList());
 
         mvc.perform(get("/items/search")
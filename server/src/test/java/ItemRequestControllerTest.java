@@ -8,9 +8,11 @@ import org.springframework.http.MediaType;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.common.PageCursor;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.request.ItemRequestController;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.dto.ItemRequestFeedDto;
 import ru.practicum.shareit.request.dto.ItemRequestResponseDto;
 import ru.practicum.shareit.request.dto.ItemResponseDto;
 import ru.practicum.shareit.request.service.ItemRequestService;
@@ -18,14 +20,17 @@ import ru.practicum.shareit.user.dto.UserDto;
 
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.Collections;
 import java.util.List;
 
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -53,6 +58,10 @@ public class ItemRequestControllerTest {
             1L, "Need a drill", userDto, LocalDateTime.now()
     );
 
+    private final ItemRequestFeedDto itemRequestFeedDto = new ItemRequestFeedDto(
+            1L, "Need a drill", userDto, LocalDateTime.now(), 3L
+    );
+
     private final ItemResponseDto itemResponseDto = new ItemResponseDto(
             1L, "Drill", ownerDto
     );
@@ -118,9 +127,9 @@ public class ItemRequestControllerTest {
 
     @Test
     void getAllItemRequests() throws Exception {
-        List<ItemRequestDto> requests = List.of(savedItemRequestDto);
+        List<ItemRequestFeedDto> requests = List.of(itemRequestFeedDto);
 
-        Mockito.when(itemRequestService.getAllItemRequests(anyLong()))
+        Mockito.when(itemRequestService.getAllItemRequests(anyLong(), anyInt(), anyInt(), any()))
                 .thenReturn(requests);
 
         mvc.perform(get("/requests/all")
@@ -129,14 +138,43 @@ public class ItemRequestControllerTest {
                         .contentType(MediaType.APPLICATION_JSON)
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].id", is(savedItemRequestDto.getId().intValue())))
-                .andExpect(jsonPath("$[0].description", is(savedItemRequestDto.getDescription())))
-                .andExpect(jsonPath("$[0].requestor.id", is(savedItemRequestDto.getRequestor().getId().intValue())));
+                .andExpect(header().doesNotExist(PageCursor.HEADER))
+                .andExpect(jsonPath("$[0].id", is(itemRequestFeedDto.getId().intValue())))
+                .andExpect(jsonPath("$[0].description", is(itemRequestFeedDto.getDescription())))
+                .andExpect(jsonPath("$[0].requestor.id", is(itemRequestFeedDto.getRequestor().getId().intValue())))
+                .andExpect(jsonPath("$[0].replies", is(3)));
+    }
+
+    @Test
+    void getAllItemRequestsFullPageReturnsNextCursor() throws Exception {
+        Mockito.when(itemRequestService.getAllItemRequests(2L, 0, 1, "abc"))
+                .thenReturn(List.of(itemRequestFeedDto));
+
+        mvc.perform(get("/requests/all")
+                        .header("X-Sharer-User-Id", 2L)
+                        .param("size", "1")
+                        .param("cursor", "abc"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(PageCursor.HEADER,
+                        new PageCursor(itemRequestFeedDto.getCreated(), itemRequestFeedDto.getId()).encode()));
+    }
+
+    @Test
+    void getAllItemRequestsClampedFullPageReturnsNextCursor() throws Exception {
+        Mockito.when(itemRequestService.getAllItemRequests(2L, 0, 150, null))
+                .thenReturn(Collections.nCopies(PageCursor.MAX_PAGE_SIZE, itemRequestFeedDto));
+
+        mvc.perform(get("/requests/all")
+                        .header("X-Sharer-User-Id", 2L)
+                        .param("size", "150"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(PageCursor.HEADER,
+                        new PageCursor(itemRequestFeedDto.getCreated(), itemRequestFeedDto.getId()).encode()));
     }
 
     @Test
     void getAllItemRequestsWhenNoOtherRequests() throws Exception {
-        Mockito.when(itemRequestService.getAllItemRequests(anyLong()))
+        Mockito.when(itemRequestService.getAllItemRequests(anyLong(), anyInt(), anyInt(), any()))
                 .thenReturn(List.of());
 
         mvc.perform(get("/requests/all")
@@ -211,7 +249,7 @@ public class ItemRequestControllerTest {
 
     @Test
     void getAllItemRequestsWhenServiceThrowsNotFoundException() throws Exception {
-        Mockito.when(itemRequestService.getAllItemRequests(anyLong()))
+        Mockito.when(itemRequestService.getAllItemRequests(anyLong(), anyInt(), anyInt(), any()))
                 .thenThrow(new NotFoundException("User not found"));
 
         mvc.perform(get("/requests/all")
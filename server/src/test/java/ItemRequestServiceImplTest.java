@@ -6,10 +6,13 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.common.PageCursor;
+import ru.practicum.shareit.exception.IncorrectDataException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.dto.ItemRequestFeedDto;
 import ru.practicum.shareit.request.dto.ItemRequestResponseDto;
 import ru.practicum.shareit.request.dto.ItemResponseDto;
 import ru.practicum.shareit.request.service.ItemRequestService;
@@ -140,11 +143,11 @@ public class ItemRequestServiceImplTest {
 
         em.flush();
 
-        List<ItemRequestDto> result = service.getAllItemRequests(currentUser.getId());
+        List<ItemRequestFeedDto> result = service.getAllItemRequests(currentUser.getId(), 0, 20, null);
 
         assertThat(result, hasSize(2));
 
-        List<Long> resultIds = result.stream().map(ItemRequestDto::getId).collect(Collectors.toList());
+        List<Long> resultIds = result.stream().map(ItemRequestFeedDto::getId).collect(Collectors.toList());
         assertThat(resultIds, containsInAnyOrder(request1.getId(), request2.getId()));
         assertThat(resultIds, not(contains(ownRequest.getId())));
 
@@ -165,11 +168,50 @@ public class ItemRequestServiceImplTest {
 
         em.flush();
 
-        List<ItemRequestDto> result = service.getAllItemRequests(user.getId());
+        List<ItemRequestFeedDto> result = service.getAllItemRequests(user.getId(), 0, 20, null);
 
         assertThat(result, hasSize(0));
     }
 
+    @Test
+    void testGetAllItemRequestsPagesByCursorWithReplyCounts() {
+        User reader = makeUser("feed-reader@email.com", "Reader");
+        em.persist(reader);
+        User requestor = makeUser("feed-requestor@email.com", "Requestor");
+        em.persist(requestor);
+
+        LocalDateTime created = LocalDateTime.of(2100, 1, 1, 12, 0);
+        ItemRequest oldest = makeItemRequest("Oldest", requestor);
+        oldest.setCreated(created.minusDays(1));
+        em.persist(oldest);
+        ItemRequest tied = makeItemRequest("Tied", requestor);
+        tied.setCreated(created);
+        em.persist(tied);
+        ItemRequest newest = makeItemRequest("Newest", requestor);
+        newest.setCreated(created);
+        em.persist(newest);
+        em.persist(makeItem("Drill", "Drill", reader, true, newest));
+        em.persist(makeItem("Saw", "Saw", reader, true, newest));
+        em.flush();
+
+        List<ItemRequestFeedDto> first = service.getAllItemRequests(reader.getId(), 0, 2, null);
+        ItemRequestFeedDto last = first.getLast();
+        String cursor = new PageCursor(last.getCreated(), last.getId()).encode();
+        List<ItemRequestFeedDto> second = service.getAllItemRequests(reader.getId(), 0, 1, cursor);
+
+        assertThat(first.stream().map(ItemRequestFeedDto::getId).toList(), contains(newest.getId(), tied.getId()));
+        assertThat(first.stream().map(ItemRequestFeedDto::getReplies).toList(), contains(2L, 0L));
+        assertThat(first.getFirst().getRequestor().getId(), equalTo(requestor.getId()));
+        assertThat(second.getFirst().getId(), equalTo(oldest.getId()));
+    }
+
+    @Test
+    void testGetAllItemRequestsWithInvalidPage() {
+        assertThrows(IncorrectDataException.class, () -> service.getAllItemRequests(1L, -1, 20, null));
+        assertThrows(IncorrectDataException.class, () -> service.getAllItemRequests(1L, 0, 0, null));
+        assertThrows(IncorrectDataException.class, () -> service.getAllItemRequests(1L, 0, 20, "not-a-cursor"));
+    }
+
     @Test
     void testGetItemRequestById() {
         User requestor = makeUser("requestor3@email.com", "Requestor3");
@@ -1,6 +1,9 @@
 import jakarta.persistence.EntityManager;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.persistence.TypedQuery;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -8,6 +11,10 @@ import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.ShareItServer;
 import ru.practicum.shareit.booking.Booking;
 import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.common.BatchRowResult;
+import ru.practicum.shareit.common.BatchRowStatus;
 import ru.practicum.shareit.exception.IncorrectDataException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.dto.CommentDto;
@@ -16,10 +23,13 @@ import ru.practicum.shareit.item.dto.ItemWithDateDto;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.item.summary.ItemBookingSummaries;
+import ru.practicum.shareit.item.summary.ItemBookingSummary;
 import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.user.User;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -33,6 +43,9 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 public class ItemServiceImplTest {
     private final EntityManager em;
     private final ItemService service;
+    private final BookingService bookingService;
+    private final MeterRegistry meterRegistry;
+    private final ItemBookingSummaries bookingSummaries;
 
     @Test
     void testAddItem() {
@@ -281,7 +294,7 @@ public class ItemServiceImplTest {
 
         em.flush();
 
-        List<ItemDto> result = service.searchItem("drill");
+        List<ItemDto> result = service.searchItem("drill", 0, 20);
 
         assertThat(result, hasSize(1));
         assertThat(result.getFirst().getName(), equalTo("Drill"));
@@ -297,15 +310,74 @@ public class ItemServiceImplTest {
 
         em.flush();
 
-        List<ItemDto> result1 = service.searchItem("");
-        List<ItemDto> result2 = service.searchItem("   ");
-        List<ItemDto> result3 = service.searchItem(null);
+        List<ItemDto> result1 = service.searchItem("", 0, 20);
+        List<ItemDto> result2 = service.searchItem("   ", 0, 20);
+        List<ItemDto> result3 = service.searchItem(null, 0, 20);
 
         assertThat(result1, hasSize(0));
         assertThat(result2, hasSize(0));
         assertThat(result3, hasSize(0));
     }
 
+    @Test
+    void testSearchItemRanksNameMatchesFirst() {
+        User owner = makeUser("owner21@email.com", "Owner21");
+        em.persist(owner);
+
+        Item inDescription = makeItem("Toolbox", "Box with a drill inside", owner, true, null);
+        em.persist(inDescription);
+
+        Item inName = makeItem("Cordless drill", "Battery powered", owner, true, null);
+        em.persist(inName);
+
+        Item exactName = makeItem("Drill", "Simple", owner, true, null);
+        em.persist(exactName);
+
+        em.flush();
+
+        List<ItemDto> result = service.searchItem("DRILL", 0, 20);
+
+        assertThat(result.stream().map(ItemDto::getId).toList(),
+                contains(exactName.getId(), inName.getId(), inDescription.getId()));
+    }
+
+    @Test
+    void testSearchItemPaginated() {
+        User owner = makeUser("owner22@email.com", "Owner22");
+        em.persist(owner);
+
+        for (int i = 0; i < 5; i++) {
+            em.persist(makeItem("Saw " + i, "Sharp saw", owner, true, null));
+        }
+        em.flush();
+
+        List<ItemDto> firstPage = service.searchItem("saw", 0, 2);
+        List<ItemDto> lastPage = service.searchItem("saw", 4, 2);
+
+        assertThat(firstPage, hasSize(2));
+        assertThat(lastPage, hasSize(1));
+        assertThat(lastPage.getFirst().getId(), not(in(firstPage.stream().map(ItemDto::getId).toList())));
+    }
+
+    @Test
+    void testSearchItemReflectsUpdate() {
+        User owner = makeUser("owner23@email.com", "Owner23");
+        em.persist(owner);
+        em.flush();
+
+        ItemDto saved = service.addItem(owner.getId(), makeItemDto("Ladder", "Tall ladder", true, null));
+        service.updateItem(owner.getId(), saved.getId(), makeItemDto("Stepladder", "Short", false, null));
+        em.flush();
+
+        assertThat(service.searchItem("ladder", 0, 20), hasSize(0));
+    }
+
+    @Test
+    void testSearchItemWithInvalidPaging() {
+        assertThrows(IncorrectDataException.class, () -> service.searchItem("drill", -1, 20));
+        assertThrows(IncorrectDataException.class, () -> service.searchItem("drill", 0, 0));
+    }
+
     @Test
     void testSearchItemNoResults() {
         User owner = makeUser("owner10@email.com", "Owner10");
@@ -316,7 +388,7 @@ public class ItemServiceImplTest {
 
         em.flush();
 
-        List<ItemDto> result = service.searchItem("drill");
+        List<ItemDto> result = service.searchItem("drill", 0, 20);
 
         assertThat(result, hasSize(0));
     }
@@ -443,6 +515,207 @@ public class ItemServiceImplTest {
         assertThat(result.getName(), equalTo(item.getName()));
     }
 
+    @Test
+    void testGetItemWithDateByIdServedFromCache() {
+        User owner = makeUser("owner24@email.com", "Owner24");
+        em.persist(owner);
+
+        Item item = makeItem("Item24", "Description", owner, true, null);
+        em.persist(item);
+
+        em.flush();
+
+        double hitsBefore = cacheHits("items");
+        service.getItemWithDateById(owner.getId(), item.getId());
+
+        Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        em.clear();
+        statistics.clear();
+        ItemWithDateDto result = service.getItemWithDateById(owner.getId(), item.getId());
+
+        assertThat(result.getName(), equalTo("Item24"));
+        assertThat(statistics.getPrepareStatementCount(), equalTo(0L));
+        assertThat(cacheHits("items") - hitsBefore, equalTo(1.0));
+    }
+
+    @Test
+    void testAddCommentEvictsCachedItem() {
+        User owner = makeUser("owner25@email.com", "Owner25");
+        em.persist(owner);
+
+        User booker = makeUser("booker25@email.com", "Booker25");
+        em.persist(booker);
+
+        Item item = makeItem("Item25", "Description", owner, true, null);
+        em.persist(item);
+
+        em.persist(makeBooking(LocalDateTime.now().minusDays(2), LocalDateTime.now().minusDays(1),
+                item, booker, BookingStatus.APPROVED));
+
+        em.flush();
+
+        assertThat(service.getItemWithDateById(owner.getId(), item.getId()).getComments(), hasSize(0));
+
+        service.addComment(booker.getId(), item.getId(), new CommentDto(null, "Nice", null, null));
+
+        assertThat(service.getItemWithDateById(owner.getId(), item.getId()).getComments(), hasSize(1));
+    }
+
+    @Test
+    void testAddBookingEvictsCachedBookingDates() {
+        User owner = makeUser("owner26@email.com", "Owner26");
+        em.persist(owner);
+
+        User booker = makeUser("booker26@email.com", "Booker26");
+        em.persist(booker);
+
+        Item item = makeItem("Item26", "Description", owner, true, null);
+        em.persist(item);
+
+        em.flush();
+
+        assertThat(service.getItemWithDateById(owner.getId(), item.getId()).getNextBooking(), nullValue());
+
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.MICROS);
+        bookingService.addBooking(booker.getId(),
+                new BookingDto(null, start, start.plusDays(1), item.getId(), null, null));
+
+        assertThat(service.getItemWithDateById(owner.getId(), item.getId()).getNextBooking(), equalTo(start));
+    }
+
+    @Test
+    void testBookingChangesUpdateSummary() {
+        User owner = makeUser("owner27@email.com", "Owner27");
+        em.persist(owner);
+
+        User booker = makeUser("booker27@email.com", "Booker27");
+        em.persist(booker);
+        em.flush();
+
+        ItemDto item = service.addItem(owner.getId(), makeItemDto("Item27", "Description", true, null));
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.MICROS);
+        Long bookingId = bookingService.addBooking(booker.getId(),
+                new BookingDto(null, start, start.plusDays(1), item.getId(), null, null)).getId();
+
+        ItemBookingSummary summary = em.find(ItemBookingSummary.class, item.getId());
+        assertThat(summary.getNextBookingStart(), equalTo(start));
+        assertThat(summary.getValidUntil(), equalTo(start));
+        assertThat(summary.getWaitingCount(), equalTo(1L));
+
+        bookingService.finalizeBooking(owner.getId(), bookingId, true);
+        em.flush();
+        em.refresh(summary);
+
+        assertThat(summary.getWaitingCount(), equalTo(0L));
+        assertThat(summary.getApprovedCount(), equalTo(1L));
+    }
+
+    @Test
+    void testGetItemsReadsFreshSummariesWithoutBookingQueries() {
+        User owner = makeUser("owner28@email.com", "Owner28");
+        em.persist(owner);
+        em.flush();
+
+        LocalDateTime next = LocalDateTime.now().plusDays(3).truncatedTo(ChronoUnit.MICROS);
+        for (int i = 0; i < 5; i++) {
+            Long itemId = service.addItem(owner.getId(), makeItemDto("Item28-" + i, "Description", true, null)).getId();
+            ItemBookingSummary summary = em.find(ItemBookingSummary.class, itemId);
+            summary.setNextBookingStart(next);
+            summary.setValidUntil(next);
+        }
+        em.flush();
+
+        Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        em.clear();
+        statistics.clear();
+        List<ItemWithDateDto> result = service.getItems(owner.getId());
+
+        assertThat(result, hasSize(5));
+        assertThat(result, everyItem(hasProperty("nextBooking", equalTo(next))));
+        assertThat(statistics.getPrepareStatementCount(), equalTo(3L));
+    }
+
+    @Test
+    void testGetItemsRecomputesStaleSummary() {
+        User owner = makeUser("owner29@email.com", "Owner29");
+        em.persist(owner);
+
+        User booker = makeUser("booker29@email.com", "Booker29");
+        em.persist(booker);
+        em.flush();
+
+        ItemDto item = service.addItem(owner.getId(), makeItemDto("Item29", "Description", true, null));
+        Item entity = em.find(Item.class, item.getId());
+        LocalDateTime end = LocalDateTime.now().minusHours(1).truncatedTo(ChronoUnit.MICROS);
+        em.persist(makeBooking(end.minusDays(1), end, entity, booker, BookingStatus.APPROVED));
+        ItemBookingSummary summary = em.find(ItemBookingSummary.class, item.getId());
+        summary.setNextBookingStart(end.minusDays(1));
+        summary.setValidUntil(end.minusDays(1));
+        em.flush();
+
+        ItemWithDateDto result = service.getItems(owner.getId()).getFirst();
+
+        assertThat(result.getLastBooking(), equalTo(end));
+        assertThat(result.getNextBooking(), nullValue());
+    }
+
+    @Test
+    void testRollForwardRefreshesExpiredSummaries() {
+        User owner = makeUser("owner30@email.com", "Owner30");
+        em.persist(owner);
+
+        User booker = makeUser("booker30@email.com", "Booker30");
+        em.persist(booker);
+        em.flush();
+
+        ItemDto item = service.addItem(owner.getId(), makeItemDto("Item30", "Description", true, null));
+        Item entity = em.find(Item.class, item.getId());
+        LocalDateTime end = LocalDateTime.now().minusHours(1).truncatedTo(ChronoUnit.MICROS);
+        em.persist(makeBooking(end.minusDays(1), end, entity, booker, BookingStatus.APPROVED));
+        ItemBookingSummary summary = em.find(ItemBookingSummary.class, item.getId());
+        summary.setValidUntil(end.minusDays(1));
+        em.flush();
+
+        bookingSummaries.rollForward();
+        em.flush();
+        em.refresh(summary);
+
+        assertThat(summary.getLastBookingEnd(), equalTo(end));
+        assertThat(summary.getValidUntil(), nullValue());
+        assertThat(summary.getApprovedCount(), equalTo(1L));
+    }
+
+    @Test
+    void testAddItemsReportsMissingRequestsPerRow() {
+        User owner = makeUser("owner31@email.com", "Owner31");
+        em.persist(owner);
+        em.flush();
+
+        List<BatchRowResult<ItemDto>> results = service.addItems(owner.getId(), List.of(
+                makeItemDto("Drill", "Powerful drill", true, null),
+                makeItemDto("Saw", "Sharp saw", true, 9999L),
+                makeItemDto("Hammer", "Heavy hammer", false, null)));
+
+        assertThat(results.stream().map(BatchRowResult::status).toList(),
+                contains(BatchRowStatus.CREATED, BatchRowStatus.NOT_FOUND, BatchRowStatus.CREATED));
+        assertThat(results.get(1).error(), equalTo("Запрос вещи с ID = '9999' не найден"));
+        assertThat(service.getItems(owner.getId()), hasSize(2));
+        assertThat(em.find(ItemBookingSummary.class, results.get(2).result().getId()), notNullValue());
+    }
+
+    @Test
+    void testAddItemsWhenUserNotFound() {
+        assertThrows(NotFoundException.class, () -> service.addItems(9999L, List.of()));
+    }
+
+    private double cacheHits(String cache) {
+        return meterRegistry.get("cache.gets")
+                .tag("cache", cache)
+                .tag("result", "hit")
+                .functionCounter()
+                .count();
+    }
+
     private User makeUser(String email, String name) {
         User user = new User();
         user.setEmail(email);
@@ -0,0 +1,64 @@
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.common.ServiceMetrics;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(classes = ShareItServer.class,
+        properties = "spring.datasource.url=jdbc:h2:mem:shareit-metrics;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE")
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+public class MetricsTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private UserService userService;
+
+    @Test
+    void testServiceCallsAreTimedWithOutcome() {
+        UserDto user = userService.createUser(new UserDto(null, "Metrics", "metrics@example.com"));
+        userService.getUserById(user.getId());
+        assertThatThrownBy(() -> userService.getUserById(Long.MAX_VALUE)).isInstanceOf(NotFoundException.class);
+
+        assertThat(meterRegistry.get(ServiceMetrics.OBSERVATION)
+                .tag("class", "ru.practicum.shareit.user.service.UserServiceImpl")
+                .tag("method", "getUserById")
+                .tag("error", "none")
+                .timer()
+                .count()).isEqualTo(1);
+        assertThat(meterRegistry.get(ServiceMetrics.OBSERVATION)
+                .tag("method", "getUserById")
+                .tag("error", "NotFoundException")
+                .timer()
+                .count()).isEqualTo(1);
+    }
+
+    @Test
+    void testPrometheusEndpointExposesServiceRepositoryAndHibernateMetrics() throws Exception {
+        userService.createUser(new UserDto(null, "Prometheus", "prometheus@example.com"));
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("shareit_service_seconds_bucket")))
+                .andExpect(content().string(containsString("spring_data_repository_invocations_seconds_bucket")))
+                .andExpect(content().string(containsString("hibernate_statements_total")));
+    }
+}
@@ -0,0 +1,207 @@
+import com.jayway.jsonpath.JsonPath;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.datasource.ReadYourWrites;
+import ru.practicum.shareit.datasource.ReplicaLagMonitor;
+import ru.practicum.shareit.datasource.ReplicaRoutingDataSource;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.service.ItemRequestService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Реплику изображает вторая база H2 с той же схемой, в которую ничего не реплицируется:
+ * строка, видимая только в одной из баз, показывает, откуда было прочитано.
+ */
+@SpringBootTest(classes = ShareItServer.class,
+        properties = {
+                "spring.datasource.url=jdbc:h2:mem:shareit-routing;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                "shareit.datasource.replica.jdbc-url=" + ReplicaRoutingTest.REPLICA_URL,
+                "shareit.datasource.replica.username=sa",
+                "shareit.datasource.replica.password=",
+                "shareit.datasource.routing.lag-query=SELECT seconds FROM replication_lag",
+                "shareit.datasource.routing.check-interval=PT1H"
+        })
+@AutoConfigureMockMvc
+public class ReplicaRoutingTest {
+    static final String REPLICA_URL = "jdbc:h2:mem:shareit-routing-replica;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE";
+
+    private static final long REPLICA_ONLY_USER_ID = 1_000_001L;
+    private static final long PRIMARY_ONLY_EVENT_SEQ = 1_000_001L;
+
+    private final JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ReplicaLagMonitor lagMonitor;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ReadYourWrites readYourWrites;
+
+    @Autowired
+    private ItemRequestService itemRequestService;
+
+    @Autowired
+    private JdbcTemplate primary;
+
+    @BeforeEach
+    void prepareReplica() {
+        Flyway.configure()
+                .dataSource(replica.getDataSource())
+                .locations("classpath:db/migration/common", "classpath:db/migration/h2")
+                .placeholders(Map.of("id-allocation-size", "50"))
+                .load()
+                .migrate();
+        replica.execute("CREATE TABLE IF NOT EXISTS replication_lag (seconds DOUBLE PRECISION)");
+        replica.update("MERGE INTO users (id, email, name) KEY (id) VALUES (?, 'replica-only@example.com', 'Replica')",
+                REPLICA_ONLY_USER_ID);
+        replicateWithLag(0);
+    }
+
+    @Test
+    void testReadOnlyTransactionsReadCaughtUpReplica() {
+        double replicaReads = reads("replica");
+
+        UserDto written = userService.createUser(new UserDto(null, "Primary", "routing-primary@example.com"));
+
+        assertThat(userService.getUserById(REPLICA_ONLY_USER_ID).getName()).isEqualTo("Replica");
+        assertThatThrownBy(() -> userService.getUserById(written.getId())).isInstanceOf(NotFoundException.class);
+        assertThat(reads("replica")).isGreaterThan(replicaReads);
+    }
+
+    @Test
+    void testLaggingReplicaIsBypassed() {
+        UserDto written = userService.createUser(new UserDto(null, "Primary", "routing-lag@example.com"));
+
+        replicateWithLag(60);
+
+        assertThat(userService.getUserById(written.getId()).getName()).isEqualTo("Primary");
+        assertThatThrownBy(() -> userService.getUserById(REPLICA_ONLY_USER_ID))
+                .isInstanceOf(NotFoundException.class);
+    }
+
+    @Test
+    void testUserReadsOwnWritesUntilReplicaCatchesUp() throws Exception {
+        UserDto requestor = userService.createUser(new UserDto(null, "Requestor", "routing-requestor@example.com"));
+        UserDto reader = userService.createUser(new UserDto(null, "Reader", "routing-reader@example.com"));
+
+        mockMvc.perform(post("/requests")
+                        .header("X-Sharer-User-Id", requestor.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"description\":\"Need a ladder\"}"))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(get("/requests").header("X-Sharer-User-Id", requestor.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)));
+        mockMvc.perform(get("/requests/all").header("X-Sharer-User-Id", reader.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+
+        replicateWithLag(0);
+
+        mockMvc.perform(get("/requests").header("X-Sharer-User-Id", requestor.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+    }
+
+    @Test
+    void testCreatedUserIsReadFromPrimaryUntilReplicaCatchesUp() throws Exception {
+        String created = mockMvc.perform(post("/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Created\",\"email\":\"routing-created@example.com\"}"))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        Number id = JsonPath.read(created, "$.id");
+
+        mockMvc.perform(get("/users/{userId}", id.longValue()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Created"));
+
+        replicateWithLag(0);
+
+        mockMvc.perform(get("/users/{userId}", id.longValue()))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testWriteTokenIsRecordedAtCommit() {
+        UserDto writer = userService.createUser(new UserDto(null, "Writer", "routing-writer@example.com"));
+        replicateWithLag(0);
+
+        readYourWrites.bind(writer.getId());
+        try {
+            assertThat(readYourWrites.currentToken()).isNull();
+            itemRequestService.addItemRequest(writer.getId(), new ItemRequestDto(null, "Need a drill", null, null));
+            assertThat(readYourWrites.currentToken()).isNotNull();
+        } finally {
+            readYourWrites.unbind();
+        }
+    }
+
+    @Test
+    void testStreamReplayReadsPrimary() throws Exception {
+        UserDto owner = userService.createUser(new UserDto(null, "Owner", "routing-owner@example.com"));
+        primary.update("INSERT INTO booking_events (seq, owner_id, booking_id, type, payload, created) " +
+                "VALUES (?, ?, 1, 'BOOKING_CREATED', '{}', LOCALTIMESTAMP)", PRIMARY_ONLY_EVENT_SEQ, owner.getId());
+        replica.update("MERGE INTO users (id, email, name) KEY (id) VALUES (?, ?, ?)",
+                owner.getId(), owner.getEmail(), owner.getName());
+        replicateWithLag(0);
+
+        MockHttpServletResponse stream = mockMvc.perform(get("/bookings/owner/stream")
+                        .header("X-Sharer-User-Id", owner.getId())
+                        .header("Last-Event-ID", 0))
+                .andExpect(request().asyncStarted())
+                .andReturn()
+                .getResponse();
+
+        await().atMost(Duration.ofSeconds(10)).until(() -> stream.getContentAsString(StandardCharsets.UTF_8)
+                .contains("id:" + PRIMARY_ONLY_EVENT_SEQ + "\n"));
+    }
+
+    private void replicateWithLag(double seconds) {
+        replica.update("DELETE FROM replication_lag");
+        replica.update("INSERT INTO replication_lag (seconds) VALUES (?)", seconds);
+        lagMonitor.check();
+    }
+
+    private double reads(String target) {
+        return meterRegistry.counter(ReplicaRoutingDataSource.READS_METRIC, "target", target).count();
+    }
+}
@@ -0,0 +1,164 @@
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.ShareItServer;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        classes = ShareItServer.class,
+        properties = "spring.datasource.url=jdbc:h2:mem:shareit-explain;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE")
+public class SchemaIndexTest {
+    private static final int USERS = 500;
+    private static final int ITEMS = 2_000;
+    private static final int BOOKINGS = 20_000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void seed() {
+        Integer users = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Integer.class);
+        if (users != null && users > 0) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+
+        List<Object[]> userRows = new ArrayList<>();
+        for (int i = 1; i <= USERS; i++) {
+            userRows.add(new Object[]{"user" + i + "@explain.com", "User " + i});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users (email, name) VALUES (?, ?)", userRows);
+        List<Long> userIds = jdbcTemplate.queryForList("SELECT id FROM users ORDER BY id", Long.class);
+
+        List<Object[]> requestRows = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            requestRows.add(new Object[]{"Request " + i, userIds.get(i), Timestamp.valueOf(now.minusHours(i))});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO requests (description, requestor_id, created) VALUES (?, ?, ?)",
+                requestRows);
+        List<Long> requestIds = jdbcTemplate.queryForList("SELECT id FROM requests ORDER BY id", Long.class);
+
+        List<Object[]> itemRows = new ArrayList<>();
+        for (int i = 0; i < ITEMS; i++) {
+            itemRows.add(new Object[]{"Item " + i, "Description " + i, true, userIds.get(i % USERS),
+                    i % 4 == 0 ? requestIds.get(i % USERS) : null});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO items (name, description, is_available, owner_id, request_id) " +
+                "VALUES (?, ?, ?, ?, ?)", itemRows);
+        List<Long> itemIds = jdbcTemplate.queryForList("SELECT id FROM items ORDER BY id", Long.class);
+
+        List<Object[]> bookingRows = new ArrayList<>();
+        List<Object[]> commentRows = new ArrayList<>();
+        String[] statuses = {"WAITING", "APPROVED", "REJECTED", "CANCELED"};
+        for (int i = 0; i < BOOKINGS; i++) {
+            LocalDateTime start = now.minusDays(BOOKINGS / 2 - i);
+            bookingRows.add(new Object[]{Timestamp.valueOf(start), Timestamp.valueOf(start.plusHours(12)),
+                    itemIds.get(i % ITEMS), userIds.get((i * 7) % USERS), statuses[i % statuses.length]});
+            if (i % 4 == 0) {
+                commentRows.add(new Object[]{"Comment " + i, itemIds.get(i % ITEMS), userIds.get((i * 7) % USERS),
+                        Timestamp.valueOf(start.plusDays(1))});
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO bookings (start_date, end_date, item_id, booker_id, status) " +
+                "VALUES (?, ?, ?, ?, ?)", bookingRows);
+        jdbcTemplate.batchUpdate("INSERT INTO comments (text, item_id, author_id, created) VALUES (?, ?, ?, ?)",
+                commentRows);
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @Test
+    void lookupIndexesAreCreated() {
+        List<String> indexes = jdbcTemplate.queryForList("SELECT LOWER(index_name) FROM information_schema.indexes " +
+                "WHERE table_schema = 'PUBLIC'", String.class);
+
+        assertThat(indexes).contains("idx_bookings_booker_start", "idx_bookings_item_status_end",
+                "idx_bookings_item_start", "idx_comments_item", "idx_items_owner", "idx_items_request",
+                "idx_requests_requestor_created", "idx_bookings_booker_phase_start", "idx_bookings_item_phase_start",
+                "idx_bookings_phase_start", "idx_bookings_phase_end", "idx_bookings_status_start",
+                "idx_requests_created_id");
+    }
+
+    @Test
+    void nextPhaseBoundaryLookupUsesPhaseIndexes() {
+        assertThat(explain("SELECT MIN(start_date) FROM bookings WHERE phase = 'FUTURE'"))
+                .containsIgnoringCase("idx_bookings_phase_start");
+        assertThat(explain("SELECT MIN(end_date) FROM bookings WHERE phase = 'CURRENT'"))
+                .containsIgnoringCase("idx_bookings_phase_end");
+    }
+
+    @Test
+    void bookingsByBookerUseIndex() {
+        assertIndexLookup("SELECT * FROM bookings WHERE booker_id = 1 ORDER BY start_date DESC, id DESC",
+                "booker_id");
+    }
+
+    @Test
+    void lastBookingLookupUsesItemStatusEndIndex() {
+        assertThat(explain("SELECT * FROM bookings WHERE item_id = 1 AND status = 'APPROVED' " +
+                "AND end_date < CURRENT_TIMESTAMP ORDER BY end_date DESC"))
+                .containsIgnoringCase("idx_bookings_item_status_end");
+    }
+
+    @Test
+    void nextBookingLookupUsesItemStartIndex() {
+        assertThat(explain("SELECT * FROM bookings WHERE item_id = 1 AND start_date > CURRENT_TIMESTAMP " +
+                "ORDER BY start_date"))
+                .containsIgnoringCase("idx_bookings_item_start");
+    }
+
+    @Test
+    void bookingsByOwnerUseIndexes() {
+        String plan = explain("SELECT b.* FROM bookings b JOIN items i ON b.item_id = i.id WHERE i.owner_id = 1");
+
+        assertThat(plan).doesNotContainIgnoringCase("tableScan");
+        assertThat(plan).containsPattern("(?i)/\\* PUBLIC\\.\\w+: OWNER_ID =");
+    }
+
+    @Test
+    void commentsByItemsUseIndex() {
+        assertIndexLookup("SELECT * FROM comments WHERE item_id IN (1, 2, 3)", "item_id");
+    }
+
+    @Test
+    void itemsByOwnerUseIndex() {
+        assertIndexLookup("SELECT * FROM items WHERE owner_id = 1", "owner_id");
+    }
+
+    @Test
+    void itemsByRequestsUseItemsRequestIndex() {
+        assertThat(explain("SELECT * FROM items WHERE request_id IN (1, 2, 3)"))
+                .containsIgnoringCase("idx_items_request");
+    }
+
+    @Test
+    void requestsByRequestorUseIndex() {
+        assertIndexLookup("SELECT * FROM requests WHERE requestor_id = 1 ORDER BY created DESC", "requestor_id");
+    }
+
+    @Test
+    void requestFeedUsesCreatedIndex() {
+        assertThat(explain("SELECT * FROM requests WHERE requestor_id <> 1 ORDER BY created DESC, id DESC LIMIT 20"))
+                .containsIgnoringCase("idx_requests_created_id");
+    }
+
+    // H2 сам создаёт индекс под каждый внешний ключ и при равной селективности выбирает его,
+    // поэтому для таких колонок проверяем лишь, что чтение идёт по индексу, а не полным сканом
+    private void assertIndexLookup(String sql, String column) {
+        String plan = explain(sql);
+
+        assertThat(plan).doesNotContainIgnoringCase("tableScan");
+        assertThat(plan).containsPattern("(?i)/\\* PUBLIC\\.\\w+: " + column + " ");
+    }
+
+    private String explain(String sql) {
+        return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class));
+    }
+}
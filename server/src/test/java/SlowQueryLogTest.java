@@ -0,0 +1,151 @@
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.slowquery.SlowQueryLog;
+import ru.practicum.shareit.slowquery.SlowQueryReport;
+import ru.practicum.shareit.slowquery.SlowQueryStatement;
+import ru.practicum.shareit.slowquery.SqlFingerprint;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Порог 0 делает медленным каждый запрос, поэтому в сводку попадают все выполнения.
+ */
+@SpringBootTest(classes = ShareItServer.class,
+        properties = {
+                "spring.datasource.url=jdbc:h2:mem:shareit-slow-query;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                "shareit.slow-query.threshold=0ms"
+        })
+@AutoConfigureMockMvc
+public class SlowQueryLogTest {
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private SlowQueryLog slowQueryLog;
+
+    @Autowired
+    private UserService userService;
+
+    @Test
+    void testFingerprintReplacesValuesAndCollapsesInLists() {
+        assertThat(SqlFingerprint.of("select u1_0.id from users u1_0\n   where u1_0.email = 'a''b' and u1_0.id in (1, 2,3)"))
+                .isEqualTo("select u1_0.id from users u1_0 where u1_0.email = ? and u1_0.id in (?)");
+        assertThat(SqlFingerprint.of("select * from items where id IN (?, ?, ?) limit 10"))
+                .isEqualTo("select * from items where id in (?) limit ?");
+    }
+
+    @Test
+    void testExecutedQueriesAreAggregatedByFingerprint() {
+        UserDto user = userService.createUser(new UserDto(null, "Slow", "slow-query@example.com"));
+        userService.getUserById(user.getId());
+        SlowQueryStatement before = await().atMost(TIMEOUT).until(this::userLookup, Optional::isPresent).get();
+
+        userService.getUserById(user.getId());
+        userService.getUserById(user.getId());
+
+        SlowQueryStatement statement = await().atMost(TIMEOUT).until(this::userLookup,
+                found -> found.get().count() == before.count() + 2).get();
+        assertThat(statement.fingerprint()).doesNotContain("\n");
+        assertThat(statement.slowCount()).isEqualTo(before.slowCount() + 2);
+        assertThat(statement.lastSeen()).isNotNull();
+    }
+
+    @Test
+    void testSampleRateOutsideUnitIntervalIsRejected() {
+        assertThatThrownBy(() -> new SlowQueryLog(Duration.ZERO, 0, 16, 2))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new SlowQueryLog(Duration.ZERO, 1.5, 16, 2))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void testFingerprintsBeyondLimitAreCountedAsUntracked() {
+        SlowQueryLog limited = new SlowQueryLog(Duration.ZERO, 1, 16, 2);
+        limited.start();
+        try {
+            limited.record("select 1 from users", 5);
+            limited.record("select 1 from items", 7);
+            limited.record("select 1 from bookings", 9);
+            limited.record("select 2 from items", 3);
+
+            await().atMost(TIMEOUT).until(() -> limited.report(1).recorded() == 4);
+        } finally {
+            limited.stop();
+        }
+        SlowQueryReport report = limited.report(10);
+        assertThat(report.untracked()).isEqualTo(1);
+        assertThat(report.top()).extracting(SlowQueryStatement::fingerprint)
+                .containsExactly("select ? from items", "select ? from users");
+        assertThat(report.top().get(0).totalMillis()).isEqualTo(10);
+        assertThat(report.top().get(0).maxMillis()).isEqualTo(7);
+    }
+
+    @Test
+    void testSampledQueriesAreScaledByInverseSampleRate() {
+        SlowQueryLog sampled = new SlowQueryLog(Duration.ofSeconds(1), 0.5, 16_384, 10);
+        sampled.start();
+        try {
+            for (int i = 0; i < 10_000; i++) {
+                sampled.record("select 1 from users", 2);
+            }
+            sampled.record("select 1 from users", 1_500);
+
+            // Буфер разбирается по порядку: медленный запрос записан последним
+            await().atMost(TIMEOUT).until(() -> sampled.report(1).slow() == 1);
+        } finally {
+            sampled.stop();
+        }
+        SlowQueryReport report = sampled.report(10);
+        assertThat(report.executed()).isEqualTo(10_001);
+        assertThat(report.dropped()).isZero();
+        SlowQueryStatement statement = report.top().get(0);
+        assertThat(statement.slowCount()).isEqualTo(1);
+        assertThat(statement.maxMillis()).isEqualTo(1_500);
+        // Без масштабирования было бы около 5 000 выполнений и 11 500 мс
+        assertThat(statement.count()).isBetween(9_001L, 11_001L);
+        assertThat(statement.totalMillis()).isBetween(19_500L, 23_500L);
+    }
+
+    @Test
+    void testActuatorEndpointReportsTopAndRejectsReset() throws Exception {
+        slowQueryLog.record("select 1 from actuator_probe", 5);
+        await().atMost(TIMEOUT).until(() -> slowQueryLog.report(Integer.MAX_VALUE).top().stream()
+                .anyMatch(statement -> statement.fingerprint().equals("select ? from actuator_probe")));
+
+        mockMvc.perform(get("/actuator/slowqueries").param("top", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.top", hasSize(1)))
+                .andExpect(jsonPath("$.dropped").value(0));
+
+        mockMvc.perform(delete("/actuator/slowqueries"))
+                .andExpect(result -> assertThat(result.getResponse().getStatus()).isGreaterThanOrEqualTo(400));
+
+        assertThat(slowQueryLog.report(10).top()).isNotEmpty();
+    }
+
+    private Optional<SlowQueryStatement> userLookup() {
+        return slowQueryLog.report(Integer.MAX_VALUE).top().stream()
+                .filter(statement -> statement.fingerprint().startsWith("select")
+                        && statement.fingerprint().contains("from users")
+                        && statement.fingerprint().endsWith("id=?"))
+                .findFirst();
+    }
+}
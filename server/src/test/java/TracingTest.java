@@ -0,0 +1,95 @@
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(classes = {ShareItServer.class, TracingTest.InMemoryExporterConfig.class},
+        properties = "spring.datasource.url=jdbc:h2:mem:shareit-tracing;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE")
+@AutoConfigureMockMvc
+@AutoConfigureObservability(metrics = false)
+public class TracingTest {
+    private static final String TRACE_ID = "4bf92f3577b34da6a3ce929d0e0e4736";
+    private static final String GATEWAY_SPAN_ID = "00f067aa0ba902b7";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private SdkTracerProvider tracerProvider;
+
+    @Autowired
+    private InMemorySpanExporter spanExporter;
+
+    @Test
+    void testRequestSpansContinueGatewayTrace() throws Exception {
+        UserDto user = userService.createUser(new UserDto(null, "Traced", "traced@example.com"));
+
+        mockMvc.perform(get("/users/{userId}", user.getId())
+                        .header("traceparent", "00-" + TRACE_ID + "-" + GATEWAY_SPAN_ID + "-01"))
+                .andExpect(status().isOk());
+
+        List<SpanData> spans = finishedSpans();
+        SpanData server = span(spans, s -> s.getKind() == SpanKind.SERVER);
+        SpanData connection = span(spans, s -> s.getName().equals("connection"));
+        SpanData service = span(spans, s -> "getUserById".equals(attribute(s, "method"))
+                && attribute(s, "class") != null);
+        SpanData repository = span(spans, s -> "UserRepository".equals(attribute(s, "repository")));
+        SpanData query = span(spans, s -> s.getName().equals("query"));
+
+        assertThat(server.getParentSpanId()).isEqualTo(GATEWAY_SPAN_ID);
+        assertThat(connection.getParentSpanId()).isEqualTo(server.getSpanId());
+        assertThat(service.getParentSpanId()).isEqualTo(connection.getSpanId());
+        assertThat(repository.getParentSpanId()).isEqualTo(service.getSpanId());
+        assertThat(query.getParentSpanId()).isEqualTo(repository.getSpanId());
+        assertThat(attribute(query, "jdbc.query[0]")).containsIgnoringCase("from users");
+    }
+
+    private List<SpanData> finishedSpans() {
+        tracerProvider.forceFlush().join(5, TimeUnit.SECONDS);
+        return spanExporter.getFinishedSpanItems().stream()
+                .filter(span -> span.getTraceId().equals(TRACE_ID))
+                .toList();
+    }
+
+    private static SpanData span(List<SpanData> spans, Predicate<SpanData> predicate) {
+        return spans.stream()
+                .filter(predicate)
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("Нет подходящего спана среди " + spans));
+    }
+
+    private static String attribute(SpanData span, String key) {
+        return span.getAttributes().get(AttributeKey.stringKey(key));
+    }
+
+    @TestConfiguration
+    static class InMemoryExporterConfig {
+        @Bean
+        InMemorySpanExporter inMemorySpanExporter() {
+            return InMemorySpanExporter.create();
+        }
+    }
+}
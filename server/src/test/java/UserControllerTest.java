@@ -8,6 +8,8 @@ import org.springframework.http.MediaType;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.common.BatchRowResult;
+import ru.practicum.shareit.common.BatchRowStatus;
 import ru.practicum.shareit.exception.IncorrectDataException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.user.UserController;
@@ -59,6 +61,25 @@ class UserControllerTest {
                 .andExpect(jsonPath("$.email", is(userDto.getEmail())));
     }
 
+    @Test
+    void createUsers() throws Exception {
+        Mockito.when(userService.createUsers(any()))
+                .thenReturn(List.of(BatchRowResult.created(0, userDto),
+                        BatchRowResult.failed(1, BatchRowStatus.CONFLICT, "Пользователь уже существует")));
+
+        mvc.perform(post("/users/batch")
+                        .content(mapper.writeValueAsString(List.of(userDto, anotherUserDto)))
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].status", is("CREATED")))
+                .andExpect(jsonPath("$[0].result.email", is(userDto.getEmail())))
+                .andExpect(jsonPath("$[1].index", is(1)))
+                .andExpect(jsonPath("$[1].status", is("CONFLICT")));
+    }
+
     @Test
     void updateUser() throws Exception {
         Mockito.when(userService.updateUser(anyLong(), any(UserDto.class)))
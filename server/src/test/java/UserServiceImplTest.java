@@ -1,16 +1,23 @@
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.TypedQuery;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.common.BatchRowResult;
+import ru.practicum.shareit.common.BatchRowStatus;
+import ru.practicum.shareit.common.EntityLookup;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.service.UserService;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -25,6 +32,7 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 class UserServiceImplTest {
     private final EntityManager em;
     private final UserService service;
+    private final MeterRegistry meterRegistry;
 
     @Test
     void testCreateUser() {
@@ -243,6 +251,77 @@ class UserServiceImplTest {
         });
     }
 
+    @Test
+    void testGetUserByIdWhenNotFoundCostDoesNotDependOnTableSize() {
+        em.persist(makeUser("single@example.com", "Single User"));
+        em.flush();
+        long fewUsers = countStatements(() -> assertThrows(NotFoundException.class, () -> service.getUserById(9999L)));
+
+        for (int i = 0; i < 200; i++) {
+            em.persist(makeUser("bulk" + i + "@example.com", "Bulk User " + i));
+        }
+        em.flush();
+        double missesBefore = notFoundCount();
+        long manyUsers = countStatements(() -> assertThrows(NotFoundException.class, () -> service.getUserById(9999L)));
+
+        assertThat(fewUsers, equalTo(1L));
+        assertThat(manyUsers, equalTo(fewUsers));
+        assertThat(notFoundCount(), equalTo(missesBefore + 1));
+    }
+
+    @Test
+    void testGetUserByIdWhenNotFoundKeepsMessage() {
+        NotFoundException exception = assertThrows(NotFoundException.class, () -> service.getUserById(9999L));
+
+        assertThat(exception.getMessage(), equalTo("Пользователь с ID = '9999' не найден"));
+    }
+
+    @Test
+    void testCreateUsersReportsEachRow() {
+        em.persist(makeUser("taken@example.com", "Taken"));
+        em.flush();
+
+        List<BatchRowResult<UserDto>> results = service.createUsers(List.of(
+                new UserDto(null, "First", "first@example.com"),
+                new UserDto(null, "Taken", "taken@example.com"),
+                new UserDto(null, "Blank", " "),
+                new UserDto(null, "Again", "first@example.com")));
+
+        assertThat(results.stream().map(BatchRowResult::status).toList(), contains(BatchRowStatus.CREATED,
+                BatchRowStatus.CONFLICT, BatchRowStatus.INVALID, BatchRowStatus.CONFLICT));
+        assertThat(results.get(0).result().getId(), notNullValue());
+        assertThat(results.get(1).error(), equalTo("Пользователь с email = 'taken@example.com' уже существует"));
+        assertThat(service.getUsers(), hasSize(2));
+    }
+
+    @Test
+    void testCreateUsersInsertsInJdbcBatches() {
+        List<UserDto> userDtos = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            userDtos.add(new UserDto(null, "Batch " + i, "batch" + i + "@example.com"));
+        }
+
+        long statements = countStatements(() -> {
+            service.createUsers(userDtos);
+            em.flush();
+        });
+
+        assertThat(service.getUsers(), hasSize(120));
+        assertThat(statements, lessThan(12L));
+    }
+
+    private double notFoundCount() {
+        return meterRegistry.counter(EntityLookup.NOT_FOUND_METRIC, "entity", "User").count();
+    }
+
+    private long countStatements(Runnable action) {
+        Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        em.clear();
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+
     private User makeUser(String email, String name) {
         User user = new User();
         user.setEmail(email);
@@ -0,0 +1,123 @@
+package ru.practicum.shareit.tracing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.SpanId;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Пишет завершённые спаны в файл по одному JSON на строку; export, flush и shutdown идут под общей блокировкой.
+ */
+@Slf4j
+public class JsonLinesSpanExporter implements SpanExporter {
+    private static final AttributeKey<String> SERVICE_NAME = AttributeKey.stringKey("service.name");
+
+    private final ObjectMapper objectMapper;
+    private final BufferedWriter writer;
+    private final Lock lock = new ReentrantLock();
+
+    public JsonLinesSpanExporter(Path file, ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            this.writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось открыть файл трассировки " + file, e);
+        }
+    }
+
+    @Override
+    public CompletableResultCode export(Collection<SpanData> spans) {
+        lock.lock();
+        try {
+            for (SpanData span : spans) {
+                writer.write(objectMapper.writeValueAsString(toLine(span)));
+                writer.newLine();
+            }
+            writer.flush();
+            return CompletableResultCode.ofSuccess();
+        } catch (IOException e) {
+            log.warn("Не удалось записать {} спанов в файл трассировки", spans.size(), e);
+            return CompletableResultCode.ofFailure();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public CompletableResultCode flush() {
+        lock.lock();
+        try {
+            writer.flush();
+            return CompletableResultCode.ofSuccess();
+        } catch (IOException e) {
+            return CompletableResultCode.ofFailure();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public CompletableResultCode shutdown() {
+        lock.lock();
+        try {
+            writer.close();
+            return CompletableResultCode.ofSuccess();
+        } catch (IOException e) {
+            return CompletableResultCode.ofFailure();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static SpanLine toLine(SpanData span) {
+        Map<String, Object> attributes = new LinkedHashMap<>();
+        span.getAttributes().forEach((key, value) -> attributes.put(key.getKey(), value));
+        String parentSpanId = SpanId.isValid(span.getParentSpanId()) ? span.getParentSpanId() : null;
+
+        return new SpanLine(span.getTraceId(),
+                span.getSpanId(),
+                parentSpanId,
+                span.getName(),
+                span.getKind().name(),
+                span.getResource().getAttribute(SERVICE_NAME),
+                Instant.EPOCH.plusNanos(span.getStartEpochNanos()).toString(),
+                TimeUnit.NANOSECONDS.toMicros(span.getEndEpochNanos() - span.getStartEpochNanos()),
+                span.getStatus().getStatusCode().name(),
+                attributes);
+    }
+
+    record SpanLine(String traceId,
+                    String spanId,
+                    String parentSpanId,
+                    String name,
+                    String kind,
+                    String service,
+                    String start,
+                    long durationMicros,
+                    String status,
+                    Map<String, Object> attributes) {
+    }
+}
@@ -0,0 +1,117 @@
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Scope;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.ReadableSpan;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ru.practicum.shareit.tracing.JsonLinesSpanExporter;
+
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class JsonLinesSpanExporterTest {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void testWritesOneJsonLinePerSpan() throws Exception {
+        Path file = directory.resolve("traces/server.jsonl");
+        SdkTracerProvider tracerProvider = SdkTracerProvider.builder()
+                .addSpanProcessor(SimpleSpanProcessor.create(new JsonLinesSpanExporter(file, objectMapper)))
+                .build();
+        Tracer tracer = tracerProvider.get("test");
+
+        Span parent = tracer.spanBuilder("http get /items/{itemId}").startSpan();
+        try (Scope ignored = parent.makeCurrent()) {
+            tracer.spanBuilder("query")
+                    .setAttribute("jdbc.query[0]", "select * from items")
+                    .startSpan()
+                    .setStatus(StatusCode.ERROR)
+                    .end();
+        } finally {
+            parent.end();
+        }
+        tracerProvider.shutdown();
+
+        List<String> lines = Files.readAllLines(file);
+        assertThat(lines).hasSize(2);
+        JsonNode query = objectMapper.readTree(lines.get(0));
+        JsonNode http = objectMapper.readTree(lines.get(1));
+        assertThat(query.get("name").asText()).isEqualTo("query");
+        assertThat(query.get("traceId").asText()).isEqualTo(http.get("traceId").asText());
+        assertThat(query.get("parentSpanId").asText()).isEqualTo(http.get("spanId").asText());
+        assertThat(query.get("status").asText()).isEqualTo("ERROR");
+        assertThat(query.get("attributes").get("jdbc.query[0]").asText()).isEqualTo("select * from items");
+        assertThat(http.get("parentSpanId").isNull()).isTrue();
+        assertThat(http.get("durationMicros").asLong()).isGreaterThanOrEqualTo(0);
+    }
+
+    @Test
+    void testExportAfterShutdownFails() {
+        JsonLinesSpanExporter exporter = new JsonLinesSpanExporter(directory.resolve("spans.jsonl"), objectMapper);
+
+        assertThat(exporter.flush().isSuccess()).isTrue();
+        assertThat(exporter.shutdown().isSuccess()).isTrue();
+
+        CompletableResultCode result = exporter.export(List.of(finishedSpan()));
+        assertThat(result.isSuccess()).isFalse();
+        assertThat(exporter.flush().isSuccess()).isFalse();
+    }
+
+    @Test
+    void testConcurrentExportAndFlushKeepLinesWhole() throws Exception {
+        Path file = directory.resolve("spans.jsonl");
+        JsonLinesSpanExporter exporter = new JsonLinesSpanExporter(file, objectMapper);
+        List<SpanData> batch = Collections.nCopies(50, finishedSpan());
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            List<Future<CompletableResultCode>> results = new ArrayList<>();
+            for (int i = 0; i < 40; i++) {
+                results.add(executor.submit(() -> exporter.export(batch)));
+                results.add(executor.submit(exporter::flush));
+            }
+            for (Future<CompletableResultCode> result : results) {
+                assertThat(result.get().isSuccess()).isTrue();
+            }
+        }
+        exporter.shutdown();
+
+        List<String> lines = Files.readAllLines(file);
+        assertThat(lines).hasSize(40 * 50);
+        for (String line : lines) {
+            assertThat(objectMapper.readTree(line).get("name").asText()).isEqualTo("query");
+        }
+    }
+
+    @Test
+    void testUnwritableFileFailsOnStartup() {
+        assertThatThrownBy(() -> new JsonLinesSpanExporter(directory, objectMapper))
+                .isInstanceOf(UncheckedIOException.class);
+    }
+
+    private static SpanData finishedSpan() {
+        SdkTracerProvider tracerProvider = SdkTracerProvider.builder().build();
+        Span span = tracerProvider.get("test").spanBuilder("query").startSpan();
+        span.end();
+        return ((ReadableSpan) span).toSpanData();
+    }
+}